@@ -6,14 +6,20 @@ import maxitoson.tavernkeeper.compat.furniture.FurnitureCompatRegistry;
 import maxitoson.tavernkeeper.datagen.DataGenerators;
 import maxitoson.tavernkeeper.entities.CustomerEntity;
 import maxitoson.tavernkeeper.entities.SittingEntity;
+import maxitoson.tavernkeeper.entities.ai.sensing.TavernThreatSensor;
 import maxitoson.tavernkeeper.items.MarkingCane;
+import maxitoson.tavernkeeper.items.WalletContents;
 import maxitoson.tavernkeeper.items.WalletItem;
 import maxitoson.tavernkeeper.items.TavernItem;
 import maxitoson.tavernkeeper.network.NetworkHandler;
+import maxitoson.tavernkeeper.tavern.managers.system.TargetDispatchManager;
 // import net.minecraft.client.Minecraft;
+import net.minecraft.core.component.DataComponentType;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.MobCategory;
+import net.minecraft.world.entity.ai.memory.MemoryModuleType;
+import net.minecraft.world.entity.ai.sensing.SensorType;
 import net.neoforged.neoforge.common.DeferredSpawnEggItem;
 import net.minecraft.world.food.FoodProperties;
 import net.minecraft.world.item.BlockItem;
@@ -41,6 +47,8 @@ import net.neoforged.neoforge.registries.DeferredItem;
 import net.neoforged.neoforge.registries.DeferredHolder;
 import org.slf4j.Logger;
 
+import java.util.Optional;
+
 // The value here should match an entry in the META-INF/mods.toml file
 @Mod(TavernKeeperMod.MODID)
 public class TavernKeeperMod
@@ -57,6 +65,12 @@ public class TavernKeeperMod
     public static final DeferredRegister<CreativeModeTab> CREATIVE_MODE_TABS = DeferredRegister.create(Registries.CREATIVE_MODE_TAB, MODID);
     // Create a Deferred Register to hold Entities which will all be registered under the "tavernkeeper" namespace
     public static final DeferredRegister<EntityType<?>> ENTITY_TYPES = DeferredRegister.create(Registries.ENTITY_TYPE, MODID);
+    // Create a Deferred Register to hold AI sensor types which will all be registered under the "tavernkeeper" namespace
+    public static final DeferredRegister<SensorType<?>> SENSOR_TYPES = DeferredRegister.create(Registries.SENSOR_TYPE, MODID);
+    // Create a Deferred Register to hold AI memory types which will all be registered under the "tavernkeeper" namespace
+    public static final DeferredRegister<MemoryModuleType<?>> MEMORY_MODULE_TYPES = DeferredRegister.create(Registries.MEMORY_MODULE_TYPE, MODID);
+    // Create a Deferred Register to hold item data components which will all be registered under the "tavernkeeper" namespace
+    public static final DeferredRegister<DataComponentType<?>> DATA_COMPONENTS = DeferredRegister.create(Registries.DATA_COMPONENT_TYPE, MODID);
 
     // Creates a new Block with the id "tavernkeeper:example_block", combining the namespace and path
     public static final DeferredBlock<Block> EXAMPLE_BLOCK = BLOCKS.registerSimpleBlock("example_block", BlockBehaviour.Properties.of().mapColor(MapColor.STONE));
@@ -107,6 +121,21 @@ public class TavernKeeperMod
         .clientTrackingRange(10)
         .build("sitting"));
     
+    // Customer threat sensor (reads the tavern's shared threat scan)
+    public static final DeferredHolder<SensorType<?>, SensorType<TavernThreatSensor>> TAVERN_THREATS = SENSOR_TYPES.register("tavern_threats",
+        () -> new SensorType<>(TavernThreatSensor::new));
+    
+    // Customer target assignment (chair, bed, lectern...) written by the tavern's dispatcher, not persisted
+    public static final DeferredHolder<MemoryModuleType<?>, MemoryModuleType<TargetDispatchManager.Assignment>> ASSIGNED_TARGET = MEMORY_MODULE_TYPES.register("assigned_target",
+        () -> new MemoryModuleType<>(Optional.empty()));
+    
+    // Coins held by a wallet (saved with the item, synced to clients for the tooltip)
+    public static final DeferredHolder<DataComponentType<?>, DataComponentType<WalletContents>> WALLET_CONTENTS = DATA_COMPONENTS.register("wallet_contents",
+        () -> DataComponentType.<WalletContents>builder()
+            .persistent(WalletContents.CODEC)
+            .networkSynchronized(WalletContents.STREAM_CODEC)
+            .build());
+    
     // Customer spawn egg for testing
     public static final DeferredItem<Item> CUSTOMER_SPAWN_EGG = ITEMS.register("customer_spawn_egg",
         () -> new DeferredSpawnEggItem(CUSTOMER, 0x7B3F00, 0xFFFFFF, new Item.Properties()));
@@ -143,6 +172,12 @@ public class TavernKeeperMod
         CREATIVE_MODE_TABS.register(modEventBus);
         // Register the Deferred Register to the mod event bus so entities get registered
         ENTITY_TYPES.register(modEventBus);
+        // Register the Deferred Register to the mod event bus so sensor types get registered
+        SENSOR_TYPES.register(modEventBus);
+        // Register the Deferred Register to the mod event bus so memory types get registered
+        MEMORY_MODULE_TYPES.register(modEventBus);
+        // Register the Deferred Register to the mod event bus so data components get registered
+        DATA_COMPONENTS.register(modEventBus);
 
         // Register the item to a creative tab
         modEventBus.addListener(this::addCreative);
@@ -203,7 +238,6 @@ public class TavernKeeperMod
     // - events/WorldUpdateHandler.java
     //   * onBlockPlace - Update furniture when blocks are placed
     //   * onBlockBreak - Remove furniture when blocks are broken
-    //   * onEntityJoinLevel - Configure mob AI (skeletons target customers)
     //
     // - events/TavernLifecycleHandler.java
     //   * onServerStarting - Server initialization
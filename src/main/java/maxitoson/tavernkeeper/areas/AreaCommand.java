@@ -1,18 +1,23 @@
 package maxitoson.tavernkeeper.areas;
 
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.context.CommandContext;
 import maxitoson.tavernkeeper.items.MarkingCane;
 import maxitoson.tavernkeeper.tavern.Tavern;
+import maxitoson.tavernkeeper.tavern.managers.system.AreaIndexManager;
 import maxitoson.tavernkeeper.tavern.spaces.BaseSpace;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
+import net.minecraft.commands.arguments.coordinates.BlockPosArgument;
+import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Commands for managing tavern areas
@@ -29,9 +34,23 @@ public class AreaCommand {
                     .executes(ctx -> saveArea(ctx, AreaType.SLEEPING))
                 )
             )
+            .then(Commands.literal("detect")
+                .then(Commands.literal("dining")
+                    .executes(ctx -> detectArea(ctx, AreaType.DINING))
+                )
+                .then(Commands.literal("sleeping")
+                    .executes(ctx -> detectArea(ctx, AreaType.SLEEPING))
+                )
+                .then(Commands.literal("service")
+                    .executes(ctx -> detectArea(ctx, AreaType.SERVICE))
+                )
+            )
             .then(Commands.literal("list")
                 .executes(AreaCommand::listAreas)
             )
+            .then(Commands.literal("overlaps")
+                .executes(AreaCommand::listOverlaps)
+            )
             .then(Commands.literal("clear")
                 .executes(AreaCommand::clearSelection)
             )
@@ -40,6 +59,26 @@ public class AreaCommand {
                     .executes(AreaCommand::deleteArea)
                 )
             )
+            .then(Commands.literal("resize")
+                .then(Commands.argument("name", StringArgumentType.string())
+                    .then(Commands.argument("from", BlockPosArgument.blockPos())
+                        .then(Commands.argument("to", BlockPosArgument.blockPos())
+                            .executes(AreaCommand::resizeArea)
+                        )
+                    )
+                )
+            )
+            .then(Commands.literal("move")
+                .then(Commands.argument("name", StringArgumentType.string())
+                    .then(Commands.argument("dx", IntegerArgumentType.integer())
+                        .then(Commands.argument("dy", IntegerArgumentType.integer())
+                            .then(Commands.argument("dz", IntegerArgumentType.integer())
+                                .executes(AreaCommand::moveArea)
+                            )
+                        )
+                    )
+                )
+            )
         );
     }
     
@@ -55,6 +94,16 @@ public class AreaCommand {
         return 0;
     }
     
+    /**
+     * Detect the room the player stands in
+     */
+    private static int detectArea(CommandContext<CommandSourceStack> ctx, AreaType type) {
+        if (ctx.getSource().getEntity() instanceof ServerPlayer player) {
+            return MarkingCane.detectArea(player, type, player.blockPosition(), player.serverLevel()) ? 1 : 0;
+        }
+        return 0;
+    }
+    
     private static int listAreas(CommandContext<CommandSourceStack> ctx) {
         if (ctx.getSource().getEntity() instanceof ServerPlayer player) {
             ServerLevel level = player.serverLevel();
@@ -91,6 +140,32 @@ public class AreaCommand {
         return 0;
     }
     
+    private static int listOverlaps(CommandContext<CommandSourceStack> ctx) {
+        if (ctx.getSource().getEntity() instanceof ServerPlayer player) {
+            Tavern tavern = Tavern.get(player.serverLevel());
+            List<AreaIndexManager.Overlap> overlaps = tavern.getAreaIndex().findAllOverlaps();
+            
+            if (overlaps.isEmpty()) {
+                player.sendSystemMessage(Component.literal("§6[Tavern Area] §rNo overlapping areas."));
+                return 1;
+            }
+            
+            player.sendSystemMessage(Component.literal(
+                String.format("§6[Tavern Area] §e%d overlap(s) §r(shared blocks are scanned by both areas):", overlaps.size())
+            ));
+            for (AreaIndexManager.Overlap overlap : overlaps) {
+                player.sendSystemMessage(Component.literal(
+                    String.format("  - %s '%s' and %s '%s' (%d blocks)", 
+                        overlap.first().getType().getColoredName(), overlap.first().getName(),
+                        overlap.second().getType().getColoredName(), overlap.second().getName(),
+                        overlap.blocks())
+                ));
+            }
+            return overlaps.size();
+        }
+        return 0;
+    }
+    
     private static int clearSelection(CommandContext<CommandSourceStack> ctx) {
         if (ctx.getSource().getEntity() instanceof ServerPlayer player) {
             MarkingCane.clearSelection(player);
@@ -106,13 +181,7 @@ public class AreaCommand {
             Tavern tavern = Tavern.get(level);
             
             // Find space by area name
-            BaseSpace toDelete = null;
-            for (BaseSpace space : tavern.getAllSpaces()) {
-                if (space.getArea().getName().equals(name)) {
-                    toDelete = space;
-                    break;
-                }
-            }
+            BaseSpace toDelete = findSpace(tavern, name);
             
             if (toDelete != null) {
                 Tavern.DeletionResult result = tavern.deleteArea(toDelete.getArea().getId());
@@ -145,5 +214,72 @@ public class AreaCommand {
         }
         return 0;
     }
+    
+    private static int resizeArea(CommandContext<CommandSourceStack> ctx) {
+        if (ctx.getSource().getEntity() instanceof ServerPlayer player) {
+            String name = StringArgumentType.getString(ctx, "name");
+            Tavern tavern = Tavern.get(player.serverLevel());
+            BaseSpace space = findSpace(tavern, name);
+            if (space == null) {
+                player.sendSystemMessage(Component.literal("§c[Tavern Area] §rArea '" + name + "' not found!"));
+                return 0;
+            }
+            
+            BlockPos from = BlockPosArgument.getBlockPos(ctx, "from");
+            BlockPos to = BlockPosArgument.getBlockPos(ctx, "to");
+            return reportReshape(player, tavern, tavern.resizeArea(space.getArea().getId(), from, to), "Resized");
+        }
+        return 0;
+    }
+    
+    private static int moveArea(CommandContext<CommandSourceStack> ctx) {
+        if (ctx.getSource().getEntity() instanceof ServerPlayer player) {
+            String name = StringArgumentType.getString(ctx, "name");
+            Tavern tavern = Tavern.get(player.serverLevel());
+            BaseSpace space = findSpace(tavern, name);
+            if (space == null) {
+                player.sendSystemMessage(Component.literal("§c[Tavern Area] §rArea '" + name + "' not found!"));
+                return 0;
+            }
+            
+            Tavern.CreationResult result = tavern.moveArea(space.getArea().getId(),
+                IntegerArgumentType.getInteger(ctx, "dx"),
+                IntegerArgumentType.getInteger(ctx, "dy"),
+                IntegerArgumentType.getInteger(ctx, "dz"));
+            return reportReshape(player, tavern, result, "Moved");
+        }
+        return 0;
+    }
+    
+    private static int reportReshape(ServerPlayer player, Tavern tavern, Tavern.CreationResult result, String verb) {
+        if (result.wasRejected()) {
+            for (TavernArea conflict : result.getConflicts()) {
+                player.sendSystemMessage(Component.literal(
+                    String.format("§c[Tavern Area] §rWould overlap %s '%s'", 
+                        conflict.getType().getColoredName(), conflict.getName())
+                ));
+            }
+            return 0;
+        }
+        
+        TavernArea area = result.getCreatedArea();
+        player.sendSystemMessage(Component.literal(
+            String.format("§6[Tavern Area] §r%s %s '%s' (%d blocks)", 
+                verb, area.getType().getColoredName(), area.getName(), area.getVolume())
+        ));
+        tavern.syncAreasToAllClients();
+        return 1;
+    }
+    
+    /**
+     * Find a space by its area name (names are only unique per type, first match wins)
+     */
+    private static BaseSpace findSpace(Tavern tavern, String name) {
+        for (BaseSpace space : tavern.getAllSpaces()) {
+            if (space.getArea().getName().equals(name)) {
+                return space;
+            }
+        }
+        return null;
+    }
 }
-
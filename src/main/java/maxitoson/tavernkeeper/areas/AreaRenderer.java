@@ -9,6 +9,7 @@ import net.minecraft.client.renderer.LevelRenderer;
 import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 import net.neoforged.api.distmarker.Dist;
@@ -148,18 +149,20 @@ public class AreaRenderer {
         VertexConsumer consumer = bufferSource.getBuffer(RenderType.lines());
         
         for (TavernArea area : CLIENT_AREAS.values()) {
-            AABB box = area.getBoundingBox();
-            
-            // Render pending deletion in red, otherwise use type color
-            if (pendingDeletionId != null && pendingDeletionId.equals(area.getId())) {
-                // Red for pending deletion
-                LevelRenderer.renderLineBox(poseStack, consumer, box, 
-                    1.0f, 0.0f, 0.0f, 1.0f);
-            } else {
-                // Normal type color
-                AreaType type = area.getType();
-                LevelRenderer.renderLineBox(poseStack, consumer, box, 
-                    type.getRed(), type.getGreen(), type.getBlue(), 0.8f);
+            for (BoundingBox part : area.getBoxes()) {
+                AABB box = AABB.of(part);
+                
+                // Render pending deletion in red, otherwise use type color
+                if (pendingDeletionId != null && pendingDeletionId.equals(area.getId())) {
+                    // Red for pending deletion
+                    LevelRenderer.renderLineBox(poseStack, consumer, box, 
+                        1.0f, 0.0f, 0.0f, 1.0f);
+                } else {
+                    // Normal type color
+                    AreaType type = area.getType();
+                    LevelRenderer.renderLineBox(poseStack, consumer, box, 
+                        type.getRed(), type.getGreen(), type.getBlue(), 0.8f);
+                }
             }
         }
         
@@ -1,44 +1,114 @@
 package maxitoson.tavernkeeper.areas;
 
+import com.google.common.collect.Iterables;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import net.minecraft.world.phys.AABB;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Represents a defined area in a tavern (dining, sleeping, etc.)
+ * The shape is a union of boxes, so L-shaped halls or a wing off the main room are one
+ * area instead of several overlapping ones. minPos/maxPos are the envelope of all boxes.
+ * Areas with more than one box answer contains() from per-section bitmasks (16x16x16 bits
+ * per chunk section), so a lookup costs the same whatever the number of boxes
  */
 public class TavernArea {
+    private static final int SECTION_WORDS = 4096 / 64; // One bit per block of a chunk section
+    
     private final UUID id;
     private String name;
     private AreaType type;
+    private final List<BoundingBox> boxes = new ArrayList<>();
     private BlockPos minPos;
     private BlockPos maxPos;
     private AABB boundingBox;
+    private int volume;
+    private Long2ObjectOpenHashMap<long[]> sectionMasks; // Section -> bits, only for multi-box areas
     private ServerLevel level;  // The world this area exists in
     
     // Constructor for new area
     public TavernArea(String name, AreaType type, BlockPos minPos, BlockPos maxPos, ServerLevel level) {
-        this.id = UUID.randomUUID();
-        this.name = name;
-        this.type = type;
-        this.minPos = minPos;
-        this.maxPos = maxPos;
-        this.level = level;
-        this.boundingBox = createAABB();
+        this(UUID.randomUUID(), name, type, minPos, maxPos, level);
     }
     
     // Constructor for loading from NBT
     public TavernArea(UUID id, String name, AreaType type, BlockPos minPos, BlockPos maxPos, ServerLevel level) {
+        this(id, name, type, List.of(BoundingBox.fromCorners(minPos, maxPos)), level);
+    }
+    
+    // Constructor for multi-box areas (loading, client sync)
+    public TavernArea(UUID id, String name, AreaType type, List<BoundingBox> boxes, ServerLevel level) {
         this.id = id;
         this.name = name;
         this.type = type;
-        this.minPos = minPos;
-        this.maxPos = maxPos;
         this.level = level;
+        this.boxes.addAll(boxes);
+        updateShape();
+    }
+    
+    /**
+     * Replace the area's shape (resize, move); id, name and type are kept
+     */
+    public void setBoxes(List<BoundingBox> newBoxes) {
+        if (newBoxes.isEmpty()) {
+            throw new IllegalArgumentException("Area " + name + " needs at least one box");
+        }
+        boxes.clear();
+        boxes.addAll(newBoxes);
+        updateShape();
+    }
+    
+    /**
+     * Detached copy of the area (no level), e.g. to compare shapes before and after a change
+     */
+    public TavernArea copy() {
+        return new TavernArea(id, name, type, boxes, null);
+    }
+    
+    /**
+     * Recompute the envelope, volume and section masks after the boxes changed
+     */
+    private void updateShape() {
+        BoundingBox envelope = BoundingBox.encapsulatingBoxes(boxes).orElseThrow();
+        this.minPos = new BlockPos(envelope.minX(), envelope.minY(), envelope.minZ());
+        this.maxPos = new BlockPos(envelope.maxX(), envelope.maxY(), envelope.maxZ());
         this.boundingBox = createAABB();
+        
+        if (boxes.size() == 1) {
+            this.sectionMasks = null;
+            this.volume = boxes.get(0).getXSpan() * boxes.get(0).getYSpan() * boxes.get(0).getZSpan();
+            return;
+        }
+        
+        this.sectionMasks = new Long2ObjectOpenHashMap<>();
+        for (BoundingBox box : boxes) {
+            for (BlockPos pos : BlockPos.betweenClosed(box.minX(), box.minY(), box.minZ(),
+                    box.maxX(), box.maxY(), box.maxZ())) {
+                long[] mask = sectionMasks.computeIfAbsent(SectionPos.asLong(pos), key -> new long[SECTION_WORDS]);
+                int bit = bitOf(pos);
+                mask[bit >> 6] |= 1L << bit;
+            }
+        }
+        int count = 0;
+        for (long[] mask : sectionMasks.values()) {
+            for (long word : mask) {
+                count += Long.bitCount(word);
+            }
+        }
+        this.volume = count;
+    }
+    
+    private static int bitOf(BlockPos pos) {
+        return (pos.getY() & 15) << 8 | (pos.getZ() & 15) << 4 | (pos.getX() & 15);
     }
     
     private AABB createAABB() {
@@ -67,6 +137,16 @@ public class TavernArea {
         return maxPos;
     }
     
+    /**
+     * Boxes making up the area (a single box for areas marked in one go)
+     */
+    public List<BoundingBox> getBoxes() {
+        return Collections.unmodifiableList(boxes);
+    }
+    
+    /**
+     * Envelope of the area (covers every box, may include blocks outside the area)
+     */
     public AABB getBoundingBox() {
         return boundingBox;
     }
@@ -90,7 +170,58 @@ public class TavernArea {
     
     // Utility methods
     public boolean contains(BlockPos pos) {
-        return boundingBox.contains(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5);
+        int x = pos.getX(), y = pos.getY(), z = pos.getZ();
+        if (x < minPos.getX() || y < minPos.getY() || z < minPos.getZ()
+                || x > maxPos.getX() || y > maxPos.getY() || z > maxPos.getZ()) {
+            return false;
+        }
+        if (sectionMasks == null) return true;
+        long[] mask = sectionMasks.get(SectionPos.asLong(pos));
+        if (mask == null) return false;
+        int bit = bitOf(pos);
+        return (mask[bit >> 6] & 1L << bit) != 0;
+    }
+    
+    /**
+     * Every block of the area, each visited once (scans use this instead of the envelope)
+     * Positions are mutable, call immutable() to keep one
+     */
+    public Iterable<BlockPos> positions() {
+        if (boxes.size() == 1) {
+            return BlockPos.betweenClosed(minPos, maxPos);
+        }
+        List<Iterable<BlockPos>> parts = new ArrayList<>(boxes.size());
+        for (int i = 0; i < boxes.size(); i++) {
+            BoundingBox box = boxes.get(i);
+            List<BoundingBox> earlier = boxes.subList(0, i);
+            parts.add(Iterables.filter(
+                BlockPos.betweenClosed(box.minX(), box.minY(), box.minZ(), box.maxX(), box.maxY(), box.maxZ()),
+                pos -> earlier.stream().noneMatch(other -> other.isInside(pos))));
+        }
+        return Iterables.concat(parts);
+    }
+    
+    /**
+     * Blocks of the area that are not in another area's shape, each visited once
+     * Boxes lying inside a single box of the other area are skipped without visiting them,
+     * so a resize or move only walks the region that changed
+     */
+    public Iterable<BlockPos> positionsNotIn(TavernArea other) {
+        List<Iterable<BlockPos>> parts = new ArrayList<>(boxes.size());
+        for (int i = 0; i < boxes.size(); i++) {
+            BoundingBox box = boxes.get(i);
+            if (other.boxes.stream().anyMatch(otherBox -> encloses(otherBox, box))) continue;
+            List<BoundingBox> earlier = boxes.subList(0, i);
+            parts.add(Iterables.filter(
+                BlockPos.betweenClosed(box.minX(), box.minY(), box.minZ(), box.maxX(), box.maxY(), box.maxZ()),
+                pos -> !other.contains(pos) && earlier.stream().noneMatch(prev -> prev.isInside(pos))));
+        }
+        return Iterables.concat(parts);
+    }
+    
+    private static boolean encloses(BoundingBox outer, BoundingBox inner) {
+        return outer.minX() <= inner.minX() && outer.minY() <= inner.minY() && outer.minZ() <= inner.minZ()
+            && outer.maxX() >= inner.maxX() && outer.maxY() >= inner.maxY() && outer.maxZ() >= inner.maxZ();
     }
     
     public int[] getSize() {
@@ -100,9 +231,11 @@ public class TavernArea {
         return new int[]{sizeX, sizeY, sizeZ};
     }
     
+    /**
+     * Number of blocks in the area (overlapping boxes count once)
+     */
     public int getVolume() {
-        int[] size = getSize();
-        return size[0] * size[1] * size[2];
+        return volume;
     }
     
     // NBT serialization
@@ -116,6 +249,20 @@ public class TavernArea {
         tag.putInt("maxX", maxPos.getX());
         tag.putInt("maxY", maxPos.getY());
         tag.putInt("maxZ", maxPos.getZ());
+        if (boxes.size() > 1) {
+            // 6 ints per box; single-box areas keep the plain min/max format
+            int[] packed = new int[boxes.size() * 6];
+            for (int i = 0; i < boxes.size(); i++) {
+                BoundingBox box = boxes.get(i);
+                packed[i * 6] = box.minX();
+                packed[i * 6 + 1] = box.minY();
+                packed[i * 6 + 2] = box.minZ();
+                packed[i * 6 + 3] = box.maxX();
+                packed[i * 6 + 4] = box.maxY();
+                packed[i * 6 + 5] = box.maxZ();
+            }
+            tag.putIntArray("boxes", packed);
+        }
         return tag;
     }
     
@@ -125,13 +272,23 @@ public class TavernArea {
         AreaType type = AreaType.valueOf(tag.getString("type"));
         BlockPos minPos = new BlockPos(tag.getInt("minX"), tag.getInt("minY"), tag.getInt("minZ"));
         BlockPos maxPos = new BlockPos(tag.getInt("maxX"), tag.getInt("maxY"), tag.getInt("maxZ"));
-        return new TavernArea(id, name, type, minPos, maxPos, level);
+        int[] packed = tag.getIntArray("boxes");
+        if (packed.length < 12 || packed.length % 6 != 0) {
+            return new TavernArea(id, name, type, minPos, maxPos, level);
+        }
+        List<BoundingBox> boxes = new ArrayList<>(packed.length / 6);
+        for (int i = 0; i < packed.length; i += 6) {
+            boxes.add(new BoundingBox(packed[i], packed[i + 1], packed[i + 2],
+                packed[i + 3], packed[i + 4], packed[i + 5]));
+        }
+        return new TavernArea(id, name, type, boxes, level);
     }
     
     @Override
     public String toString() {
-        return String.format("%s '%s' at [%s to %s]", 
-            type.getDisplayName(), name, minPos.toShortString(), maxPos.toShortString());
+        return String.format("%s '%s' at [%s to %s]%s", 
+            type.getDisplayName(), name, minPos.toShortString(), maxPos.toShortString(),
+            boxes.size() > 1 ? " (" + boxes.size() + " boxes)" : "");
     }
 }
 
@@ -1,5 +1,6 @@
 package maxitoson.tavernkeeper.entities;
 
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.mojang.logging.LogUtils;
@@ -9,19 +10,25 @@ import maxitoson.tavernkeeper.entities.ai.CustomerState;
 import maxitoson.tavernkeeper.entities.ai.LifecycleType;
 import maxitoson.tavernkeeper.entities.ai.lifecycle.CustomerLifecycle;
 import maxitoson.tavernkeeper.entities.ai.lifecycle.CustomerLifecycleFactory;
+import maxitoson.tavernkeeper.entities.ai.navigation.CustomerPathNavigation;
 import maxitoson.tavernkeeper.TavernKeeperMod;
 import maxitoson.tavernkeeper.tavern.Tavern;
 import maxitoson.tavernkeeper.tavern.TavernContext;
+import maxitoson.tavernkeeper.tavern.managers.system.CustomerTimerManager.TimerType;
+import maxitoson.tavernkeeper.tavern.managers.system.CustomerTraceManager.EventType;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.core.registries.Registries;
 import maxitoson.tavernkeeper.tavern.economy.CustomerRequest;
 import maxitoson.tavernkeeper.tavern.economy.FoodRequest;
 import maxitoson.tavernkeeper.tavern.economy.SleepingRequest;
 import net.minecraft.network.chat.Component;
-import net.minecraft.world.entity.AgeableMob;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.Mob;
-import net.minecraft.world.entity.npc.AbstractVillager;
+import net.minecraft.world.entity.PathfinderMob;
 // import net.minecraft.world.entity.npc.Villager; // not used, just for reference
 import net.minecraft.world.entity.ai.Brain;
 import net.minecraft.world.entity.ai.attributes.AttributeSupplier;
@@ -34,14 +41,20 @@ import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
 import org.slf4j.Logger;
 
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
 /**
  * Customer entity that visits the tavern
  * Lifecycle: Spawn -> Queue at Lectern -> Get Food -> Sit at Chair -> Leave
  * 
- * Extends AbstractVillager so zombies/skeletons will attack customers
+ * Purpose-built on PathfinderMob: no merchant offers, inventory or ageing data to tick,
+ * save or sync. Rendered with the villager model (SittingVillagerModel), hostile mobs
+ * near the tavern are made to target customers by ThreatManager
  * Uses custom Brain system (not Villager's profession/trading system)
  */
-public class CustomerEntity extends AbstractVillager {
+public class CustomerEntity extends PathfinderMob {
     private static final Logger LOGGER = LogUtils.getLogger();
     
     // Entity attributes - similar to Villager constants (Villager line 116)
@@ -55,20 +68,37 @@ public class CustomerEntity extends AbstractVillager {
     // Customer state tracking (lifecycle will set correct initial state)
     private CustomerState customerState = CustomerState.LEAVING;
     private CustomerState stateBeforePanic = null;
+    private long stateEnteredAt = -1; // Game time of the last state change (-1 = not known yet)
+    private net.minecraft.core.BlockPos stateEnteredPos = null; // Where the last state change happened (runtime only)
     private net.minecraft.core.BlockPos targetPosition = null; // Target position (lectern, reception desk, chair, or bed)
     private CustomerRequest request = null; // Customer's current request (food, sleeping, etc.)
     private net.minecraft.core.BlockPos spawnPosition = null; // Where customer spawned (for returning when leaving)
     
+    // Owning tavern - bound at spawn, re-resolved once after load from the persisted dimension
+    private TavernContext tavern = null;
+    private ResourceKey<Level> tavernDimension = null;
+    
     // Panic tracking - cumulative total time across all panic episodes
-    private long totalPanicTicks = 0; // Total ticks spent in panic (accumulates across episodes)
+    private long totalPanicTicks = 0; // Total ticks spent in panic (finished episodes only)
+    private long panicStartedAt = -1; // Game time the current panic episode started (-1 = not panicking)
     private static final long MAX_PANIC_DURATION = 1200; // 60 seconds (20 ticks per second)
     
+    // Deadlines that expired and were not consumed yet by their behavior (see CustomerTimerManager)
+    private final Set<TimerType> firedTimers = EnumSet.noneOf(TimerType.class);
+    
+    // Dormancy - brain and sensors are suspended while seated or asleep (runtime only)
+    private static final long DORMANT_HEARTBEAT = 100;     // Ticks between single brain ticks while dormant (lease renewal, checks)
+    private static final long WAKE_HOLD_TICKS = 40;        // Stay awake after damage/threats so sensors can pick them up
+    private static final double THREAT_WAKE_RANGE_SQR = 16.0 * 16.0; // Twice TavernThreatSensor's range
+    private boolean dormant = false;
+    private long awakeUntil = 0;
+    
     // Brain configuration - similar to Villager (line 131-132)
     // Note: We add NEAREST_HOSTILE for panic behavior
-    private static final ImmutableList<MemoryModuleType<?>> MEMORY_TYPES;
-    private static final ImmutableList<SensorType<? extends Sensor<? super CustomerEntity>>> SENSOR_TYPES;
+    private static final Supplier<ImmutableList<MemoryModuleType<?>>> MEMORY_TYPES;
+    private static final Supplier<ImmutableList<SensorType<? extends Sensor<? super CustomerEntity>>>> SENSOR_TYPES;
     
-    public CustomerEntity(EntityType<? extends AbstractVillager> entityType, Level level) {
+    public CustomerEntity(EntityType<? extends PathfinderMob> entityType, Level level) {
         super(entityType, level);
         this.setCanPickUpLoot(false); // Don't pick up items like villagers do
         
@@ -78,6 +108,14 @@ public class CustomerEntity extends AbstractVillager {
         
     }
     
+    /**
+     * Customers share computed paths through their tavern (see CustomerPathNavigation)
+     */
+    @Override
+    protected net.minecraft.world.entity.ai.navigation.PathNavigation createNavigation(Level level) {
+        return new CustomerPathNavigation(this, level);
+    }
+    
     @Override
     public boolean canBeLeashed() {
         return false; // Can't be leashed like villagers
@@ -95,21 +133,9 @@ public class CustomerEntity extends AbstractVillager {
         return false;
     }
     
-    // AbstractVillager abstract methods - customers don't trade
-    @Override
-    protected void updateTrades() {
-        // Customers don't have trades - leave empty
-    }
-    
     @Override
-    protected void rewardTradeXp(net.minecraft.world.item.trading.MerchantOffer offer) {
-        // Customers don't trade - leave empty
-    }
-    
-    // AgeableMob abstract method - customers don't breed
-    @Override
-    public AgeableMob getBreedOffspring(ServerLevel level, AgeableMob otherParent) {
-        return null; // Customers don't breed
+    public boolean removeWhenFarAway(double distanceToClosestPlayer) {
+        return false; // Customers leave on their own (Leave behavior, tavern timeouts)
     }
     
     @Override
@@ -121,7 +147,7 @@ public class CustomerEntity extends AbstractVillager {
     // Similar to Villager.brainProvider() (line 152-154)
     @Override
     protected Brain.Provider<CustomerEntity> brainProvider() {
-        return Brain.provider(MEMORY_TYPES, SENSOR_TYPES);
+        return Brain.provider(MEMORY_TYPES.get(), SENSOR_TYPES.get());
     }
     
     // Similar to Villager.makeBrain() (line 156-160)
@@ -150,7 +176,7 @@ public class CustomerEntity extends AbstractVillager {
         // Note: We skip brain.updateActivityFromSchedule() because customers don't have schedules
         // They will leave at night via custom logic (not schedule-based)
         
-        LOGGER.info("Customer brain initialized with {} activities", 4);
+        LOGGER.debug("Customer brain initialized with {} activities", 4);
     }
     
     // Similar to Villager.createAttributes() (line 201-203)
@@ -164,22 +190,18 @@ public class CustomerEntity extends AbstractVillager {
     // Similar to Villager.customServerAiStep() (line 209-247)
     @Override
     protected void customServerAiStep() {
-        this.level().getProfiler().push("customerBrain");
-        this.getBrain().tick((ServerLevel) this.level(), this);
-        this.level().getProfiler().pop();
+        // Dormant customers only watch the shared threat scan; timers and damage wake them too
+        if (this.dormant && isThreatNearby()) {
+            wakeUp(WAKE_HOLD_TICKS);
+        }
         
-        // Track cumulative panic time across all panic episodes
-        if (isCurrentlyPanicking()) {
-            totalPanicTicks++;
+        if (!this.dormant) {
+            this.level().getProfiler().push("customerBrain");
+            this.getBrain().tick((ServerLevel) this.level(), this);
+            this.level().getProfiler().pop();
             
-            // Check if total panic time exceeds maximum (60 seconds)
-            if (totalPanicTicks >= MAX_PANIC_DURATION) {
-                // Customer has been panicking for too long (cumulative) - trigger event
-                LOGGER.info("Customer {} exceeded max total panic time: {} ticks ({}s), despawning", 
-                    this.getId(), totalPanicTicks, totalPanicTicks / 20);
-                
-                decreaseReputationAndNotify(-5, "A customer was terrified for too long near your tavern! (-5 reputation)");
-                this.discard();
+            if (canGoDormant()) {
+                goDormant();
             }
         }
         
@@ -194,10 +216,37 @@ public class CustomerEntity extends AbstractVillager {
     
     public void setCustomerState(CustomerState state) {
         if (this.customerState != state) {
-            LOGGER.info("Customer {} state change: {} -> {}", 
-                this.getId(), this.customerState, state);
+            if (!this.level().isClientSide) {
+                trace(EventType.STATE_CHANGE, null, this.customerState.ordinal(), state.ordinal());
+                // Whatever target we were waiting for is no longer wanted
+                TavernContext tavern = getTavern();
+                if (tavern != null) {
+                    tavern.getTargetDispatcher().cancel(this);
+                }
+            }
             this.customerState = state;
+            this.stateEnteredAt = this.level().getGameTime();
+            this.stateEnteredPos = this.blockPosition();
+            this.dormant = false;
+        }
+    }
+    
+    /**
+     * How long the customer has been in its current state
+     * Customers without a recorded state change start counting now
+     */
+    public long getTicksInState(long gameTime) {
+        if (this.stateEnteredAt < 0) {
+            this.stateEnteredAt = gameTime;
         }
+        return gameTime - this.stateEnteredAt;
+    }
+    
+    /**
+     * Where the customer was when it entered its current state (null after loading)
+     */
+    public net.minecraft.core.BlockPos getStateEnteredPos() {
+        return this.stateEnteredPos;
     }
     
     /**
@@ -210,29 +259,220 @@ public class CustomerEntity extends AbstractVillager {
     
     // Panic time tracking - cumulative across all panic episodes
     public long getTotalPanicTicks() {
-        return totalPanicTicks;
+        if (this.panicStartedAt < 0) {
+            return totalPanicTicks;
+        }
+        return totalPanicTicks + (this.level().getGameTime() - this.panicStartedAt);
+    }
+    
+    /**
+     * Start counting a panic episode
+     * Schedules the panic limit for when the cumulative total would reach MAX_PANIC_DURATION
+     */
+    public void startPanicTimer(long gameTime) {
+        if (this.panicStartedAt >= 0) return;
+        this.panicStartedAt = gameTime;
+        scheduleTimer(TimerType.PANIC_LIMIT, MAX_PANIC_DURATION - totalPanicTicks);
+    }
+    
+    /**
+     * Stop counting the current panic episode (customer calmed down)
+     */
+    public void stopPanicTimer(long gameTime) {
+        if (this.panicStartedAt < 0) return;
+        this.totalPanicTicks += gameTime - this.panicStartedAt;
+        this.panicStartedAt = -1;
+        cancelTimer(TimerType.PANIC_LIMIT);
     }
     
     public boolean isCurrentlyPanicking() {
         return this.getBrain().isActive(Activity.PANIC);
     }
     
+    // ========================================
+    // TIMERS
+    // ========================================
+    
+    /**
+     * Ask the tavern to call back after the given number of ticks
+     * Replaces a pending timer of the same type and clears its fired flag
+     */
+    public void scheduleTimer(TimerType type, long delay) {
+        this.firedTimers.remove(type);
+        TavernContext tavern = getTavern();
+        if (tavern != null) {
+            tavern.getCustomerTimers().schedule(this, type, this.level().getGameTime(), delay);
+        }
+    }
+    
+    /**
+     * Drop a pending timer and forget that it fired
+     */
+    public void cancelTimer(TimerType type) {
+        this.firedTimers.remove(type);
+        TavernContext tavern = getTavern();
+        if (tavern != null) {
+            tavern.getCustomerTimers().cancel(this, type);
+        }
+    }
+    
+    /**
+     * Check if a scheduled timer has expired (stays true until rescheduled or cancelled)
+     */
+    public boolean hasTimerFired(TimerType type) {
+        return this.firedTimers.contains(type);
+    }
+    
+    /**
+     * Called by CustomerTimerManager when one of our deadlines expires
+     * Behaviors pick their flag up in canStillUse; the panic limit is handled here
+     */
+    public void onTimerExpired(TimerType type) {
+        // Any deadline needs at least one brain tick to be acted on
+        this.dormant = false;
+        if (type == TimerType.DORMANT_HEARTBEAT) {
+            return;
+        }
+        if (type == TimerType.PANIC_LIMIT) {
+            if (!isCurrentlyPanicking()) return;
+            // Customer has been panicking for too long (cumulative) - trigger event
+            long total = getTotalPanicTicks();
+            LOGGER.info("Customer {} exceeded max total panic time: {} ticks ({}s), despawning", 
+                this.getId(), total, total / 20);
+            
+            decreaseReputationAndNotify(-5, "A customer was terrified for too long near your tavern! (-5 reputation)");
+            this.discard();
+            return;
+        }
+        this.firedTimers.add(type);
+    }
+    
+    // ========================================
+    // DORMANCY
+    // ========================================
+    
+    /**
+     * Check if the brain is suspended (seated and eating, or asleep)
+     */
+    public boolean isDormant() {
+        return this.dormant;
+    }
+    
+    /**
+     * A customer can doze off once it is actually seated or in bed and nothing is wrong:
+     * the running EatAtChair/SleepInBed behavior then has nothing to do until a timer expires
+     */
+    private boolean canGoDormant() {
+        if (this.level().getGameTime() < this.awakeUntil) {
+            return false;
+        }
+        boolean resting = (this.customerState == CustomerState.EATING && isSitting())
+            || (this.customerState == CustomerState.SLEEPING && isSleeping());
+        return resting
+            && !isCurrentlyPanicking()
+            && !this.brain.hasMemoryValue(MemoryModuleType.HURT_BY)
+            && !this.brain.hasMemoryValue(MemoryModuleType.NEAREST_HOSTILE)
+            && !isThreatNearby();
+    }
+    
+    private void goDormant() {
+        this.dormant = true;
+        // Wake up now and then anyway, so reservations are renewed and broken furniture is noticed
+        scheduleTimer(TimerType.DORMANT_HEARTBEAT, DORMANT_HEARTBEAT);
+    }
+    
+    /**
+     * Resume brain ticking and keep it running for a while
+     */
+    private void wakeUp(long holdTicks) {
+        this.awakeUntil = Math.max(this.awakeUntil, this.level().getGameTime() + holdTicks);
+        if (this.dormant) {
+            this.dormant = false;
+            cancelTimer(TimerType.DORMANT_HEARTBEAT);
+        }
+    }
+    
+    /**
+     * Read the tavern's shared threat scan (same data TavernThreatSensor uses)
+     */
+    private boolean isThreatNearby() {
+        TavernContext tavern = getTavern();
+        if (tavern == null) {
+            return false;
+        }
+        for (Mob threat : tavern.getNearbyThreats()) {
+            if (threat.isAlive() && threat.level() == this.level() 
+                    && threat.distanceToSqr(this) <= THREAT_WAKE_RANGE_SQR) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override
+    public boolean hurt(DamageSource source, float amount) {
+        if (!this.level().isClientSide) {
+            wakeUp(WAKE_HOLD_TICKS);
+        }
+        return super.hurt(source, amount);
+    }
+    
     /**
      * Decrease tavern reputation and broadcast message to players.
      * Uses TavernContext to avoid direct dependency on Tavern implementation.
      */
     private void decreaseReputationAndNotify(int reputationChange, String message) {
-        if (this.level() instanceof ServerLevel serverLevel) {
-            TavernContext tavern = Tavern.get(serverLevel);
-            if (tavern != null) {
-                tavern.adjustReputation(reputationChange);
-                
-                // Broadcast message to all players via context
-                serverLevel.getServer().getPlayerList().broadcastSystemMessage(
-                    Component.literal(message), 
-                    false
-                );
-            }
+        TavernContext tavern = getTavern();
+        if (tavern != null) {
+            tavern.adjustReputation(reputationChange);
+            
+            // Broadcast message to all players via context
+            tavern.getLevel().getServer().getPlayerList().broadcastSystemMessage(
+                Component.literal(message), 
+                false
+            );
+        }
+    }
+    
+    // ========================================
+    // TAVERN BINDING
+    // ========================================
+    
+    /**
+     * Bind this customer to its owning tavern (called once at spawn)
+     */
+    public void bindTavern(TavernContext tavern) {
+        this.tavern = tavern;
+        this.tavernDimension = tavern.getLevel() != null ? tavern.getLevel().dimension() : null;
+    }
+    
+    /**
+     * Get the tavern this customer belongs to
+     * Cached handle: only customers loaded from NBT (or spawned by egg/commands)
+     * resolve it once, after that no global lookup is needed
+     * 
+     * @return The owning tavern, or null on the client
+     */
+    public TavernContext getTavern() {
+        if (this.tavern == null && this.level() instanceof ServerLevel serverLevel) {
+            ServerLevel home = tavernDimension != null 
+                ? serverLevel.getServer().getLevel(tavernDimension) 
+                : null;
+            bindTavern(Tavern.get(home != null ? home : serverLevel));
+        }
+        return this.tavern;
+    }
+    
+    /**
+     * Record an event in the owning tavern's customer trace
+     * Cheap enough for hot AI paths (no formatting, no allocation)
+     * 
+     * @param pos Related position, or null if none
+     */
+    public void trace(EventType type, BlockPos pos, int a, int b) {
+        TavernContext tavern = getTavern();
+        if (tavern != null) {
+            tavern.getCustomerTrace().record(this.level().getGameTime(), this.getId(), type, pos, a, b);
         }
     }
     
@@ -288,8 +528,11 @@ public class CustomerEntity extends AbstractVillager {
     public void setLifecycle(CustomerLifecycle lifecycle) {
         this.lifecycle = lifecycle;
         this.customerState = lifecycle.getInitialState();
-        LOGGER.info("Customer {} assigned lifecycle: {} ({})", 
-            this.getId(), lifecycle.getType(), lifecycle.getDescription());
+        this.stateEnteredAt = this.level().getGameTime();
+        this.stateEnteredPos = this.blockPosition();
+        if (!this.level().isClientSide) {
+            trace(EventType.LIFECYCLE_ASSIGNED, null, lifecycle.getType().ordinal(), 0);
+        }
     }
     
     /**
@@ -333,6 +576,7 @@ public class CustomerEntity extends AbstractVillager {
         
         // Save customer state
         tag.putString("CustomerState", this.customerState.name());
+        tag.putLong("StateEnteredAt", this.stateEnteredAt);
         
         // Save lifecycle type (to recreate lifecycle on load)
         if (this.lifecycle != null) {
@@ -347,13 +591,20 @@ public class CustomerEntity extends AbstractVillager {
         }
         
         // Save panic tracking (cumulative total)
-        tag.putLong("TotalPanicTicks", this.totalPanicTicks);
+        tag.putLong("TotalPanicTicks", getTotalPanicTicks());
+        
+        // Save owning tavern (taverns are per-dimension, so the dimension identifies it)
+        if (this.tavernDimension != null) {
+            tag.putString("TavernDimension", this.tavernDimension.location().toString());
+        }
     }
     
     // NBT deserialization - load customer data when world is loaded
     @Override
     public void readAdditionalSaveData(net.minecraft.nbt.CompoundTag tag) {
         super.readAdditionalSaveData(tag);
+        // Customers saved while they were villagers still carry Offers, Inventory, Xp and Age:
+        // nothing reads them anymore and they are dropped on the next save
         
         // Load spawn position
         if (tag.contains("SpawnX")) {
@@ -374,6 +625,9 @@ public class CustomerEntity extends AbstractVillager {
                 this.customerState = CustomerState.LEAVING;
             }
         }
+        if (tag.contains("StateEnteredAt")) {
+            this.stateEnteredAt = tag.getLong("StateEnteredAt");
+        }
         
         // Load and recreate lifecycle from type
         if (tag.contains("LifecycleType")) {
@@ -401,6 +655,14 @@ public class CustomerEntity extends AbstractVillager {
         if (tag.contains("TotalPanicTicks")) {
             this.totalPanicTicks = tag.getLong("TotalPanicTicks");
         }
+        
+        // Load owning tavern (handle itself is resolved lazily in getTavern())
+        if (tag.contains("TavernDimension")) {
+            ResourceLocation dimension = ResourceLocation.tryParse(tag.getString("TavernDimension"));
+            if (dimension != null) {
+                this.tavernDimension = ResourceKey.create(Registries.DIMENSION, dimension);
+            }
+        }
     }
     
     /**
@@ -414,7 +676,7 @@ public class CustomerEntity extends AbstractVillager {
         // Set spawn position only on server side and only if not already loaded from NBT
         if (!this.level().isClientSide && getSpawnPosition() == null) {
             setSpawnPosition(this.blockPosition());
-            LOGGER.info("Customer {} set new spawn position: {}", this.getId(), getSpawnPosition());
+            LOGGER.debug("Customer {} set new spawn position: {}", this.getId(), getSpawnPosition());
         }
     }
     
@@ -535,30 +797,25 @@ public class CustomerEntity extends AbstractVillager {
     
     // Static initialization - similar to Villager static block (line 956-971)
     static {
-        MEMORY_TYPES = ImmutableList.of(
+        // Memoized because our own memory and sensor types only exist once registries are populated
+        MEMORY_TYPES = Suppliers.memoize(() -> ImmutableList.of(
             // Navigation
             MemoryModuleType.WALK_TARGET,
             MemoryModuleType.LOOK_TARGET,
             MemoryModuleType.PATH,
             MemoryModuleType.CANT_REACH_WALK_TARGET_SINCE, // Required by MoveToTargetSink line 34
+            TavernKeeperMod.ASSIGNED_TARGET.get(),         // Written by the tavern's TargetDispatchManager
             
             // Panic-related (required for VillagerCalmDown and SetWalkTargetAwayFrom)
             MemoryModuleType.HURT_BY,
             MemoryModuleType.HURT_BY_ENTITY,
-            MemoryModuleType.NEAREST_HOSTILE, // Required for CustomerPanicTrigger
-            
-            // Entity awareness
-            MemoryModuleType.NEAREST_LIVING_ENTITIES,
-            MemoryModuleType.NEAREST_VISIBLE_LIVING_ENTITIES,
-            MemoryModuleType.NEAREST_PLAYERS,
-            MemoryModuleType.NEAREST_VISIBLE_PLAYER
-        );
+            MemoryModuleType.NEAREST_HOSTILE // Required for CustomerPanicTrigger
+        ));
         
-        SENSOR_TYPES = ImmutableList.of(
-            SensorType.NEAREST_LIVING_ENTITIES, // Detects all nearby entities
-            SensorType.NEAREST_PLAYERS,         // Detects players specifically
+        // No per-customer entity scans: hostiles come from the tavern's shared threat scan
+        SENSOR_TYPES = Suppliers.memoize(() -> ImmutableList.of(
             SensorType.HURT_BY,                 // Detects when hurt (populates HURT_BY)
-            SensorType.VILLAGER_HOSTILES        // Detects hostile mobs (populates NEAREST_HOSTILE)
-        );
+            TavernKeeperMod.TAVERN_THREATS.get() // Reads shared tavern threats (populates NEAREST_HOSTILE)
+        ));
     }
 }
@@ -0,0 +1,73 @@
+package maxitoson.tavernkeeper.entities.ai.behavior;
+
+import maxitoson.tavernkeeper.entities.CustomerEntity;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.ai.Brain;
+import net.minecraft.world.entity.ai.memory.MemoryModuleType;
+import net.minecraft.world.entity.ai.memory.MemoryStatus;
+
+import java.util.Map;
+
+/**
+ * Stateless counterpart of vanilla Behavior for the customer lifecycle steps
+ * Vanilla behaviors keep their run status and timeout in fields, so every mob needs its
+ * own instances. These keep nothing per customer: run status and timeout are tracked by the
+ * customer's CustomerStateDispatch, progress lives in the customer (memories such as
+ * ASSIGNED_TARGET, timers, state bookkeeping). One instance is shared by all customers.
+ *
+ * Same hooks as Behavior: checkExtraStartConditions, start, tick, canStillUse, stop
+ */
+public abstract class CustomerBehavior {
+    private final Map<MemoryModuleType<?>, MemoryStatus> entryCondition;
+    private final int maxDuration;
+
+    protected CustomerBehavior(Map<MemoryModuleType<?>, MemoryStatus> entryCondition) {
+        this(entryCondition, Integer.MAX_VALUE);
+    }
+
+    protected CustomerBehavior(Map<MemoryModuleType<?>, MemoryStatus> entryCondition, int maxDuration) {
+        this.entryCondition = entryCondition;
+        this.maxDuration = maxDuration;
+    }
+
+    /**
+     * Ticks after which a running behavior is stopped, whatever canStillUse says
+     */
+    public int getMaxDuration() {
+        return maxDuration;
+    }
+
+    /**
+     * Check the entry memories (same rule as Behavior.hasRequiredMemories)
+     */
+    public boolean hasRequiredMemories(CustomerEntity customer) {
+        Brain<CustomerEntity> brain = customer.getBrain();
+        for (Map.Entry<MemoryModuleType<?>, MemoryStatus> entry : entryCondition.entrySet()) {
+            if (!brain.checkMemory(entry.getKey(), entry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected boolean checkExtraStartConditions(ServerLevel level, CustomerEntity customer) {
+        return true;
+    }
+
+    protected void start(ServerLevel level, CustomerEntity customer, long gameTime) {
+    }
+
+    protected void tick(ServerLevel level, CustomerEntity customer, long gameTime) {
+    }
+
+    protected boolean canStillUse(ServerLevel level, CustomerEntity customer, long gameTime) {
+        return false;
+    }
+
+    protected void stop(ServerLevel level, CustomerEntity customer, long gameTime) {
+    }
+
+    public String debugString() {
+        return this.getClass().getSimpleName();
+    }
+}
@@ -3,11 +3,9 @@ package maxitoson.tavernkeeper.entities.ai.behavior;
 import com.mojang.logging.LogUtils;
 import maxitoson.tavernkeeper.entities.CustomerEntity;
 import maxitoson.tavernkeeper.entities.ai.CustomerState;
-import maxitoson.tavernkeeper.tavern.Tavern;
 import maxitoson.tavernkeeper.tavern.TavernContext;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
-import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.ai.behavior.BehaviorControl;
 import net.minecraft.world.entity.ai.behavior.declarative.BehaviorBuilder;
 import net.minecraft.world.entity.ai.memory.MemoryModuleType;
@@ -43,6 +41,7 @@ public class CustomerCalmDown {
                         hurtBy.erase();
                         hurtByEntity.erase();
                         nearestHostile.erase();
+                        customer.stopPanicTimer(gameTime);
                         
                         LOGGER.debug("Customer {} calmed down (total panic time: {} ticks / {}s)", 
                             customer.getId(), customer.getTotalPanicTicks(), customer.getTotalPanicTicks() / 20);
@@ -68,11 +67,9 @@ public class CustomerCalmDown {
                                     customer.getId(), customerToTargetDist, maxAllowedDistance);
                                 
                                 // Decrease tavern reputation
-                                if (level instanceof ServerLevel serverLevel) {
-                                    TavernContext tavern = Tavern.get(serverLevel);
-                                    if (tavern != null) {
-                                        tavern.adjustReputation(-5);  // -5 reputation for customer running away
-                                    }
+                                TavernContext tavern = customer.getTavern();
+                                if (tavern != null) {
+                                    tavern.adjustReputation(-5);  // -5 reputation for customer running away
                                 }
                                 
                                 // Broadcast message to nearby players
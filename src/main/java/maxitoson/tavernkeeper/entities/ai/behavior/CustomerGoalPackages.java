@@ -3,9 +3,15 @@ package maxitoson.tavernkeeper.entities.ai.behavior;
 import com.google.common.collect.ImmutableList;
 import com.mojang.datafixers.util.Pair;
 import maxitoson.tavernkeeper.entities.CustomerEntity;
+import maxitoson.tavernkeeper.entities.ai.CustomerState;
 import net.minecraft.world.entity.ai.behavior.*;
 import net.minecraft.world.entity.ai.memory.MemoryModuleType;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Behavior packages for CustomerEntity
  * Similar to VillagerGoalPackages but simpler
@@ -13,6 +19,8 @@ import net.minecraft.world.entity.ai.memory.MemoryModuleType;
  * Each package returns a list of BehaviorControl pairs (priority, behavior)
  */
 public class CustomerGoalPackages {
+    // Speed modifier -> shared lifecycle behaviors (in practice a single entry)
+    private static final Map<Float, Map<CustomerState, CustomerBehavior>> LIFECYCLE_BEHAVIORS = new ConcurrentHashMap<>();
     
     /**
      * Core behaviors - always active
@@ -40,36 +48,52 @@ public class CustomerGoalPackages {
      * Customer lifecycle:
      *   FOOD: Find Queue -> Wait at Lectern -> Find Seat -> Eat -> Leave
      *   SLEEPING: Find Queue -> Wait at Reception -> Find Bed -> Sleep -> Leave
+     * Each lifecycle step is bound to its CustomerState, so the brain only
+     * evaluates the step the customer is currently in
      */
     public static ImmutableList<Pair<Integer, ? extends BehaviorControl<? super CustomerEntity>>> getIdlePackage(float speedModifier) {
         return ImmutableList.of(
-            // Priority 0a: Move to lectern for food customers (only if FINDING_LECTERN)
-            Pair.of(0, new MoveToLectern(speedModifier)),
+            Pair.of(0, new CustomerStateDispatch(getLifecycleBehaviors(speedModifier)))
+        );
+    }
+    
+    /**
+     * Lifecycle steps by state, built once and shared by every customer brain
+     * (the behaviors are stateless, see CustomerBehavior)
+     */
+    private static Map<CustomerState, CustomerBehavior> getLifecycleBehaviors(float speedModifier) {
+        return LIFECYCLE_BEHAVIORS.computeIfAbsent(speedModifier, speed -> {
+            Map<CustomerState, CustomerBehavior> byState = new EnumMap<>(CustomerState.class);
             
-            // Priority 0b: Move to reception desk for sleeping customers (only if FINDING_RECEPTION)
-            Pair.of(0, new MoveToReceptionDesk(speedModifier)),
+            // Move to lectern for food customers
+            byState.put(CustomerState.FINDING_LECTERN, new MoveToLectern(speed));
             
-            // Priority 1: Wait at lectern and show food request (only if WAITING_SERVICE)
-            Pair.of(1, new WaitAtLectern()),
+            // Move to reception desk for sleeping customers
+            byState.put(CustomerState.FINDING_RECEPTION, new MoveToReceptionDesk(speed));
             
-            // Priority 2: Wait at reception desk and hold money (only if WAITING_RECEPTION)
-            Pair.of(2, new WaitAtReceptionDesk()),
+            // Wait at lectern and show food request
+            byState.put(CustomerState.WAITING_SERVICE, new WaitAtLectern());
             
-            // Priority 3: Find and walk to a chair after being served (only if FINDING_SEAT)
-            Pair.of(3, new FindSeat(speedModifier)),
+            // Wait at reception desk and hold money
+            byState.put(CustomerState.WAITING_RECEPTION, new WaitAtReceptionDesk());
             
-            // Priority 4: Sit at chair and eat food (only if EATING)
-            Pair.of(4, new EatAtChair()),
+            // Find and walk to a chair after being served
+            byState.put(CustomerState.FINDING_SEAT, new FindSeat(speed));
             
-            // Priority 5: Find and walk to a bed (only if FINDING_BED)
-            Pair.of(5, new FindBed(speedModifier)),
+            // Sit at chair and eat food
+            byState.put(CustomerState.EATING, new EatAtChair());
             
-            // Priority 6: Lie in bed and sleep (only if SLEEPING)
-            Pair.of(6, new SleepInBed()),
+            // Find and walk to a bed
+            byState.put(CustomerState.FINDING_BED, new FindBed(speed));
             
-            // Priority 7: Walk away and despawn (only if LEAVING)
-            Pair.of(7, new Leave())
-        );
+            // Lie in bed and sleep
+            byState.put(CustomerState.SLEEPING, new SleepInBed());
+            
+            // Walk away and despawn
+            byState.put(CustomerState.LEAVING, new Leave());
+            
+            return Collections.unmodifiableMap(byState);
+        });
     }
     
     /**
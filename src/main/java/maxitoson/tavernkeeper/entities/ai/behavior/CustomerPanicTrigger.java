@@ -2,6 +2,7 @@ package maxitoson.tavernkeeper.entities.ai.behavior;
 
 import com.google.common.collect.ImmutableMap;
 import maxitoson.tavernkeeper.entities.CustomerEntity;
+import maxitoson.tavernkeeper.tavern.managers.system.CustomerTraceManager.EventType;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.ai.Brain;
@@ -30,13 +31,13 @@ public class CustomerPanicTrigger extends Behavior<CustomerEntity> {
         boolean hostile = hasHostile(entity);
         
         if (hurt || hostile) {
-            com.mojang.logging.LogUtils.getLogger().info("Customer {} panicking! Hurt: {}, Hostile: {}", 
-                entity.getId(), hurt, hostile);
+            entity.trace(EventType.PANIC, null, hurt ? 1 : 0, hostile ? 1 : 0);
             
             Brain<?> brain = entity.getBrain();
             if (!brain.isActive(Activity.PANIC)) {
                 // Save current state before panicking
                 entity.saveStateBeforePanic();
+                entity.startPanicTimer(gameTime);
                 
                 // Clear current goals when panicking
                 brain.eraseMemory(MemoryModuleType.PATH);
@@ -0,0 +1,85 @@
+package maxitoson.tavernkeeper.entities.ai.behavior;
+
+import maxitoson.tavernkeeper.entities.CustomerEntity;
+import maxitoson.tavernkeeper.entities.ai.CustomerState;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.ai.behavior.Behavior;
+import net.minecraft.world.entity.ai.behavior.BehaviorControl;
+
+import java.util.Map;
+
+/**
+ * Composite behavior that only considers the behavior bound to the customer's current state
+ * Similar to vanilla GateBehavior, but keyed on CustomerState instead of running every child:
+ * the brain sees a single IDLE behavior, so per-tick AI cost is one state's start check
+ * instead of one check per lifecycle step
+ *
+ * Switching states swaps the active behavior: the next start attempt looks up the new state.
+ * A behavior that is already running keeps ticking until its own canStillUse() ends it
+ * (they all stop themselves when the state changes)
+ *
+ * The state -> behavior table and the behaviors themselves are shared by all customers
+ * (see CustomerBehavior); this object is the only per-customer part and just remembers
+ * which behavior runs and until when
+ */
+public class CustomerStateDispatch implements BehaviorControl<CustomerEntity> {
+    private final Map<CustomerState, CustomerBehavior> byState;
+    private CustomerBehavior running = null;
+    private long endTimestamp = 0;
+    private CustomerState lastState = null;
+
+    public CustomerStateDispatch(Map<CustomerState, CustomerBehavior> byState) {
+        this.byState = byState;
+    }
+
+    @Override
+    public Behavior.Status getStatus() {
+        return running != null ? Behavior.Status.RUNNING : Behavior.Status.STOPPED;
+    }
+
+    @Override
+    public boolean tryStart(ServerLevel level, CustomerEntity customer, long gameTime) {
+        CustomerState state = customer.getCustomerState();
+        if (state != lastState) {
+            // Previous step never got to use what it was handed (e.g. an assigned chair)
+            if (lastState != null && byState.get(lastState) instanceof MoveToTargetBehavior previous) {
+                previous.releaseStaleAssignment(customer);
+            }
+            lastState = state;
+        }
+
+        CustomerBehavior behavior = byState.get(state);
+        if (behavior == null
+                || !behavior.hasRequiredMemories(customer)
+                || !behavior.checkExtraStartConditions(level, customer)) {
+            return false;
+        }
+        running = behavior;
+        endTimestamp = gameTime + behavior.getMaxDuration();
+        behavior.start(level, customer, gameTime);
+        return true;
+    }
+
+    @Override
+    public void tickOrStop(ServerLevel level, CustomerEntity customer, long gameTime) {
+        if (running == null) return;
+        if (gameTime <= endTimestamp && running.canStillUse(level, customer, gameTime)) {
+            running.tick(level, customer, gameTime);
+        } else {
+            doStop(level, customer, gameTime);
+        }
+    }
+
+    @Override
+    public void doStop(ServerLevel level, CustomerEntity customer, long gameTime) {
+        if (running == null) return;
+        CustomerBehavior stopping = running;
+        running = null;
+        stopping.stop(level, customer, gameTime);
+    }
+
+    @Override
+    public String debugString() {
+        return running != null ? "StateDispatch[" + running.debugString() + "]" : "StateDispatch";
+    }
+}
@@ -5,8 +5,9 @@ import com.mojang.logging.LogUtils;
 import maxitoson.tavernkeeper.entities.CustomerEntity;
 import maxitoson.tavernkeeper.entities.SittingEntity;
 import maxitoson.tavernkeeper.entities.ai.CustomerState;
-import maxitoson.tavernkeeper.tavern.Tavern;
 import maxitoson.tavernkeeper.tavern.TavernContext;
+import maxitoson.tavernkeeper.tavern.managers.system.CustomerTimerManager.TimerType;
+import maxitoson.tavernkeeper.tavern.managers.system.CustomerTraceManager.EventType;
 import maxitoson.tavernkeeper.tavern.furniture.Chair;
 import maxitoson.tavernkeeper.TavernKeeperMod;
 import net.minecraft.core.BlockPos;
@@ -14,7 +15,6 @@ import net.minecraft.core.Direction;
 import net.minecraft.core.particles.ItemParticleOption;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.world.entity.ai.behavior.Behavior;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 import org.slf4j.Logger;
@@ -23,14 +23,11 @@ import org.slf4j.Logger;
  * Behavior for customer sitting at a chair and eating
  * Similar to how villagers sleep in beds, but for chairs
  */
-public class EatAtChair extends Behavior<CustomerEntity> {
+public class EatAtChair extends CustomerBehavior {
     private static final Logger LOGGER = LogUtils.getLogger();
     private static final int EATING_DURATION = 200; // 10 seconds (20 ticks = 1 second)
     private static final int PARTICLE_INTERVAL = 20; // Show particles every second
     
-    private long startTime = 0;
-    private long lastParticleTime = 0;
-    
     public EatAtChair() {
         // No memory requirements, run indefinitely
         super(ImmutableMap.of(), Integer.MAX_VALUE);
@@ -44,24 +41,17 @@ public class EatAtChair extends Behavior<CustomerEntity> {
     
     @Override
     protected boolean canStillUse(ServerLevel level, CustomerEntity customer, long gameTime) {
-        // Stop if state changed (e.g., panic) or duration elapsed
+        // Stop if state changed (e.g., panic) or the meal timer expired
         if (customer.getCustomerState() != CustomerState.EATING) {
             return false;
         }
-        
-        // Check if eating duration is complete
-        if (startTime > 0) {
-            long elapsed = gameTime - startTime;
-            return elapsed < EATING_DURATION;
-        }
-        
-        return true;
+        return !customer.hasTimerFired(TimerType.EATING_DONE);
     }
     
     @Override
     protected void start(ServerLevel level, CustomerEntity customer, long gameTime) {
         BlockPos chairPos = customer.getTargetPosition();
-        TavernContext tavern = Tavern.get(level);
+        TavernContext tavern = customer.getTavern();
         
         if (chairPos == null) {
             LOGGER.warn("Customer {} in EATING state but no target chair position!", customer.getId());
@@ -79,7 +69,8 @@ public class EatAtChair extends Behavior<CustomerEntity> {
             return;
         }
         
-        if (!tavern.isChairReservedBy(chairPos, customer.getUUID())) {
+        // Renewing also takes the chair back if our lease ran out and nobody grabbed it
+        if (!tavern.renewChair(chairPos, customer.getUUID())) {
             LOGGER.warn("Customer {} chair at {} is no longer reserved by them (taken by another customer?), transitioning to FINDING_SEAT", 
                 customer.getId(), chairPos);
             customer.setTargetPosition(null);
@@ -110,11 +101,9 @@ public class EatAtChair extends Behavior<CustomerEntity> {
             return;
         }
         
-        startTime = gameTime;
-        lastParticleTime = gameTime;
+        customer.scheduleTimer(TimerType.EATING_DONE, EATING_DURATION);
         
-        LOGGER.info("Customer {} started sitting and eating at chair {} for {} ticks", 
-            customer.getId(), chairPos, EATING_DURATION);
+        customer.trace(EventType.EAT_START, chairPos, EATING_DURATION, 0);
     }
     
     @Override
@@ -127,17 +116,22 @@ public class EatAtChair extends Behavior<CustomerEntity> {
             return;
         }
         
-        // Spawn eating particles occasionally
-        if (gameTime - lastParticleTime >= PARTICLE_INTERVAL) {
+        // Keep our chair lease alive while eating
+        BlockPos chairPos = customer.getTargetPosition();
+        if (chairPos != null) {
+            customer.getTavern().renewChair(chairPos, customer.getUUID());
+        }
+        
+        // Spawn eating particles occasionally (offset by id so a full room doesn't sync up)
+        if ((gameTime + customer.getId()) % PARTICLE_INTERVAL == 0) {
             spawnEatingParticles(level, customer);
-            lastParticleTime = gameTime;
         }
     }
     
     @Override
     protected void stop(ServerLevel level, CustomerEntity customer, long gameTime) {
         BlockPos chairPos = customer.getTargetPosition();
-        TavernContext tavern = Tavern.get(level);
+        TavernContext tavern = customer.getTavern();
         
         // Make customer stand up if still sitting
         if (customer.getVehicle() instanceof SittingEntity sittingEntity) {
@@ -152,16 +146,16 @@ public class EatAtChair extends Behavior<CustomerEntity> {
         // Release the chair reservation
         if (chairExists) {
             tavern.releaseChair(chairPos);
-            LOGGER.info("Customer {} finished eating, released chair at {}", 
-                customer.getId(), chairPos);
         }
         
         // Check if we completed the eating duration
-        if (startTime > 0 && (gameTime - startTime) >= EATING_DURATION) {
+        boolean finished = customer.hasTimerFired(TimerType.EATING_DONE);
+        customer.cancelTimer(TimerType.EATING_DONE);
+        customer.trace(EventType.EAT_END, chairPos, finished ? 1 : 0, 0);
+        if (finished) {
             // Finished eating normally, use lifecycle to determine next state
             if (customer.getLifecycle() != null) {
                 customer.transitionToNextState(level);
-                LOGGER.info("Customer {} finished eating, transitioning via lifecycle", customer.getId());
             } else {
                 // Fallback if no lifecycle
                 customer.setCustomerState(CustomerState.LEAVING);
@@ -172,18 +166,16 @@ public class EatAtChair extends Behavior<CustomerEntity> {
             if (!chairExists) {
                 // Chair was destroyed, go find another one
                 customer.setCustomerState(CustomerState.FINDING_SEAT);
-                LOGGER.info("Customer {} chair was destroyed, searching for another seat", customer.getId());
+                LOGGER.debug("Customer {} chair was destroyed, searching for another seat", customer.getId());
             } else {
                 // Other interruption (panic, damage), stay in current state
                 LOGGER.debug("Customer {} eating interrupted at {} ticks", 
-                    customer.getId(), gameTime - startTime);
+                    customer.getId(), customer.getTicksInState(gameTime));
             }
         }
         
         // Clear target position
         customer.setTargetPosition(null);
-        startTime = 0;
-        lastParticleTime = 0;
     }
     
     /**
@@ -3,18 +3,17 @@ package maxitoson.tavernkeeper.entities.ai.behavior;
 import maxitoson.tavernkeeper.entities.CustomerEntity;
 import maxitoson.tavernkeeper.entities.ai.CustomerState;
 import maxitoson.tavernkeeper.tavern.TavernContext;
+import maxitoson.tavernkeeper.tavern.managers.system.TargetDispatchManager.TargetKind;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 
-import java.util.Optional;
-
 /**
  * Finds and walks to the nearest available bed in a sleeping area
  * After reaching bed, transitions to SLEEPING state
- * Reserves the bed to prevent other customers from taking it
+ * The bed is assigned and reserved by the tavern's dispatcher, so no other customer can take it
  */
 public class FindBed extends MoveToTargetBehavior {
-    private static final int REACHED_DISTANCE = 2;
+    private static final int REACHED_DISTANCE = 1; // Walks to a standable spot next to it
     
     public FindBed(float speedModifier) {
         super(speedModifier);
@@ -26,13 +25,13 @@ public class FindBed extends MoveToTargetBehavior {
     }
     
     @Override
-    protected Optional<BlockPos> findTarget(TavernContext tavern, BlockPos from, double maxDistance) {
-        return tavern.findNearestAvailableBed(from, maxDistance);
+    protected TargetKind getTargetKind() {
+        return TargetKind.BED;
     }
     
     @Override
-    protected boolean tryReserveTarget(TavernContext tavern, BlockPos target, CustomerEntity customer) {
-        return tavern.reserveBed(target, customer.getUUID());
+    protected boolean renewTarget(TavernContext tavern, BlockPos target, CustomerEntity customer) {
+        return tavern.renewBed(target, customer.getUUID());
     }
     
     @Override
@@ -3,19 +3,17 @@ package maxitoson.tavernkeeper.entities.ai.behavior;
 import maxitoson.tavernkeeper.entities.CustomerEntity;
 import maxitoson.tavernkeeper.entities.ai.CustomerState;
 import maxitoson.tavernkeeper.tavern.TavernContext;
-import maxitoson.tavernkeeper.tavern.furniture.Chair;
+import maxitoson.tavernkeeper.tavern.managers.system.TargetDispatchManager.TargetKind;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 
-import java.util.Optional;
-
 /**
  * Finds and walks to the nearest available chair in a dining area
  * After reaching chair, transitions to EATING state
- * Reserves the chair to prevent other customers from taking it
+ * The chair is assigned and reserved by the tavern's dispatcher, so no other customer can take it
  */
 public class FindSeat extends MoveToTargetBehavior {
-    private static final int REACHED_DISTANCE = 2;
+    private static final int REACHED_DISTANCE = 1; // Walks to a standable spot next to it
     
     public FindSeat(float speedModifier) {
         super(speedModifier);
@@ -27,14 +25,13 @@ public class FindSeat extends MoveToTargetBehavior {
     }
     
     @Override
-    protected Optional<BlockPos> findTarget(TavernContext tavern, BlockPos from, double maxDistance) {
-        return tavern.findNearestAvailableChair(from, maxDistance)
-                     .map(Chair::getPosition);
+    protected TargetKind getTargetKind() {
+        return TargetKind.CHAIR;
     }
     
     @Override
-    protected boolean tryReserveTarget(TavernContext tavern, BlockPos target, CustomerEntity customer) {
-        return tavern.reserveChair(target, customer.getUUID());
+    protected boolean renewTarget(TavernContext tavern, BlockPos target, CustomerEntity customer) {
+        return tavern.renewChair(target, customer.getUUID());
     }
     
     @Override
@@ -4,9 +4,10 @@ import com.google.common.collect.ImmutableMap;
 import com.mojang.logging.LogUtils;
 import maxitoson.tavernkeeper.entities.CustomerEntity;
 import maxitoson.tavernkeeper.entities.ai.CustomerState;
+import maxitoson.tavernkeeper.tavern.managers.system.CustomerTimerManager.TimerType;
+import maxitoson.tavernkeeper.tavern.managers.system.CustomerTraceManager.EventType;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.world.entity.ai.behavior.Behavior;
 import net.minecraft.world.entity.ai.memory.MemoryModuleType;
 import net.minecraft.world.entity.ai.memory.MemoryStatus;
 import net.minecraft.world.entity.ai.memory.WalkTarget;
@@ -17,23 +18,19 @@ import org.slf4j.Logger;
  * Behavior for customer leaving the tavern and despawning
  * Customer returns to their spawn position, then despawns
  */
-public class Leave extends Behavior<CustomerEntity> {
+public class Leave extends CustomerBehavior {
     private static final Logger LOGGER = LogUtils.getLogger();
     private static final int MAX_WALK_DURATION = 400; // Maximum 20 seconds (safety timeout)
     private static final int REACHED_SPAWN_DISTANCE = 2; // How close to get to spawn position before despawning
     private static final float WALK_SPEED = 0.6F; // Walk slightly faster when leaving
     
-    private long startTime = 0;
-    private BlockPos startPos = null;
-    private BlockPos targetSpawnPos = null;
-    
     public Leave() {
         super(
             ImmutableMap.of(
                 MemoryModuleType.WALK_TARGET, MemoryStatus.VALUE_ABSENT, // Only run if not already walking
                 MemoryModuleType.LOOK_TARGET, MemoryStatus.REGISTERED
             ),
-            MAX_WALK_DURATION
+            Integer.MAX_VALUE // Timed out through the LEAVE_TIMEOUT timer instead
         );
     }
     
@@ -50,20 +47,16 @@ public class Leave extends Behavior<CustomerEntity> {
             return false;
         }
         
-        // Check if customer reached spawn position or hit timeout
-        if (startTime > 0) {
-            long elapsed = gameTime - startTime;
-            
-            // Check if reached spawn position
-            if (targetSpawnPos != null) {
-                double distanceToSpawn = Math.sqrt(customer.blockPosition().distSqr(targetSpawnPos));
-                if (distanceToSpawn <= REACHED_SPAWN_DISTANCE) {
-                    return false;
-                }
-            }
-            
-            // Safety timeout
-            if (elapsed >= MAX_WALK_DURATION) {
+        // Safety timeout
+        if (customer.hasTimerFired(TimerType.LEAVE_TIMEOUT)) {
+            return false;
+        }
+        
+        // Check if reached spawn position
+        BlockPos targetSpawnPos = customer.getSpawnPosition();
+        if (targetSpawnPos != null) {
+            double distanceToSpawn = Math.sqrt(customer.blockPosition().distSqr(targetSpawnPos));
+            if (distanceToSpawn <= REACHED_SPAWN_DISTANCE) {
                 return false;
             }
         }
@@ -73,9 +66,8 @@ public class Leave extends Behavior<CustomerEntity> {
     
     @Override
     protected void start(ServerLevel level, CustomerEntity customer, long gameTime) {
-        startTime = gameTime;
-        startPos = customer.blockPosition();
-        targetSpawnPos = customer.getSpawnPosition();
+        BlockPos targetSpawnPos = customer.getSpawnPosition();
+        customer.scheduleTimer(TimerType.LEAVE_TIMEOUT, MAX_WALK_DURATION);
         
         if (targetSpawnPos == null) {
             LOGGER.warn("Customer {} has no spawn position, will despawn immediately", customer.getId());
@@ -89,16 +81,14 @@ public class Leave extends Behavior<CustomerEntity> {
             new WalkTarget(targetVec, WALK_SPEED, REACHED_SPAWN_DISTANCE)
         );
         
-        LOGGER.info("Customer {} leaving tavern, returning to spawn position {} (distance: {})", 
-            customer.getId(), 
-            targetSpawnPos,
-            Math.sqrt(customer.blockPosition().distSqr(targetSpawnPos))
-        );
+        customer.trace(EventType.LEAVE_START, targetSpawnPos, 0,
+            (int) Math.sqrt(customer.blockPosition().distSqr(targetSpawnPos)));
     }
     
     @Override
     protected void tick(ServerLevel level, CustomerEntity customer, long gameTime) {
         // If target was lost, reset it to spawn position
+        BlockPos targetSpawnPos = customer.getSpawnPosition();
         if (!customer.getBrain().hasMemoryValue(MemoryModuleType.WALK_TARGET) && targetSpawnPos != null) {
             Vec3 targetVec = Vec3.atBottomCenterOf(targetSpawnPos);
             customer.getBrain().setMemory(
@@ -111,32 +101,24 @@ public class Leave extends Behavior<CustomerEntity> {
     
     @Override
     protected void stop(ServerLevel level, CustomerEntity customer, long gameTime) {
-        // Calculate how far the customer walked and how long it took
+        // Calculate how far the customer walked and how long it took (since it decided to leave)
         double distanceTraveled = 0;
-        long elapsedTicks = 0;
+        long elapsedTicks = customer.getTicksInState(gameTime);
         
+        BlockPos startPos = customer.getStateEnteredPos();
         if (startPos != null) {
             distanceTraveled = Math.sqrt(customer.blockPosition().distSqr(startPos));
         }
         
-        if (startTime > 0) {
-            elapsedTicks = gameTime - startTime;
-        }
-        
         // Despawn the customer
-        LOGGER.info("Customer {} despawning after walking {} blocks in {} ticks", 
-            customer.getId(), 
-            String.format("%.1f", distanceTraveled),
-            elapsedTicks);
+        customer.trace(EventType.DESPAWN, null, (int) distanceTraveled, (int) elapsedTicks);
         
+        customer.cancelTimer(TimerType.LEAVE_TIMEOUT);
         customer.discard();
         
         // Clear memories
         customer.getBrain().eraseMemory(MemoryModuleType.WALK_TARGET);
         customer.getBrain().eraseMemory(MemoryModuleType.LOOK_TARGET);
-        
-        startTime = 0;
-        startPos = null;
     }
 }
 
@@ -2,19 +2,17 @@ package maxitoson.tavernkeeper.entities.ai.behavior;
 
 import maxitoson.tavernkeeper.entities.CustomerEntity;
 import maxitoson.tavernkeeper.entities.ai.CustomerState;
-import maxitoson.tavernkeeper.tavern.TavernContext;
-import maxitoson.tavernkeeper.tavern.furniture.ServiceLectern;
+import maxitoson.tavernkeeper.tavern.managers.system.TargetDispatchManager.TargetKind;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 
-import java.util.Optional;
-
 /**
  * Moves food customers to the nearest lectern in a service area
  * After reaching lectern, transitions to WAITING_SERVICE state
+ * Customers walk to their slot in the queue (ServiceQueueManager), not to the lectern itself
  */
 public class MoveToLectern extends MoveToTargetBehavior {
-    private static final int REACHED_DISTANCE = 2;
+    private static final int REACHED_DISTANCE = 1; // Queue slots are one block apart
     
     public MoveToLectern(float speedModifier) {
         super(speedModifier);
@@ -27,9 +25,8 @@ public class MoveToLectern extends MoveToTargetBehavior {
     }
     
     @Override
-    protected Optional<BlockPos> findTarget(TavernContext tavern, BlockPos from, double maxDistance) {
-        return tavern.findNearestLectern(from, maxDistance)
-                     .map(ServiceLectern::getPosition);
+    protected TargetKind getTargetKind() {
+        return TargetKind.LECTERN;
     }
     
     @Override
@@ -38,6 +35,21 @@ public class MoveToLectern extends MoveToTargetBehavior {
         customer.transitionToNextState(level);
     }
     
+    @Override
+    protected BlockPos getApproachPosition(CustomerEntity customer, BlockPos target, long gameTime) {
+        // Line up behind customers already waiting at this lectern
+        // (not while stopping after a state change, that would queue a customer who is no longer coming)
+        if (!isInCorrectState(customer)) {
+            return target;
+        }
+        return customer.getTavern().getServiceQueues().join(customer, target, gameTime);
+    }
+    
+    @Override
+    protected void onWalkAbandoned(CustomerEntity customer) {
+        customer.getTavern().getServiceQueues().leave(customer, customer.level().getGameTime(), false);
+    }
+    
     @Override
     protected String getTargetName() {
         return "lectern";
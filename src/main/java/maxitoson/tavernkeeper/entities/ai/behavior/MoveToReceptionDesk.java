@@ -2,19 +2,17 @@ package maxitoson.tavernkeeper.entities.ai.behavior;
 
 import maxitoson.tavernkeeper.entities.CustomerEntity;
 import maxitoson.tavernkeeper.entities.ai.CustomerState;
-import maxitoson.tavernkeeper.tavern.TavernContext;
-import maxitoson.tavernkeeper.tavern.furniture.ServiceReceptionDesk;
+import maxitoson.tavernkeeper.tavern.managers.system.TargetDispatchManager.TargetKind;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 
-import java.util.Optional;
-
 /**
  * Moves sleeping customers to the nearest reception desk in a service area
  * After reaching reception, transitions to WAITING_RECEPTION state
+ * Customers walk to their slot in the queue (ServiceQueueManager), not to the desk itself
  */
 public class MoveToReceptionDesk extends MoveToTargetBehavior {
-    private static final int REACHED_DISTANCE = 2;
+    private static final int REACHED_DISTANCE = 1; // Queue slots are one block apart
     
     public MoveToReceptionDesk(float speedModifier) {
         super(speedModifier);
@@ -27,9 +25,8 @@ public class MoveToReceptionDesk extends MoveToTargetBehavior {
     }
     
     @Override
-    protected Optional<BlockPos> findTarget(TavernContext tavern, BlockPos from, double maxDistance) {
-        return tavern.findNearestReceptionDesk(from, maxDistance)
-                     .map(ServiceReceptionDesk::getPosition);
+    protected TargetKind getTargetKind() {
+        return TargetKind.RECEPTION_DESK;
     }
     
     @Override
@@ -38,6 +35,21 @@ public class MoveToReceptionDesk extends MoveToTargetBehavior {
         customer.transitionToNextState(level);
     }
     
+    @Override
+    protected BlockPos getApproachPosition(CustomerEntity customer, BlockPos target, long gameTime) {
+        // Line up behind customers already waiting at this reception desk
+        // (not while stopping after a state change, that would queue a customer who is no longer coming)
+        if (!isInCorrectState(customer)) {
+            return target;
+        }
+        return customer.getTavern().getServiceQueues().join(customer, target, gameTime);
+    }
+    
+    @Override
+    protected void onWalkAbandoned(CustomerEntity customer) {
+        customer.getTavern().getServiceQueues().leave(customer, customer.level().getGameTime(), false);
+    }
+    
     @Override
     protected String getTargetName() {
         return "reception desk";
@@ -2,12 +2,17 @@ package maxitoson.tavernkeeper.entities.ai.behavior;
 
 import com.google.common.collect.ImmutableMap;
 import com.mojang.logging.LogUtils;
+import maxitoson.tavernkeeper.TavernKeeperMod;
 import maxitoson.tavernkeeper.entities.CustomerEntity;
-import maxitoson.tavernkeeper.tavern.Tavern;
+import maxitoson.tavernkeeper.entities.ai.CustomerState;
+import maxitoson.tavernkeeper.entities.ai.navigation.CustomerPathNavigation;
 import maxitoson.tavernkeeper.tavern.TavernContext;
+import maxitoson.tavernkeeper.tavern.managers.system.CustomerTraceManager.EventType;
+import maxitoson.tavernkeeper.tavern.managers.system.TargetDispatchManager;
+import maxitoson.tavernkeeper.tavern.managers.system.TargetDispatchManager.Assignment;
+import maxitoson.tavernkeeper.tavern.managers.system.TargetDispatchManager.TargetKind;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.world.entity.ai.behavior.Behavior;
 import net.minecraft.world.entity.ai.behavior.BlockPosTracker;
 import net.minecraft.world.entity.ai.memory.MemoryModuleType;
 import net.minecraft.world.entity.ai.memory.MemoryStatus;
@@ -19,26 +24,32 @@ import java.util.Optional;
 /**
  * Base behavior for customers moving to a target position
  * Template Method Pattern: Handles all common pathfinding logic
- * Subclasses provide: state filter, target search, and completion action
+ * Subclasses provide: state filter, target kind, and completion action
+ * Targets are not searched here: the behavior asks the tavern's TargetDispatchManager,
+ * which batch-assigns (and reserves) targets and answers through ASSIGNED_TARGET
+ * The assignment stays in that memory while walking, so the behavior itself holds no
+ * per-customer state and is shared by all customers
+ * A path request deferred by the tavern's path budget keeps the walk going: WALK_TARGET
+ * (dropped by MoveToTargetSink) is set again until the navigation gets its path
  * 
  * Used by: MoveToLectern, MoveToReceptionDesk, FindSeat, FindBed
  */
-public abstract class MoveToTargetBehavior extends Behavior<CustomerEntity> {
+public abstract class MoveToTargetBehavior extends CustomerBehavior {
     private static final Logger LOGGER = LogUtils.getLogger();
-    private static final int COOLDOWN_TICKS = 20; // Check every second
-    private static final int MAX_DISTANCE = 48; // Same as FOLLOW_RANGE
+    private static final int RUN_TIMEOUT_TICKS = 1200; // Safety net only, canStillUse() normally ends the walk
+    private static final long UNREACHABLE_GRACE_TICKS = 60; // Stuck this long -> give up on the target (3 seconds)
+    private static final long PATIENCE_TICKS = 2400; // Searching this long in one state -> leave (2 minutes)
     
     private final float speedModifier;
-    private long nextCheckTime = 0;
-    private BlockPos targetPosition = null;
     
     protected MoveToTargetBehavior(float speedModifier) {
         super(
             ImmutableMap.of(
                 MemoryModuleType.WALK_TARGET, MemoryStatus.VALUE_ABSENT,
-                MemoryModuleType.LOOK_TARGET, MemoryStatus.REGISTERED
+                MemoryModuleType.LOOK_TARGET, MemoryStatus.REGISTERED,
+                TavernKeeperMod.ASSIGNED_TARGET.get(), MemoryStatus.REGISTERED
             ),
-            COOLDOWN_TICKS * 2
+            RUN_TIMEOUT_TICKS
         );
         this.speedModifier = speedModifier;
     }
@@ -51,9 +62,9 @@ public abstract class MoveToTargetBehavior extends Behavior<CustomerEntity> {
     protected abstract boolean isInCorrectState(CustomerEntity customer);
     
     /**
-     * Find the target position (lectern, reception desk, chair, bed, etc.)
+     * Kind of target to request from the tavern's dispatcher (lectern, reception desk, chair, bed)
      */
-    protected abstract Optional<BlockPos> findTarget(TavernContext tavern, BlockPos from, double maxDistance);
+    protected abstract TargetKind getTargetKind();
     
     /**
      * Called when customer reaches the target
@@ -74,82 +85,92 @@ public abstract class MoveToTargetBehavior extends Behavior<CustomerEntity> {
     // ========== Optional Template Methods (for reservation system) ==========
     
     /**
-     * Try to reserve the target (e.g., chair, bed)
-     * Override for resources that need reservation
-     * @return true if reservation succeeded or not needed, false if failed
+     * Extend the target reservation while walking to it (reservations are leases)
+     * Override for resources that were reserved
+     * @return false if the reservation was lost to another customer
      */
-    protected boolean tryReserveTarget(TavernContext tavern, BlockPos target, CustomerEntity customer) {
+    protected boolean renewTarget(TavernContext tavern, BlockPos target, CustomerEntity customer) {
         return true; // Default: no reservation needed
     }
     
     /**
      * Release the target reservation if customer didn't reach it
-     * Override for resources that were reserved
+     * Override for resources that were reserved (the dispatcher reserves on assignment)
      */
     protected void releaseTarget(TavernContext tavern, BlockPos target) {
         // Default: no-op
     }
     
+    // ========== Optional Template Methods (for service queues) ==========
+    
+    /**
+     * Block to walk to for the assigned target
+     * Default: the approach spot picked by the dispatcher (standable block next to the target)
+     * Override to stand somewhere else (e.g. a queue slot); may change while walking,
+     * the walk target follows it
+     */
+    protected BlockPos getApproachPosition(CustomerEntity customer, BlockPos target, long gameTime) {
+        return getAssignment(customer).map(Assignment::approach).orElse(target);
+    }
+    
+    /**
+     * Called when the walk ends without reaching the target
+     */
+    protected void onWalkAbandoned(CustomerEntity customer) {
+        // Default: no-op
+    }
+    
     // ========== Common Implementation ==========
     
     @Override
     protected boolean checkExtraStartConditions(ServerLevel level, CustomerEntity customer) {
         // Check state
         if (!isInCorrectState(customer)) {
+            releaseStaleAssignment(customer);
             return false;
         }
         
-        // Cooldown check
+        Optional<Assignment> assignment = getAssignment(customer);
+        
+        // Dispatcher answered: start walking right away
+        if (assignment.isPresent()) {
+            return true;
+        }
+        
         long time = level.getGameTime();
-        if (time < nextCheckTime) {
+        
+        // Give up if nothing usable was found for too long
+        long ticksInState = customer.getTicksInState(time);
+        if (ticksInState > PATIENCE_TICKS) {
+            customer.trace(EventType.GAVE_UP, null, customer.getCustomerState().ordinal(), (int) ticksInState);
+            customer.setCustomerState(CustomerState.LEAVING);
             return false;
         }
-        nextCheckTime = time + COOLDOWN_TICKS;
         
-        // Check if we already have a target and reached it
-        if (targetPosition != null) {
-            double distSq = customer.blockPosition().distSqr(targetPosition);
-            if (distSq <= getReachedDistance() * getReachedDistance()) {
-                LOGGER.info("Customer {} reached {} at {}", 
-                    customer.getId(), getTargetName(), targetPosition);
-                onTargetReached(level, customer, targetPosition);
-                targetPosition = null;
-                return false;
-            }
+        // Already asked: the dispatcher wakes us when a target of our kind becomes available
+        TargetDispatchManager dispatcher = customer.getTavern().getTargetDispatcher();
+        if (dispatcher.isQueued(customer, getTargetKind())) {
+            return false;
         }
         
-        return true;
+        // Ask for a target, the answer arrives in ASSIGNED_TARGET after the next dispatch pass
+        dispatcher.request(customer, getTargetKind());
+        return false;
     }
     
     @Override
     protected void start(ServerLevel level, CustomerEntity customer, long gameTime) {
-        BlockPos customerPos = customer.blockPosition();
-        TavernContext tavern = Tavern.get(level);
-        
-        Optional<BlockPos> target = findTarget(tavern, customerPos, MAX_DISTANCE);
-        
-        if (target.isPresent()) {
-            targetPosition = target.get();
-            
-            // Try to reserve target (for chairs/beds that need reservation)
-            if (tryReserveTarget(tavern, targetPosition, customer)) {
-                setupWalkTarget(customer, targetPosition, customerPos);
-            } else {
-                LOGGER.warn("Customer {} failed to reserve {} at {} (race condition?)",
-                    customer.getId(), getTargetName(), targetPosition);
-                targetPosition = null;
-            }
-        } else {
-            LOGGER.debug("Customer {} ({}) couldn't find any {} within {} blocks, will keep looking", 
-                customer.getId(), customer.getLifecycleType(), getTargetName(), MAX_DISTANCE);
-        }
+        // Assignment is already reserved by the dispatcher (for chairs/beds)
+        getAssignment(customer).ifPresent(assignment ->
+            setupWalkTarget(customer, assignment.pos(),
+                getApproachPosition(customer, assignment.pos(), gameTime), customer.blockPosition()));
     }
     
-    private void setupWalkTarget(CustomerEntity customer, BlockPos target, BlockPos customerPos) {
+    private void setupWalkTarget(CustomerEntity customer, BlockPos target, BlockPos approach, BlockPos customerPos) {
         // Set walk target
         customer.getBrain().setMemory(
             MemoryModuleType.WALK_TARGET,
-            new WalkTarget(target, speedModifier, getReachedDistance())
+            new WalkTarget(approach, speedModifier, getReachedDistance())
         );
         
         // Set look target
@@ -158,13 +179,36 @@ public abstract class MoveToTargetBehavior extends Behavior<CustomerEntity> {
             new BlockPosTracker(target)
         );
         
-        LOGGER.info("Customer {} ({}) walking to {} at {} (distance: {})", 
-            customer.getId(),
-            customer.getLifecycleType(),
-            getTargetName(),
-            target,
-            Math.sqrt(target.distSqr(customerPos))
-        );
+        customer.trace(EventType.WALKING_TO, target, customer.getCustomerState().ordinal(),
+            (int) Math.sqrt(approach.distSqr(customerPos)));
+    }
+    
+    @Override
+    protected void tick(ServerLevel level, CustomerEntity customer, long gameTime) {
+        BlockPos targetPosition = getTargetPosition(customer);
+        if (targetPosition != null && !renewTarget(customer.getTavern(), targetPosition, customer)) {
+            // Lost the reservation: stop walking, and don't release what is no longer ours
+            customer.getBrain().eraseMemory(TavernKeeperMod.ASSIGNED_TARGET.get());
+            customer.getBrain().eraseMemory(MemoryModuleType.WALK_TARGET);
+            return;
+        }
+        
+        // Path deferred by the tavern's budget: MoveToTargetSink dropped WALK_TARGET, put it back
+        if (targetPosition != null && !customer.getBrain().hasMemoryValue(MemoryModuleType.WALK_TARGET)
+                && getPendingPathSince(customer, gameTime) >= 0) {
+            resumeDeferredWalk(customer, targetPosition, gameTime);
+            return;
+        }
+        
+        // Approach position moved (e.g. the queue advanced): follow it
+        if (targetPosition != null) {
+            BlockPos approach = getApproachPosition(customer, targetPosition, gameTime);
+            customer.getBrain().getMemory(MemoryModuleType.WALK_TARGET)
+                .filter(walkTarget -> !walkTarget.getTarget().currentBlockPosition().equals(approach))
+                .ifPresent(walkTarget -> customer.getBrain().setMemory(
+                    MemoryModuleType.WALK_TARGET,
+                    new WalkTarget(approach, speedModifier, getReachedDistance())));
+        }
     }
     
     @Override
@@ -175,39 +219,116 @@ public abstract class MoveToTargetBehavior extends Behavior<CustomerEntity> {
         }
         
         // Stop if we reached the target
-        if (targetPosition != null) {
-            double distSq = customer.blockPosition().distSqr(targetPosition);
-            if (distSq <= getReachedDistance() * getReachedDistance()) {
-                return false;
-            }
+        BlockPos targetPosition = getTargetPosition(customer);
+        if (targetPosition != null && hasReached(customer, targetPosition, gameTime)) {
+            return false;
+        }
+        
+        // Stop if pathfinding has been failing for a while
+        if (isStuck(customer, gameTime)) {
+            return false;
         }
         
-        // Continue if we have a walk target
-        return customer.getBrain().hasMemoryValue(MemoryModuleType.WALK_TARGET);
+        // Continue if we have a walk target, or are waiting for the path budget
+        return customer.getBrain().hasMemoryValue(MemoryModuleType.WALK_TARGET)
+            || getPendingPathSince(customer, gameTime) >= 0;
     }
     
     @Override
     protected void stop(ServerLevel level, CustomerEntity customer, long gameTime) {
-        TavernContext tavern = Tavern.get(level);
+        TavernContext tavern = customer.getTavern();
         
         // Check if we reached the target
+        BlockPos targetPosition = getTargetPosition(customer);
         if (targetPosition != null) {
-            double distSq = customer.blockPosition().distSqr(targetPosition);
-            if (distSq <= getReachedDistance() * getReachedDistance()) {
-                LOGGER.info("Customer {} reached {} at {}", 
-                    customer.getId(), getTargetName(), targetPosition);
+            if (hasReached(customer, targetPosition, gameTime)) {
+                customer.trace(EventType.TARGET_REACHED, targetPosition, customer.getCustomerState().ordinal(), 0);
                 onTargetReached(level, customer, targetPosition);
             } else {
                 // Didn't reach target, release if needed
                 LOGGER.debug("Customer {} didn't reach {} at {}",
                     customer.getId(), getTargetName(), targetPosition);
                 releaseTarget(tavern, targetPosition);
+                onWalkAbandoned(customer);
+                
+                // Pathfinding kept failing: remember it so the next search picks another target
+                if (isStuck(customer, gameTime)) {
+                    tavern.getUnreachableTargets().markUnreachable(customer.blockPosition(), targetPosition, gameTime);
+                    customer.trace(EventType.TARGET_UNREACHABLE, targetPosition, customer.getCustomerState().ordinal(), 0);
+                    customer.getBrain().eraseMemory(MemoryModuleType.CANT_REACH_WALK_TARGET_SINCE);
+                    customer.getBrain().eraseMemory(MemoryModuleType.WALK_TARGET);
+                }
             }
         }
         
-        // Clear look target when stopping
+        // Clear look target and assignment when stopping
         customer.getBrain().eraseMemory(MemoryModuleType.LOOK_TARGET);
-        targetPosition = null;
+        customer.getBrain().eraseMemory(TavernKeeperMod.ASSIGNED_TARGET.get());
+    }
+    
+    /**
+     * Get the dispatcher's assignment for this behavior's kind of target
+     */
+    private Optional<Assignment> getAssignment(CustomerEntity customer) {
+        return customer.getBrain().getMemory(TavernKeeperMod.ASSIGNED_TARGET.get())
+            .filter(assignment -> assignment.kind() == getTargetKind());
+    }
+    
+    /**
+     * Target being walked to (the assignment is kept until the behavior stops)
+     */
+    private BlockPos getTargetPosition(CustomerEntity customer) {
+        return getAssignment(customer).map(Assignment::pos).orElse(null);
+    }
+    
+    /**
+     * Within reach of where we walk to for this target
+     */
+    private boolean hasReached(CustomerEntity customer, BlockPos target, long gameTime) {
+        BlockPos approach = getApproachPosition(customer, target, gameTime);
+        return customer.blockPosition().distSqr(approach) <= getReachedDistance() * getReachedDistance();
+    }
+    
+    /**
+     * State changed before we could use the assignment (e.g. panic): give it back
+     * Called by CustomerStateDispatch when the customer leaves this behavior's state
+     */
+    void releaseStaleAssignment(CustomerEntity customer) {
+        getAssignment(customer).ifPresent(assignment -> {
+            releaseTarget(customer.getTavern(), assignment.pos());
+            onWalkAbandoned(customer);
+            customer.getBrain().eraseMemory(TavernKeeperMod.ASSIGNED_TARGET.get());
+        });
+    }
+    
+    /**
+     * Set WALK_TARGET again after a deferred path request; the "can't reach" mark the sink
+     * left for the missing path is dropped, a deferral says nothing about reachability
+     */
+    private void resumeDeferredWalk(CustomerEntity customer, BlockPos target, long gameTime) {
+        long pendingSince = getPendingPathSince(customer, gameTime);
+        customer.getBrain().getMemory(MemoryModuleType.CANT_REACH_WALK_TARGET_SINCE)
+            .filter(since -> since >= pendingSince)
+            .ifPresent(since -> customer.getBrain().eraseMemory(MemoryModuleType.CANT_REACH_WALK_TARGET_SINCE));
+        customer.getBrain().setMemory(
+            MemoryModuleType.WALK_TARGET,
+            new WalkTarget(getApproachPosition(customer, target, gameTime), speedModifier, getReachedDistance()));
+    }
+    
+    /**
+     * Tick the customer started waiting for the path budget, or -1 if no path request is pending
+     */
+    private static long getPendingPathSince(CustomerEntity customer, long gameTime) {
+        return customer.getNavigation() instanceof CustomerPathNavigation navigation
+            ? navigation.getPendingSince(gameTime) : -1;
+    }
+    
+    /**
+     * Check if pathfinding has been failing for longer than the grace period
+     * (short failures are normal, e.g. while waiting for the tavern's path budget)
+     */
+    private static boolean isStuck(CustomerEntity customer, long gameTime) {
+        Optional<Long> cantReachSince = customer.getBrain().getMemory(MemoryModuleType.CANT_REACH_WALK_TARGET_SINCE);
+        return cantReachSince.isPresent() && gameTime - cantReachSince.get() > UNREACHABLE_GRACE_TICKS;
     }
 }
-
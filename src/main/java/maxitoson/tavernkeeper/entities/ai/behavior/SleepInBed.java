@@ -4,24 +4,23 @@ import com.google.common.collect.ImmutableMap;
 import com.mojang.logging.LogUtils;
 import maxitoson.tavernkeeper.entities.CustomerEntity;
 import maxitoson.tavernkeeper.entities.ai.CustomerState;
-import maxitoson.tavernkeeper.tavern.Tavern;
 import maxitoson.tavernkeeper.tavern.TavernContext;
+import maxitoson.tavernkeeper.tavern.managers.system.CustomerTimerManager.TimerType;
+import maxitoson.tavernkeeper.tavern.managers.system.CustomerTraceManager.EventType;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.world.entity.ai.behavior.Behavior;
 import org.slf4j.Logger;
 
 /**
  * Behavior for customer lying in bed and sleeping
  * Similar to EatAtChair but sleeps until morning
  */
-public class SleepInBed extends Behavior<CustomerEntity> {
+public class SleepInBed extends CustomerBehavior {
     private static final Logger LOGGER = LogUtils.getLogger();
     private static final long MORNING_START = 0; // Daytime starts at tick 0
     private static final long MORNING_END = 4000;
     private static final long MIN_SLEEP_DURATION = 6; // Sleep for at least 5 minutes //TODO: Revert to 6000!!
-    
-    private long sleepStartTime = 0;
+    private static final long DAWN_CHECK_INTERVAL = 200; // Longest wait between dawn checks (players can skip the night)
     
     public SleepInBed() {
         // No memory requirements, run indefinitely
@@ -41,20 +40,43 @@ public class SleepInBed extends Behavior<CustomerEntity> {
             return false;
         }
         
-        // Must sleep for minimum duration first (prevents immediate wake-up if arrived in morning)
-        if (gameTime - this.sleepStartTime < MIN_SLEEP_DURATION) {
-            return true; // Keep sleeping
+        // Keep sleeping until the wake-up timer expires (minimum duration first, then dawn)
+        if (!customer.hasTimerFired(TimerType.WAKE_UP)) {
+            return true;
+        }
+        
+        // Timer expired, check if it's morning (time to wake up)
+        if (isMorning(level)) {
+            return false;
         }
         
-        // After minimum duration, check if it's morning (time to wake up)
+        // Not yet (night skipped by a player, time changed...), check again later
+        customer.scheduleTimer(TimerType.WAKE_UP, ticksUntilDawnCheck(level));
+        return true;
+    }
+    
+    private static boolean isMorning(ServerLevel level) {
         long dayTime = level.getDayTime() % 24000; // Get time of day (0-24000)
-        return !(dayTime >= MORNING_START && dayTime < MORNING_END);
+        return dayTime >= MORNING_START && dayTime < MORNING_END;
+    }
+    
+    /**
+     * Ticks until the next dawn check: morning itself if it is close, otherwise a capped
+     * wait so that players sleeping through the night (which jumps the day time) are noticed
+     */
+    private static long ticksUntilDawnCheck(ServerLevel level) {
+        if (isMorning(level)) {
+            return 1;
+        }
+        long dayTime = level.getDayTime() % 24000;
+        long untilMorning = Math.floorMod(MORNING_START - dayTime, 24000L);
+        return Math.max(1, Math.min(untilMorning, DAWN_CHECK_INTERVAL));
     }
     
     @Override
     protected void start(ServerLevel level, CustomerEntity customer, long gameTime) {
         BlockPos bedPos = customer.getTargetPosition();
-        TavernContext tavern = Tavern.get(level);
+        TavernContext tavern = customer.getTavern();
         
         if (bedPos == null) {
             LOGGER.warn("Customer {} in SLEEPING state but no target bed position!", customer.getId());
@@ -72,7 +94,8 @@ public class SleepInBed extends Behavior<CustomerEntity> {
             return;
         }
         
-        if (!tavern.isBedReservedBy(bedPos, customer.getUUID())) {
+        // Renewing also takes the bed back if our lease ran out and nobody grabbed it
+        if (!tavern.renewBed(bedPos, customer.getUUID())) {
             LOGGER.warn("Customer {} bed at {} is no longer reserved by them (taken by another customer?), transitioning to FINDING_BED", 
                 customer.getId(), bedPos);
             customer.setTargetPosition(null);
@@ -80,15 +103,14 @@ public class SleepInBed extends Behavior<CustomerEntity> {
             return;
         }
         
-        // Track when sleep started
-        this.sleepStartTime = gameTime;
+        // Must sleep for minimum duration first (prevents immediate wake-up if arrived in morning)
+        customer.scheduleTimer(TimerType.WAKE_UP, Math.max(MIN_SLEEP_DURATION, ticksUntilDawnCheck(level)));
         
         // Use vanilla sleeping (sets pose, initial position, sleeping state)
         // Similar to Villager.startSleeping() (Villager.java line 939-944)
         customer.startSleeping(bedPos);
         
-        LOGGER.info("Customer {} started sleeping at bed {} until morning", 
-            customer.getId(), bedPos);
+        customer.trace(EventType.SLEEP_START, bedPos, 0, 0);
     }
     
     @Override
@@ -99,6 +121,9 @@ public class SleepInBed extends Behavior<CustomerEntity> {
             return;
         }
         
+        // Keep our bed lease alive for the whole night
+        customer.getTavern().renewBed(bedPos, customer.getUUID());
+        
         // Verify customer is still sleeping
         if (!customer.isSleeping()) {
             LOGGER.warn("Customer {} lost sleeping state during SleepInBed behavior", customer.getId());
@@ -121,7 +146,7 @@ public class SleepInBed extends Behavior<CustomerEntity> {
     @Override
     protected void stop(ServerLevel level, CustomerEntity customer, long gameTime) {
         BlockPos bedPos = customer.getTargetPosition();
-        TavernContext tavern = Tavern.get(level);
+        TavernContext tavern = customer.getTavern();
         
         // Check if bed still exists
         boolean bedExists = bedPos != null && tavern.hasBedAt(bedPos);
@@ -129,20 +154,19 @@ public class SleepInBed extends Behavior<CustomerEntity> {
         // Release the bed reservation
         if (bedExists) {
             tavern.releaseBed(bedPos);
-            LOGGER.info("Customer {} finished sleeping, released bed at {}", 
-                customer.getId(), bedPos);
         }
         
         // Wake up customer (similar to Villager.stopSleeping() line 946-949)
         customer.stopSleeping();
         
         // Check if it's morning (normal wake up)
-        long dayTime = level.getDayTime() % 24000;
-        if (dayTime >= MORNING_START && dayTime < MORNING_END) {
+        boolean morning = isMorning(level);
+        customer.cancelTimer(TimerType.WAKE_UP);
+        customer.trace(EventType.SLEEP_END, bedPos, morning ? 1 : 0, 0);
+        if (morning) {
             // Woke up naturally in the morning, use lifecycle to determine next state
             if (customer.getLifecycle() != null) {
                 customer.transitionToNextState(level);
-                LOGGER.info("Customer {} woke up in the morning, transitioning via lifecycle", customer.getId());
             } else {
                 // Fallback if no lifecycle
                 customer.setCustomerState(CustomerState.LEAVING);
@@ -153,7 +177,7 @@ public class SleepInBed extends Behavior<CustomerEntity> {
             if (!bedExists) {
                 // Bed was destroyed, go find another one
                 customer.setCustomerState(CustomerState.FINDING_BED);
-                LOGGER.info("Customer {} bed was destroyed, searching for another bed", customer.getId());
+                LOGGER.debug("Customer {} bed was destroyed, searching for another bed", customer.getId());
             } else {
                 // Other interruption (panic, damage), stay in that state
                 LOGGER.debug("Customer {} sleeping interrupted", customer.getId());
@@ -163,7 +187,6 @@ public class SleepInBed extends Behavior<CustomerEntity> {
         // Clear target and request
         customer.setTargetPosition(null);
         customer.setRequest(null);
-        this.sleepStartTime = 0;
     }
 }
 
@@ -4,19 +4,22 @@ import com.google.common.collect.ImmutableMap;
 import com.mojang.logging.LogUtils;
 import maxitoson.tavernkeeper.entities.CustomerEntity;
 import maxitoson.tavernkeeper.tavern.economy.FoodRequest;
-import maxitoson.tavernkeeper.tavern.Tavern;
 import maxitoson.tavernkeeper.tavern.TavernContext;
+import maxitoson.tavernkeeper.tavern.managers.system.CustomerTraceManager.EventType;
 import maxitoson.tavernkeeper.entities.ai.CustomerState;
+import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.EquipmentSlot;
-import net.minecraft.world.entity.ai.behavior.Behavior;
+import net.minecraft.world.entity.ai.memory.MemoryModuleType;
+import net.minecraft.world.entity.ai.memory.WalkTarget;
 import net.minecraft.world.item.ItemStack;
 import org.slf4j.Logger;
 
 /**
  * Behavior for customer waiting at lectern for service
+ * Waits in the lectern's queue and steps forward as customers ahead are served
  */
-public class WaitAtLectern extends Behavior<CustomerEntity> {
+public class WaitAtLectern extends CustomerBehavior {
     private static final Logger LOGGER = LogUtils.getLogger();
     
     public WaitAtLectern() {
@@ -39,7 +42,7 @@ public class WaitAtLectern extends Behavior<CustomerEntity> {
     @Override
     protected void start(ServerLevel level, CustomerEntity customer, long gameTime) {
         // Get food request from tavern -> economy manager
-        TavernContext tavern = Tavern.get(level);
+        TavernContext tavern = customer.getTavern();
         FoodRequest request = tavern.createFoodRequest();
         customer.setRequest(request);
         
@@ -48,17 +51,38 @@ public class WaitAtLectern extends Behavior<CustomerEntity> {
         customer.setItemSlot(EquipmentSlot.HEAD, 
             new ItemStack(request.getRequestedItem(), request.getRequestedAmount()));
         
-        LOGGER.info("Customer {} waiting at lectern for {} (holding {}, showing {} above head)", 
-            customer.getId(), request.getDisplayName(), 
-            request.getPrice().getDisplayName(), request.getDisplayName());
+        customer.trace(EventType.WAITING, customer.getTargetPosition(),
+            customer.getCustomerState().ordinal(), request.getPrice().getCopperValue());
+    }
+    
+    @Override
+    protected void tick(ServerLevel level, CustomerEntity customer, long gameTime) {
+        followQueue(customer);
     }
     
     @Override
     protected void stop(ServerLevel level, CustomerEntity customer, long gameTime) {
+        // Served customers already left the queue (counted as served), this covers everyone else
+        customer.getTavern().getServiceQueues().leave(customer, gameTime, false);
+        
         // Remove items
         customer.setItemSlot(EquipmentSlot.MAINHAND, ItemStack.EMPTY);
         customer.setItemSlot(EquipmentSlot.HEAD, ItemStack.EMPTY);
         LOGGER.debug("Customer {} stopped waiting at lectern", customer.getId());
     }
+    
+    /**
+     * Walk to the customer's current queue slot when the queue has moved up
+     * Shared with WaitAtReceptionDesk
+     */
+    static void followQueue(CustomerEntity customer) {
+        BlockPos slot = customer.getTavern().getServiceQueues().getSlotPosition(customer);
+        if (slot == null || customer.getBrain().hasMemoryValue(MemoryModuleType.WALK_TARGET)) {
+            return;
+        }
+        if (customer.blockPosition().distManhattan(slot) > 1) {
+            customer.getBrain().setMemory(MemoryModuleType.WALK_TARGET,
+                new WalkTarget(slot, CustomerEntity.SPEED_MODIFIER, 0));
+        }
+    }
 }
-
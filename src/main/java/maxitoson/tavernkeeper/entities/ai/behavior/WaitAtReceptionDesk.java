@@ -4,20 +4,19 @@ import com.google.common.collect.ImmutableMap;
 import com.mojang.logging.LogUtils;
 import maxitoson.tavernkeeper.entities.CustomerEntity;
 import maxitoson.tavernkeeper.tavern.economy.SleepingRequest;
-import maxitoson.tavernkeeper.tavern.Tavern;
 import maxitoson.tavernkeeper.tavern.TavernContext;
+import maxitoson.tavernkeeper.tavern.managers.system.CustomerTraceManager.EventType;
 import maxitoson.tavernkeeper.entities.ai.CustomerState;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.EquipmentSlot;
-import net.minecraft.world.entity.ai.behavior.Behavior;
 import net.minecraft.world.item.ItemStack;
 import org.slf4j.Logger;
 
 /**
  * Behavior for customer waiting at reception desk to pay for sleeping
- * Similar to WaitAtLectern but for sleeping requests
+ * Similar to WaitAtLectern but for sleeping requests (including the queue)
  */
-public class WaitAtReceptionDesk extends Behavior<CustomerEntity> {
+public class WaitAtReceptionDesk extends CustomerBehavior {
     private static final Logger LOGGER = LogUtils.getLogger();
     
     public WaitAtReceptionDesk() {
@@ -40,7 +39,7 @@ public class WaitAtReceptionDesk extends Behavior<CustomerEntity> {
     @Override
     protected void start(ServerLevel level, CustomerEntity customer, long gameTime) {
         // Get sleeping request from tavern -> economy manager
-        TavernContext tavern = Tavern.get(level);
+        TavernContext tavern = customer.getTavern();
         SleepingRequest request = tavern.createSleepingRequest();
         
         // Defensive check: sleeping requests only available from level 2+
@@ -57,12 +56,20 @@ public class WaitAtReceptionDesk extends Behavior<CustomerEntity> {
         // Hold money in hand (no item on head)
         customer.setItemSlot(EquipmentSlot.MAINHAND, request.getPrice().toHighestTierStack());
         
-        LOGGER.info("Customer {} waiting at reception desk for sleeping (holding {})", 
-            customer.getId(), request.getPrice().getDisplayName());
+        customer.trace(EventType.WAITING, customer.getTargetPosition(),
+            customer.getCustomerState().ordinal(), request.getPrice().getCopperValue());
+    }
+    
+    @Override
+    protected void tick(ServerLevel level, CustomerEntity customer, long gameTime) {
+        WaitAtLectern.followQueue(customer);
     }
     
     @Override
     protected void stop(ServerLevel level, CustomerEntity customer, long gameTime) {
+        // Served customers already left the queue (counted as served), this covers everyone else
+        customer.getTavern().getServiceQueues().leave(customer, gameTime, false);
+        
         // Remove items
         customer.setItemSlot(EquipmentSlot.MAINHAND, ItemStack.EMPTY);
         LOGGER.debug("Customer {} stopped waiting at reception desk", customer.getId());
@@ -0,0 +1,28 @@
+package maxitoson.tavernkeeper.entities.ai.goal;
+
+import maxitoson.tavernkeeper.entities.CustomerEntity;
+import maxitoson.tavernkeeper.tavern.managers.system.ThreatManager;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.ai.goal.target.NearestAttackableTargetGoal;
+
+/**
+ * Makes a hostile mob (skeletons, zombies, illagers...) target customers, but only while it is near the tavern
+ *
+ * Only attached to mobs found by the tavern's threat scan, so mobs elsewhere never
+ * pay for a customer search. Mobs that wander off keep the goal, but it stays
+ * inactive until they come back into the watched bounds.
+ */
+public class TavernCustomerTargetGoal extends NearestAttackableTargetGoal<CustomerEntity> {
+    private final ThreatManager threatManager;
+
+    public TavernCustomerTargetGoal(Mob mob, ThreatManager threatManager) {
+        super(mob, CustomerEntity.class, true);
+        this.threatManager = threatManager;
+    }
+
+    @Override
+    public boolean canUse() {
+        // Cheap bounds check first - skips the entity search entirely away from the tavern
+        return threatManager.isWatched(this.mob.position()) && super.canUse();
+    }
+}
@@ -0,0 +1,85 @@
+package maxitoson.tavernkeeper.entities.ai.navigation;
+
+import maxitoson.tavernkeeper.entities.CustomerEntity;
+import maxitoson.tavernkeeper.tavern.TavernContext;
+import maxitoson.tavernkeeper.tavern.managers.system.PathCacheManager;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.ai.navigation.GroundPathNavigation;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.pathfinder.Path;
+
+/**
+ * Ground navigation for customers that shares computed paths through the tavern
+ *
+ * MoveToTargetSink asks the navigation for a path every time a WALK_TARGET is set.
+ * Customers mostly walk the same routes (spawn -> lectern -> chair -> ...), so we
+ * check the tavern's PathCacheManager first and only run A* on a miss.
+ * New computations are rate-limited by the tavern's PathRequestManager, so a rush
+ * of customers spreads its pathfinding over a few ticks instead of one.
+ *
+ * A denied request still returns no path, and MoveToTargetSink then drops WALK_TARGET.
+ * The navigation remembers the denial (isPathPending) so MoveToTargetBehavior keeps
+ * the walk and its reservation, and puts WALK_TARGET back for the sink to ask again.
+ */
+public class CustomerPathNavigation extends GroundPathNavigation {
+    private final CustomerEntity customer;
+    private long deniedSince = -1;  // First denied tick of the current wait, -1 = not waiting
+    private long lastDenied = -1;   // Last denied tick (a wait ends when requests stop)
+
+    public CustomerPathNavigation(CustomerEntity customer, Level level) {
+        super(customer, level);
+        this.customer = customer;
+    }
+
+    @Override
+    public Path createPath(BlockPos pos, int accuracy) {
+        TavernContext tavern = getServerTavern();
+        if (tavern == null) {
+            return super.createPath(pos, accuracy);
+        }
+        PathCacheManager cache = tavern.getPathCache();
+
+        BlockPos origin = customer.blockPosition();
+        long gameTime = level.getGameTime();
+
+        Path cached = cache.lookup(origin, pos, accuracy, gameTime);
+        if (cached != null) {
+            // Same bookkeeping as a computed path, so recomputePath() aims at the right target
+            this.targetPos = cached.getTarget();
+            this.reachRange = accuracy;
+            deniedSince = -1;
+            return cached;
+        }
+
+        // Over this tick's budget: no path yet, the walk is kept pending (see isPathPending)
+        if (!tavern.getPathRequests().tryAcquire(customer.getId(), gameTime)) {
+            if (!isPathPending(gameTime)) deniedSince = gameTime;
+            lastDenied = gameTime;
+            return null;
+        }
+
+        deniedSince = -1;
+        Path path = super.createPath(pos, accuracy);
+        cache.store(origin, pos, accuracy, path, gameTime);
+        return path;
+    }
+
+    /**
+     * Whether the last path request was denied by the budget and is still being retried
+     * (denied this tick or the previous one); the walk should be kept, not abandoned
+     */
+    public boolean isPathPending(long gameTime) {
+        return deniedSince >= 0 && lastDenied >= gameTime - 1;
+    }
+
+    /**
+     * Tick the current wait for a path started, or -1 if no path is pending
+     */
+    public long getPendingSince(long gameTime) {
+        return isPathPending(gameTime) ? deniedSince : -1;
+    }
+
+    private TavernContext getServerTavern() {
+        return level.isClientSide ? null : customer.getTavern();
+    }
+}
@@ -0,0 +1,53 @@
+package maxitoson.tavernkeeper.entities.ai.sensing;
+
+import com.google.common.collect.ImmutableSet;
+import maxitoson.tavernkeeper.entities.CustomerEntity;
+import maxitoson.tavernkeeper.tavern.TavernContext;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.ai.Brain;
+import net.minecraft.world.entity.ai.memory.MemoryModuleType;
+import net.minecraft.world.entity.ai.sensing.Sensor;
+
+import java.util.Set;
+
+/**
+ * Lightweight hostile sensor for customers
+ * Replaces NEAREST_LIVING_ENTITIES + VILLAGER_HOSTILES: instead of running its own
+ * entity query, it reads the tavern's shared threat scan (ThreatManager) and picks
+ * the nearest visible hostile within range.
+ *
+ * Populates NEAREST_HOSTILE (read by CustomerPanicTrigger and CustomerCalmDown)
+ */
+public class TavernThreatSensor extends Sensor<CustomerEntity> {
+    private static final double HOSTILE_RANGE = 8.0; // Same order as VillagerHostilesSensor distances
+    private static final double HOSTILE_RANGE_SQR = HOSTILE_RANGE * HOSTILE_RANGE;
+
+    @Override
+    public Set<MemoryModuleType<?>> requires() {
+        return ImmutableSet.of(MemoryModuleType.NEAREST_HOSTILE);
+    }
+
+    @Override
+    protected void doTick(ServerLevel level, CustomerEntity customer) {
+        TavernContext tavern = customer.getTavern();
+        Brain<CustomerEntity> brain = customer.getBrain();
+
+        Mob nearest = null;
+        double nearestDistSqr = HOSTILE_RANGE_SQR;
+        for (Mob threat : tavern.getNearbyThreats()) {
+            if (!threat.isAlive() || threat.level() != level) continue;
+            double distSqr = threat.distanceToSqr(customer);
+            if (distSqr <= nearestDistSqr && customer.getSensing().hasLineOfSight(threat)) {
+                nearest = threat;
+                nearestDistSqr = distSqr;
+            }
+        }
+
+        if (nearest != null) {
+            brain.setMemory(MemoryModuleType.NEAREST_HOSTILE, nearest);
+        } else {
+            brain.eraseMemory(MemoryModuleType.NEAREST_HOSTILE);
+        }
+    }
+}
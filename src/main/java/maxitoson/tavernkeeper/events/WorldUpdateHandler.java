@@ -9,18 +9,16 @@ import maxitoson.tavernkeeper.tavern.utils.SignHelper;
 import net.minecraft.network.chat.Component;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
-import net.neoforged.neoforge.event.entity.EntityJoinLevelEvent;
 import net.neoforged.neoforge.event.entity.living.LivingDeathEvent;
 import net.neoforged.neoforge.event.level.BlockEvent;
 import org.slf4j.Logger;
 
 /**
- * Handles world state changes: block placement, block breaking, entity spawning, entity death.
+ * Handles world state changes: block placement, block breaking, entity death.
  * 
  * Responsibilities:
  * - Update furniture when blocks are placed/broken in tavern areas
  * - Clear tavern sign references when sign is broken/replaced
- * - Configure mob AI when entities spawn (e.g., skeletons targeting customers)
  * - Handle customer death (decrease reputation)
  */
 @EventBusSubscriber(modid = TavernKeeperMod.MODID)
@@ -45,6 +43,9 @@ public class WorldUpdateHandler {
             
             // Notify all spaces at this position about the block update
             tavern.getSpacesAt(pos).forEach(space -> space.onBlockUpdated(pos, event.getState()));
+            
+            // Feed the change to tavern-wide systems (e.g. cached customer paths)
+            tavern.onBlockChanged(pos);
         }
     }
     
@@ -66,22 +67,9 @@ public class WorldUpdateHandler {
             
             // Pass the OLD state to handle multi-block removal correctly
             tavern.getSpacesAt(pos).forEach(space -> space.onBlockBroken(pos, event.getState()));
-        }
-    }
-    
-    /**
-     * Configure entity AI when entities join the world.
-     * Makes skeletons target customers (zombies already target AbstractVillager naturally).
-     */
-    @SubscribeEvent
-    public static void onEntityJoinLevel(EntityJoinLevelEvent event) {
-        if (event.getEntity() instanceof net.minecraft.world.entity.monster.AbstractSkeleton skeleton && !event.getLevel().isClientSide()) {
-            // Add a goal to target customers (priority 3, same as zombie's villager targeting)
-            skeleton.targetSelector.addGoal(3, new net.minecraft.world.entity.ai.goal.target.NearestAttackableTargetGoal<>(
-                skeleton, 
-                CustomerEntity.class, 
-                true
-            ));
+            
+            // Feed the change to tavern-wide systems (e.g. cached customer paths)
+            tavern.onBlockChanged(pos);
         }
     }
     
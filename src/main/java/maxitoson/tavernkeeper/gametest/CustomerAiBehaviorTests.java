@@ -21,7 +21,7 @@ import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
 /**
  * Behavioral AI tests — customers physically navigate to furniture and transition states.
  *
- * FURNITURE LIMITS (level 1): MAX_LECTERNS=1, MAX_RECEPTION_DESKS=1, maxBeds=0, maxTables=2, maxChairs=8.
+ * FURNITURE LIMITS (TavernUpgrade.LEVEL_1): 1 lectern, 1 reception desk, 0 beds, 2 tables, 8 chairs.
  * All tests share one Tavern per ServerLevel and run concurrently — each furniture type must be
  * registered by EXACTLY ONE test:
  *   - customerMovesToLecternAndWaits  → owns the 1 lectern
@@ -42,7 +42,7 @@ public class CustomerAiBehaviorTests {
 
     /**
      * Customer navigates to a lectern and transitions to WAITING_SERVICE.
-     * Owns: the 1 allowed lectern (MAX_LECTERNS = 1 at level 1).
+     * Owns: the 1 allowed lectern (TavernUpgrade.LEVEL_1.getMaxLecterns() = 1).
      */
     @GameTest(template = FLAT_PLATFORM, timeoutTicks = 200)
     public static void customerMovesToLecternAndWaits(GameTestHelper helper) {
@@ -103,7 +103,7 @@ public class CustomerAiBehaviorTests {
     /**
      * Customer navigates to a reception desk and leaves FINDING_RECEPTION.
      * At level 1, WaitAtReceptionDesk auto-transitions to FINDING_BED (maxBeds=0, no sleeping request created).
-     * Owns: the 1 allowed reception desk (MAX_RECEPTION_DESKS = 1 at level 1).
+     * Owns: the 1 allowed reception desk (TavernUpgrade.LEVEL_1.getMaxReceptionDesks() = 1).
      */
     @GameTest(template = FLAT_PLATFORM, timeoutTicks = 200)
     public static void customerMovesToReceptionDesk(GameTestHelper helper) {
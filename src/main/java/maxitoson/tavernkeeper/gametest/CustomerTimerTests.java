@@ -0,0 +1,92 @@
+package maxitoson.tavernkeeper.gametest;
+
+import maxitoson.tavernkeeper.TavernKeeperMod;
+import maxitoson.tavernkeeper.entities.CustomerEntity;
+import maxitoson.tavernkeeper.tavern.managers.system.CustomerTimerManager;
+import maxitoson.tavernkeeper.tavern.managers.system.CustomerTimerManager.TimerType;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.entity.EntityType;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+/**
+ * Timing wheel tests — a private CustomerTimerManager is driven with explicit game times,
+ * so the tests don't depend on (or disturb) the tavern's own timers.
+ * Customers are spawned without AI: only the timer callbacks touch them.
+ */
+@GameTestHolder(TavernKeeperMod.MODID)
+@PrefixGameTestTemplate(false)
+public class CustomerTimerTests {
+
+    private static final String FLAT_PLATFORM = "gametest/flat_7x5x7";
+    private static final long START = 1000;
+
+    @SuppressWarnings("unchecked")
+    private static CustomerEntity spawnIdleCustomer(GameTestHelper helper) {
+        CustomerEntity customer = helper.spawn(
+                (EntityType<CustomerEntity>) (EntityType<?>) TavernKeeperMod.CUSTOMER.get(), new BlockPos(3, 2, 3));
+        customer.setNoAi(true);
+        return customer;
+    }
+
+    /** A short timer fires on its deadline tick, not one tick before */
+    @GameTest(template = FLAT_PLATFORM)
+    public static void timerFiresExactlyAtDeadline(GameTestHelper helper) {
+        CustomerEntity customer = spawnIdleCustomer(helper);
+        CustomerTimerManager timers = new CustomerTimerManager();
+        timers.schedule(customer, TimerType.EATING_DONE, START, 10);
+
+        timers.tick(START + 9);
+        helper.assertFalse(customer.hasTimerFired(TimerType.EATING_DONE), "Timer fired before its deadline");
+        timers.tick(START + 10);
+        helper.assertTrue(customer.hasTimerFired(TimerType.EATING_DONE), "Timer should fire at its deadline");
+        helper.assertTrue(timers.getActiveCount() == 0, "Fired timer should no longer be active");
+        helper.succeed();
+    }
+
+    /**
+     * Deadlines past level 0 (256 ticks) and level 1 (16384 ticks) are cascaded down
+     * and still fire on their exact tick
+     */
+    @GameTest(template = FLAT_PLATFORM)
+    public static void timerCrossingLevelBoundaryFiresOnTime(GameTestHelper helper) {
+        CustomerEntity customer = spawnIdleCustomer(helper);
+        CustomerTimerManager timers = new CustomerTimerManager();
+        timers.schedule(customer, TimerType.WAKE_UP, START, 300);
+        timers.schedule(customer, TimerType.LEAVE_TIMEOUT, START, 20000);
+
+        timers.tick(START + 299);
+        helper.assertFalse(customer.hasTimerFired(TimerType.WAKE_UP), "Level-1 timer fired early");
+        timers.tick(START + 300);
+        helper.assertTrue(customer.hasTimerFired(TimerType.WAKE_UP), "Level-1 timer should fire at its deadline");
+
+        timers.tick(START + 19999);
+        helper.assertFalse(customer.hasTimerFired(TimerType.LEAVE_TIMEOUT), "Level-2 timer fired early");
+        timers.tick(START + 20000);
+        helper.assertTrue(customer.hasTimerFired(TimerType.LEAVE_TIMEOUT), "Level-2 timer should fire at its deadline");
+        helper.assertTrue(timers.getFiredCount() == 2, "Expected 2 fired timers, got: " + timers.getFiredCount());
+        helper.succeed();
+    }
+
+    /** Cancelled timers never fire; rescheduling replaces the earlier deadline */
+    @GameTest(template = FLAT_PLATFORM)
+    public static void cancelledTimerNeverFires(GameTestHelper helper) {
+        CustomerEntity customer = spawnIdleCustomer(helper);
+        CustomerTimerManager timers = new CustomerTimerManager();
+        timers.schedule(customer, TimerType.EATING_DONE, START, 500);
+        timers.cancel(customer, TimerType.EATING_DONE);
+        timers.schedule(customer, TimerType.WAKE_UP, START, 5);
+        timers.schedule(customer, TimerType.WAKE_UP, START, 50);
+
+        timers.tick(START + 10);
+        helper.assertFalse(customer.hasTimerFired(TimerType.WAKE_UP), "Replaced timer fired at its old deadline");
+        timers.tick(START + 1000);
+        helper.assertFalse(customer.hasTimerFired(TimerType.EATING_DONE), "Cancelled timer fired");
+        helper.assertTrue(customer.hasTimerFired(TimerType.WAKE_UP), "Rescheduled timer should fire");
+        helper.assertTrue(timers.getFiredCount() == 1, "Expected 1 fired timer, got: " + timers.getFiredCount());
+        helper.assertTrue(timers.getActiveCount() == 0, "No timer should be left active");
+        helper.succeed();
+    }
+}
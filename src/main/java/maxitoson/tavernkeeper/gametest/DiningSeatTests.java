@@ -0,0 +1,95 @@
+package maxitoson.tavernkeeper.gametest;
+
+import maxitoson.tavernkeeper.TavernKeeperMod;
+import maxitoson.tavernkeeper.areas.AreaType;
+import maxitoson.tavernkeeper.areas.TavernArea;
+import maxitoson.tavernkeeper.tavern.furniture.types.DiningFurnitureType;
+import maxitoson.tavernkeeper.tavern.managers.domain.DiningManagerContext;
+import maxitoson.tavernkeeper.tavern.spaces.DiningSpace;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.StairBlock;
+import net.minecraft.world.level.block.state.properties.Half;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Seating graph tests — free-seat buckets of a table follow chair reservations.
+ *
+ * The dining space is built on a stub manager context that keeps its own reservations, not on
+ * the shared Tavern (whose furniture limits are owned by the behavior tests).
+ * Table at (3,1,3) with a chair on its north and south sides.
+ */
+@GameTestHolder(TavernKeeperMod.MODID)
+@PrefixGameTestTemplate(false)
+public class DiningSeatTests {
+
+    private static final String FLAT_PLATFORM = "gametest/flat_7x5x7";
+
+    private static final class StubDiningManager implements DiningManagerContext {
+        private final Set<BlockPos> reserved = new HashSet<>();
+
+        @Override
+        public boolean canAddFurniture(DiningFurnitureType type) {
+            return true;
+        }
+
+        @Override
+        public boolean hasChairReservation(BlockPos chairPos) {
+            return reserved.contains(chairPos);
+        }
+    }
+
+    /** Reserving a chair moves its table to a lower free-seat bucket, releasing moves it back */
+    @GameTest(template = FLAT_PLATFORM)
+    public static void freeSeatBucketsFollowReservations(GameTestHelper helper) {
+        helper.setBlock(new BlockPos(3, 1, 3), Blocks.OAK_STAIRS.defaultBlockState()
+                .setValue(StairBlock.HALF, Half.TOP)
+                .setValue(StairBlock.FACING, Direction.SOUTH));
+        // Stair chairs face away from their FACING (the backrest)
+        helper.setBlock(new BlockPos(3, 1, 2), Blocks.OAK_STAIRS.defaultBlockState()
+                .setValue(StairBlock.HALF, Half.BOTTOM)
+                .setValue(StairBlock.FACING, Direction.NORTH));
+        helper.setBlock(new BlockPos(3, 1, 4), Blocks.OAK_STAIRS.defaultBlockState()
+                .setValue(StairBlock.HALF, Half.BOTTOM)
+                .setValue(StairBlock.FACING, Direction.SOUTH));
+
+        StubDiningManager manager = new StubDiningManager();
+        TavernArea area = new TavernArea("seats", AreaType.DINING,
+                helper.absolutePos(new BlockPos(1, 1, 1)),
+                helper.absolutePos(new BlockPos(5, 3, 5)),
+                (ServerLevel) helper.getLevel());
+        DiningSpace space = new DiningSpace(manager, area);
+        space.scanForFurniture();
+
+        BlockPos table = helper.absolutePos(new BlockPos(3, 1, 3));
+        BlockPos northChair = helper.absolutePos(new BlockPos(3, 1, 2));
+        BlockPos from = helper.absolutePos(new BlockPos(1, 1, 1));
+        helper.assertTrue(space.getFreeSeats(table) == 2, "Table should have 2 free seats, got: " + space.getFreeSeats(table));
+        helper.assertTrue(table.equals(space.findNearestTableWithFreeSeats(from, 2)), "Table should seat a group of 2");
+
+        manager.reserved.add(northChair);
+        space.onChairReservationChanged(northChair, true);
+        helper.assertTrue(space.getFreeSeats(table) == 1, "Reserved chair should leave 1 free seat, got: " + space.getFreeSeats(table));
+        helper.assertTrue(space.findNearestTableWithFreeSeats(from, 2) == null, "Table should no longer seat a group of 2");
+        helper.assertTrue(table.equals(space.findNearestTableWithFreeSeats(from, 1)), "Table should still seat one customer");
+
+        manager.reserved.remove(northChair);
+        space.onChairReservationChanged(northChair, false);
+        helper.assertTrue(space.getFreeSeats(table) == 2, "Released chair should be free again, got: " + space.getFreeSeats(table));
+        helper.assertTrue(table.equals(space.findNearestTableWithFreeSeats(from, 2)), "Table should seat a group of 2 again");
+
+        // A full rescan counts the same reservations as the incremental updates
+        manager.reserved.add(northChair);
+        space.recountReservedSeats();
+        helper.assertTrue(space.getFreeSeats(table) == 1, "Recount should see the reserved chair");
+        helper.succeed();
+    }
+}
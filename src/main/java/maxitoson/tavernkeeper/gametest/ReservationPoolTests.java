@@ -0,0 +1,82 @@
+package maxitoson.tavernkeeper.gametest;
+
+import maxitoson.tavernkeeper.TavernKeeperMod;
+import maxitoson.tavernkeeper.tavern.utils.ReservationPool;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+import java.util.UUID;
+
+/**
+ * Reservation lease tests — pools are driven with explicit game times (no world state involved).
+ * Lease of 100 ticks; the wheel has 20-tick buckets, so a lease is swept once its bucket has passed.
+ */
+@GameTestHolder(TavernKeeperMod.MODID)
+@PrefixGameTestTemplate(false)
+public class ReservationPoolTests {
+
+    private static final String FLAT_PLATFORM = "gametest/flat_7x5x7";
+    private static final long LEASE = 100;
+    private static final long START = 1000;
+
+    /** A lease nobody renews stops holding the position and is swept */
+    @GameTest(template = FLAT_PLATFORM)
+    public static void leaseExpiresWithoutRenewal(GameTestHelper helper) {
+        ReservationPool pool = new ReservationPool(LEASE);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        helper.assertTrue(pool.tryAcquire(1L, first, START), "Free position should be reserved");
+        helper.assertFalse(pool.tryAcquire(1L, second, START + LEASE - 1), "Live lease should block others");
+
+        helper.assertTrue(pool.isHeld(1L, START + LEASE - 1), "Lease should hold until it expires");
+        helper.assertFalse(pool.isHeld(1L, START + LEASE), "Lease should expire after " + LEASE + " ticks");
+        helper.assertTrue(pool.sweep(START + 2 * LEASE) == 1, "Sweep should drop the expired lease");
+        helper.assertTrue(pool.size() == 0, "Pool should be empty after the sweep, size: " + pool.size());
+        helper.assertTrue(pool.tryAcquire(1L, second, START + 2 * LEASE), "Expired position should be free again");
+        helper.succeed();
+    }
+
+    /**
+     * Renewing past half the lease moves it to a later bucket: sweeping its old bucket keeps it,
+     * the new bucket drops it
+     */
+    @GameTest(template = FLAT_PLATFORM)
+    public static void renewalMovesLeaseToNewBucket(GameTestHelper helper) {
+        ReservationPool pool = new ReservationPool(LEASE);
+        UUID owner = UUID.randomUUID();
+        pool.tryAcquire(1L, owner, START);                 // Expires at 1100
+        helper.assertTrue(pool.renew(1L, owner, START + 60), "Owner should renew its lease"); // Now 1160
+        helper.assertFalse(pool.renew(1L, UUID.randomUUID(), START + 60), "Others should not renew the lease");
+
+        helper.assertTrue(pool.sweep(START + 120) == 0, "Renewed lease should survive its old bucket");
+        helper.assertTrue(pool.isHeldBy(1L, owner, START + 150), "Renewed lease should still be held");
+        helper.assertTrue(pool.sweep(START + 200) == 1, "Renewed lease should expire from its new bucket");
+        helper.assertFalse(pool.contains(1L), "Expired lease should be gone after the sweep");
+        helper.succeed();
+    }
+
+    /** Saving and loading keeps owners and expiry times, so live leases stay live */
+    @GameTest(template = FLAT_PLATFORM)
+    public static void saveLoadKeepsLiveLeases(GameTestHelper helper) {
+        ReservationPool pool = new ReservationPool(LEASE);
+        UUID live = UUID.randomUUID();
+        UUID stale = UUID.randomUUID();
+        pool.tryAcquire(1L, live, START);                  // Expires at 1100
+        pool.tryAcquire(2L, stale, START - LEASE);         // Expires at 1000
+
+        CompoundTag tag = new CompoundTag();
+        pool.save(tag, "Leases");
+        ReservationPool loaded = new ReservationPool(LEASE);
+        loaded.load(tag, "Leases");
+
+        helper.assertTrue(loaded.size() == 2, "Both leases should be loaded, size: " + loaded.size());
+        helper.assertTrue(live.equals(loaded.getHolder(1L, START + 50)), "Live lease should keep its owner");
+        helper.assertFalse(loaded.isHeld(2L, START + 50), "Expired lease should stay expired");
+        helper.assertTrue(loaded.sweep(START + 50) == 1, "Only the expired lease should be swept");
+        helper.assertTrue(loaded.sweep(START + 2 * LEASE) == 1, "Loaded lease should expire from its bucket");
+        helper.succeed();
+    }
+}
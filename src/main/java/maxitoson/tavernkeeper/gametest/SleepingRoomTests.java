@@ -0,0 +1,117 @@
+package maxitoson.tavernkeeper.gametest;
+
+import maxitoson.tavernkeeper.TavernKeeperMod;
+import maxitoson.tavernkeeper.areas.AreaType;
+import maxitoson.tavernkeeper.areas.TavernArea;
+import maxitoson.tavernkeeper.tavern.furniture.types.SleepingFurnitureType;
+import maxitoson.tavernkeeper.tavern.managers.domain.SleepingManagerContext;
+import maxitoson.tavernkeeper.tavern.spaces.RoomIndex;
+import maxitoson.tavernkeeper.tavern.spaces.SleepingSpace;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.BedBlock;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.properties.BedPart;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+/**
+ * Room detection tests — a walled 7x3x7 sleeping space is split in two by a wall and joined again.
+ *
+ * The space is built on a stub manager context (every bed accepted, nothing reserved), not on the
+ * shared Tavern: level-1 taverns allow no beds. Block changes are fed to the space the way
+ * WorldUpdateHandler does, one block at a time, so the incremental room updates are exercised.
+ */
+@GameTestHolder(TavernKeeperMod.MODID)
+@PrefixGameTestTemplate(false)
+public class SleepingRoomTests {
+
+    private static final String FLAT_PLATFORM = "gametest/flat_7x5x7";
+    private static final BlockPos WEST_BED = new BlockPos(1, 1, 1);
+    private static final BlockPos EAST_BED = new BlockPos(5, 1, 1);
+    private static final int WALL_X = 3;
+
+    private static final SleepingManagerContext ANY_BED = new SleepingManagerContext() {
+        @Override
+        public boolean canAddFurniture(SleepingFurnitureType type) {
+            return true;
+        }
+
+        @Override
+        public boolean hasBedReservation(BlockPos bedPos) {
+            return false;
+        }
+    };
+
+    /**
+     * Bed with its HEAD at the given position and its FOOT one block south
+     */
+    private static void placeBed(GameTestHelper helper, BlockPos head) {
+        BlockState bed = Blocks.RED_BED.defaultBlockState().setValue(BedBlock.FACING, Direction.NORTH);
+        helper.setBlock(head, bed.setValue(BedBlock.PART, BedPart.HEAD));
+        helper.setBlock(head.south(), bed.setValue(BedBlock.PART, BedPart.FOOT));
+    }
+
+    private static SleepingSpace scanSpace(GameTestHelper helper) {
+        TavernArea area = new TavernArea("rooms", AreaType.SLEEPING,
+                helper.absolutePos(new BlockPos(0, 1, 0)),
+                helper.absolutePos(new BlockPos(6, 3, 6)),
+                (ServerLevel) helper.getLevel());
+        SleepingSpace space = new SleepingSpace(ANY_BED, area);
+        space.scanForFurniture();
+        return space;
+    }
+
+    /** Room count, beds per room and free-bed queries follow a wall going up and coming down */
+    @GameTest(template = FLAT_PLATFORM)
+    public static void wallSplitsAndJoinsRoom(GameTestHelper helper) {
+        BlockState stone = Blocks.STONE.defaultBlockState();
+        for (int y = 1; y <= 3; y++) {
+            for (int i = 0; i <= 6; i++) {
+                helper.setBlock(new BlockPos(i, y, 0), stone);
+                helper.setBlock(new BlockPos(i, y, 6), stone);
+                helper.setBlock(new BlockPos(0, y, i), stone);
+                helper.setBlock(new BlockPos(6, y, i), stone);
+            }
+        }
+        placeBed(helper, WEST_BED);
+        placeBed(helper, EAST_BED);
+        BlockPos westBed = helper.absolutePos(WEST_BED);
+        BlockPos eastBed = helper.absolutePos(EAST_BED);
+
+        SleepingSpace space = scanSpace(helper);
+        helper.assertTrue(space.getRooms().size() == 1, "Walled space should be one room, got: " + space.getRooms().size());
+        helper.assertTrue(space.getRooms().get(0).getBedCount() == 2, "Both beds should be in the room");
+        helper.assertTrue(space.findRoomForGuests(2) != null, "The room should take two guests");
+
+        // Wall across the middle, block by block
+        for (int y = 1; y <= 3; y++) {
+            for (int z = 1; z <= 5; z++) {
+                BlockPos pos = new BlockPos(WALL_X, y, z);
+                helper.setBlock(pos, stone);
+                space.onBlockUpdated(helper.absolutePos(pos), stone);
+            }
+        }
+        RoomIndex.Room westRoom = space.getRoomOf(westBed);
+        RoomIndex.Room eastRoom = space.getRoomOf(eastBed);
+        helper.assertTrue(space.getRooms().size() == 2, "Wall should split the room in two, got: " + space.getRooms().size());
+        helper.assertTrue(westRoom != null && eastRoom != null && westRoom != eastRoom, "Beds should be in different rooms");
+        helper.assertTrue(westRoom.getBedCount() == 1 && eastRoom.getBedCount() == 1, "Each room should have one bed");
+        helper.assertTrue(space.findRoomForGuests(2) == null, "No single room should take two guests");
+        helper.assertTrue(space.findRoomForGuests(1) != null, "A room should take one guest");
+        helper.assertTrue(scanSpace(helper).getRooms().size() == 2, "Incremental rooms should match a full scan");
+
+        // A one-block opening joins them again
+        BlockPos opening = new BlockPos(WALL_X, 1, 3);
+        helper.setBlock(opening, Blocks.AIR.defaultBlockState());
+        space.onBlockBroken(helper.absolutePos(opening), stone);
+        helper.assertTrue(space.getRooms().size() == 1, "Opening should join the rooms, got: " + space.getRooms().size());
+        helper.assertTrue(space.getRoomOf(westBed) == space.getRoomOf(eastBed), "Both beds should share the joined room");
+        helper.assertTrue(space.findRoomForGuests(2) != null, "Joined room should take two guests again");
+        helper.succeed();
+    }
+}
@@ -0,0 +1,102 @@
+package maxitoson.tavernkeeper.gametest;
+
+import maxitoson.tavernkeeper.TavernKeeperMod;
+import maxitoson.tavernkeeper.areas.AreaType;
+import maxitoson.tavernkeeper.areas.TavernArea;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Area shape tests — multi-box areas (section bitmasks, de-duplicated positions) and the NBT formats.
+ * Areas are detached (no level), nothing is placed in the world.
+ */
+@GameTestHolder(TavernKeeperMod.MODID)
+@PrefixGameTestTemplate(false)
+public class TavernAreaTests {
+
+    private static final String FLAT_PLATFORM = "gametest/flat_7x5x7";
+
+    // L-shape crossing the section boundary at x = 16: a 12 x 3 x 4 hall and a 4 x 3 x 6 wing
+    private static final List<BoundingBox> L_SHAPE = List.of(
+            new BoundingBox(10, 64, 0, 21, 66, 3),
+            new BoundingBox(10, 64, 4, 13, 66, 9));
+
+    private static TavernArea area(List<BoundingBox> boxes) {
+        return new TavernArea(UUID.randomUUID(), "test", AreaType.DINING, boxes, null);
+    }
+
+    private static int countPositions(GameTestHelper helper, TavernArea area) {
+        Set<Long> seen = new HashSet<>();
+        int count = 0;
+        for (BlockPos pos : area.positions()) {
+            helper.assertTrue(seen.add(pos.asLong()), "Position visited twice: " + pos);
+            helper.assertTrue(area.contains(pos), "Visited position outside the area: " + pos);
+            count++;
+        }
+        return count;
+    }
+
+    /** Blocks in either arm of an L are inside, the empty corner of its envelope is not */
+    @GameTest(template = FLAT_PLATFORM)
+    public static void lShapeContains(GameTestHelper helper) {
+        TavernArea area = area(L_SHAPE);
+
+        helper.assertTrue(area.contains(new BlockPos(21, 66, 3)), "Far end of the hall should be inside");
+        helper.assertTrue(area.contains(new BlockPos(15, 65, 2)), "Hall block left of the section edge should be inside");
+        helper.assertTrue(area.contains(new BlockPos(16, 65, 2)), "Hall block right of the section edge should be inside");
+        helper.assertTrue(area.contains(new BlockPos(10, 64, 9)), "Far end of the wing should be inside");
+        helper.assertFalse(area.contains(new BlockPos(14, 65, 4)), "Block next to the wing should be outside");
+        helper.assertFalse(area.contains(new BlockPos(21, 66, 9)), "Empty corner of the envelope should be outside");
+        helper.assertFalse(area.contains(new BlockPos(10, 67, 0)), "Block above the area should be outside");
+
+        int expected = 12 * 3 * 4 + 4 * 3 * 6;
+        helper.assertTrue(area.getVolume() == expected, "Expected volume " + expected + ", got: " + area.getVolume());
+        helper.assertTrue(countPositions(helper, area) == expected, "positions() should visit every block once");
+        helper.succeed();
+    }
+
+    /** Blocks shared by overlapping boxes count once, in the volume and in positions() */
+    @GameTest(template = FLAT_PLATFORM)
+    public static void overlappingBoxesCountOnce(GameTestHelper helper) {
+        TavernArea area = area(List.of(
+                new BoundingBox(0, 0, 0, 4, 4, 4),
+                new BoundingBox(2, 2, 2, 6, 6, 6)));
+
+        int expected = 125 + 125 - 27;
+        helper.assertTrue(area.getVolume() == expected, "Expected volume " + expected + ", got: " + area.getVolume());
+        helper.assertTrue(countPositions(helper, area) == expected, "positions() should skip shared blocks");
+        helper.succeed();
+    }
+
+    /** Single-box areas keep the plain min/max format, multi-box areas round-trip their boxes */
+    @GameTest(template = FLAT_PLATFORM)
+    public static void saveLoadRoundTrip(GameTestHelper helper) {
+        TavernArea single = new TavernArea("single", AreaType.SLEEPING,
+                new BlockPos(5, 70, -3), new BlockPos(1, 64, 8), null);
+        CompoundTag singleTag = single.save(new CompoundTag());
+        helper.assertFalse(singleTag.contains("boxes"), "Single-box areas should not write a box list");
+        TavernArea singleLoaded = TavernArea.load(singleTag, null);
+        helper.assertTrue(singleLoaded.getId().equals(single.getId()), "Id should survive save/load");
+        helper.assertTrue(singleLoaded.getType() == AreaType.SLEEPING, "Type should survive save/load");
+        helper.assertTrue(singleLoaded.getBoxes().equals(single.getBoxes()), "Box should survive save/load");
+        helper.assertTrue(singleLoaded.getVolume() == single.getVolume(), "Volume should survive save/load");
+
+        TavernArea multi = area(L_SHAPE);
+        TavernArea multiLoaded = TavernArea.load(multi.save(new CompoundTag()), null);
+        helper.assertTrue(multiLoaded.getName().equals(multi.getName()), "Name should survive save/load");
+        helper.assertTrue(multiLoaded.getBoxes().equals(L_SHAPE), "Boxes should survive save/load, got: " + multiLoaded.getBoxes());
+        helper.assertTrue(multiLoaded.getVolume() == multi.getVolume(), "Volume should survive save/load");
+        helper.assertFalse(multiLoaded.contains(new BlockPos(21, 66, 9)), "Loaded shape should still be an L");
+        helper.succeed();
+    }
+}
@@ -0,0 +1,117 @@
+package maxitoson.tavernkeeper.gametest;
+
+import maxitoson.tavernkeeper.TavernKeeperMod;
+import maxitoson.tavernkeeper.entities.CustomerEntity;
+import maxitoson.tavernkeeper.entities.ai.LifecycleType;
+import maxitoson.tavernkeeper.entities.ai.lifecycle.CustomerLifecycleFactory;
+import maxitoson.tavernkeeper.tavern.Tavern;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.monster.Skeleton;
+import net.minecraft.world.entity.monster.Zombie;
+import net.minecraft.world.entity.monster.ZombifiedPiglin;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+/**
+ * Threat tests — the tavern's shared threat scan (ThreatManager) drives customer panic.
+ *
+ * Hostile mobs are seen by customers of neighbouring test structures, so these tests run in
+ * their own batch, apart from the behavior tests (and the neutral-mob test apart from the hostiles).
+ */
+@GameTestHolder(TavernKeeperMod.MODID)
+@PrefixGameTestTemplate(false)
+public class TavernThreatTests {
+
+    private static final String FLAT_PLATFORM = "gametest/flat_7x5x7";
+    private static final String BATCH = "tavern_threats";
+    private static final String NEUTRAL_BATCH = "tavern_threats_neutral";
+
+    @SuppressWarnings("unchecked")
+    private static CustomerEntity spawnCustomer(GameTestHelper helper, BlockPos pos) {
+        return helper.spawn(
+                (EntityType<CustomerEntity>) (EntityType<?>) TavernKeeperMod.CUSTOMER.get(), pos);
+    }
+
+    private static void createTavernArea(GameTestHelper helper, String name) {
+        Tavern tavern = Tavern.get((ServerLevel) helper.getLevel());
+        tavern.createDiningArea(name,
+                helper.absolutePos(new BlockPos(1, 1, 1)),
+                helper.absolutePos(new BlockPos(6, 4, 6)));
+    }
+
+    /**
+     * A zombie inside the tavern shows up in the shared scan and the customer panics.
+     * The zombie has no AI so only the scan and the customer's sensor are exercised.
+     */
+    @GameTest(template = FLAT_PLATFORM, batch = BATCH, timeoutTicks = 100)
+    public static void customerPanicsAtZombieInTavern(GameTestHelper helper) {
+        createTavernArea(helper, "threat-panic");
+        CustomerEntity customer = spawnCustomer(helper, new BlockPos(2, 2, 2));
+        customer.setLifecycle(CustomerLifecycleFactory.fromType(LifecycleType.DINING_ONLY));
+        Zombie zombie = helper.spawn(EntityType.ZOMBIE, new BlockPos(5, 2, 5));
+        zombie.setNoAi(true);
+
+        helper.succeedWhen(() -> helper.assertTrue(
+                customer.isCurrentlyPanicking(),
+                "Customer should panic at a zombie in the tavern, state: " + customer.getCustomerState()
+        ));
+    }
+
+    /**
+     * Customers are not villagers: a zombie only hunts them through the goal the threat scan attaches.
+     */
+    @GameTest(template = FLAT_PLATFORM, batch = BATCH, timeoutTicks = 100)
+    public static void zombieTargetsCustomerInTavern(GameTestHelper helper) {
+        createTavernArea(helper, "threat-zombie");
+        CustomerEntity customer = spawnCustomer(helper, new BlockPos(2, 2, 2));
+        customer.setLifecycle(CustomerLifecycleFactory.fromType(LifecycleType.DINING_ONLY));
+        Zombie zombie = helper.spawn(EntityType.ZOMBIE, new BlockPos(5, 2, 5));
+
+        helper.succeedWhen(() -> helper.assertTrue(
+                zombie.getTarget() == customer,
+                "Zombie should target the customer, target: " + zombie.getTarget()
+        ));
+    }
+
+    /**
+     * Skeletons near the tavern are armed with TavernCustomerTargetGoal by the threat scan.
+     */
+    @GameTest(template = FLAT_PLATFORM, batch = BATCH, timeoutTicks = 100)
+    public static void skeletonTargetsCustomerInTavern(GameTestHelper helper) {
+        createTavernArea(helper, "threat-skeleton");
+        CustomerEntity customer = spawnCustomer(helper, new BlockPos(2, 2, 2));
+        customer.setLifecycle(CustomerLifecycleFactory.fromType(LifecycleType.DINING_ONLY));
+        Skeleton skeleton = helper.spawn(EntityType.SKELETON, new BlockPos(5, 2, 5));
+
+        helper.succeedWhen(() -> helper.assertTrue(
+                skeleton.getTarget() == customer,
+                "Skeleton should target the customer, target: " + skeleton.getTarget()
+        ));
+    }
+
+    /**
+     * Customers only panic at the mobs villagers flee from: a zombified piglin (neutral) inside the
+     * tavern is left out of the shared scan and the customer stays calm.
+     */
+    @GameTest(template = FLAT_PLATFORM, batch = NEUTRAL_BATCH, timeoutTicks = 100)
+    public static void customerIgnoresZombifiedPiglinInTavern(GameTestHelper helper) {
+        createTavernArea(helper, "threat-neutral");
+        CustomerEntity customer = spawnCustomer(helper, new BlockPos(2, 2, 2));
+        customer.setLifecycle(CustomerLifecycleFactory.fromType(LifecycleType.DINING_ONLY));
+        ZombifiedPiglin piglin = helper.spawn(EntityType.ZOMBIFIED_PIGLIN, new BlockPos(5, 2, 5));
+        piglin.setNoAi(true);
+
+        // Several scans and sensor ticks (both run every 20 ticks)
+        helper.runAfterDelay(60, () -> {
+            Tavern tavern = Tavern.get((ServerLevel) helper.getLevel());
+            helper.assertFalse(tavern.getNearbyThreats().contains(piglin), "Zombified piglin should not be a threat");
+            helper.assertFalse(customer.isCurrentlyPanicking(),
+                    "Customer should not panic at a zombified piglin, state: " + customer.getCustomerState());
+            helper.succeed();
+        });
+    }
+}
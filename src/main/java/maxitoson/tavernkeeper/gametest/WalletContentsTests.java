@@ -0,0 +1,113 @@
+package maxitoson.tavernkeeper.gametest;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import maxitoson.tavernkeeper.TavernKeeperMod;
+import maxitoson.tavernkeeper.items.WalletContents;
+import maxitoson.tavernkeeper.items.WalletItem;
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.component.CustomData;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+/**
+ * Wallet component tests — the save (CODEC) and sync (STREAM_CODEC) formats, and wallets
+ * from older versions that keep their coins in CUSTOM_DATA. Nothing is placed in the world.
+ * Tiers: 0 = copper, 1 = iron, ... (100 of a tier convert to 1 of the next)
+ */
+@GameTestHolder(TavernKeeperMod.MODID)
+@PrefixGameTestTemplate(false)
+public class WalletContentsTests {
+
+    private static final String FLAT_PLATFORM = "gametest/flat_7x5x7";
+    private static final WalletContents MIXED = WalletContents.of(new long[]{42, 0, 7, 0, 3});
+
+    /** Saving and loading through the CODEC keeps every tier, empty wallets load as EMPTY */
+    @GameTest(template = FLAT_PLATFORM)
+    public static void codecRoundTrip(GameTestHelper helper) {
+        Tag saved = WalletContents.CODEC.encodeStart(NbtOps.INSTANCE, MIXED).getOrThrow();
+        WalletContents loaded = WalletContents.CODEC.parse(NbtOps.INSTANCE, saved).getOrThrow();
+        helper.assertTrue(MIXED.equals(loaded), "Contents should survive save/load, got: " + loaded);
+
+        Tag savedEmpty = WalletContents.CODEC.encodeStart(NbtOps.INSTANCE, WalletContents.EMPTY).getOrThrow();
+        WalletContents loadedEmpty = WalletContents.CODEC.parse(NbtOps.INSTANCE, savedEmpty).getOrThrow();
+        helper.assertTrue(loadedEmpty == WalletContents.EMPTY, "Empty wallet should load as EMPTY, got: " + loadedEmpty);
+        helper.succeed();
+    }
+
+    /** Syncing through the STREAM_CODEC keeps every tier, an empty wallet is a single byte */
+    @GameTest(template = FLAT_PLATFORM)
+    public static void streamCodecRoundTrip(GameTestHelper helper) {
+        ByteBuf buffer = Unpooled.buffer();
+        WalletContents.STREAM_CODEC.encode(buffer, MIXED);
+        WalletContents decoded = WalletContents.STREAM_CODEC.decode(buffer);
+        helper.assertTrue(MIXED.equals(decoded), "Contents should survive sync, got: " + decoded);
+        helper.assertTrue(buffer.readableBytes() == 0, "Decoding should read the whole packet");
+
+        ByteBuf emptyBuffer = Unpooled.buffer();
+        WalletContents.STREAM_CODEC.encode(emptyBuffer, WalletContents.EMPTY);
+        helper.assertTrue(emptyBuffer.readableBytes() == 1, "Empty wallet should sync as 1 byte, got: " + emptyBuffer.readableBytes());
+        helper.assertTrue(WalletContents.STREAM_CODEC.decode(emptyBuffer).isEmpty(), "Empty wallet should decode empty");
+        helper.succeed();
+    }
+
+    /**
+     * Legacy CUSTOM_DATA coins are read (converting 100 copper up to iron) and moved to the
+     * component on the first change
+     */
+    @GameTest(template = FLAT_PLATFORM)
+    public static void legacyCustomDataMigrates(GameTestHelper helper) {
+        ItemStack wallet = new ItemStack(TavernKeeperMod.WALLET.get());
+        CompoundTag legacy = new CompoundTag();
+        legacy.putLong("copper", 250L);
+        wallet.set(DataComponents.CUSTOM_DATA, CustomData.of(legacy));
+
+        WalletContents contents = WalletContents.get(wallet);
+        helper.assertTrue(WalletContents.hasLegacyData(wallet), "Wallet should still be in the legacy format");
+        helper.assertTrue(contents.getCount(0) == 50, "Expected 50 copper, got: " + contents.getCount(0));
+        helper.assertTrue(contents.getCount(1) == 2, "Expected 2 iron, got: " + contents.getCount(1));
+
+        ItemStack coins = new ItemStack(TavernKeeperMod.COPPER_COIN.get(), 30);
+        ((WalletItem) wallet.getItem()).addCoin(wallet, coins);
+        WalletContents migrated = wallet.get(TavernKeeperMod.WALLET_CONTENTS.get());
+        helper.assertFalse(WalletContents.hasLegacyData(wallet), "Adding coins should migrate the wallet");
+        helper.assertFalse(wallet.has(DataComponents.CUSTOM_DATA), "Legacy coins should be removed");
+        helper.assertTrue(migrated != null && migrated.getCount(0) == 80 && migrated.getCount(1) == 2,
+                "Expected 80 copper and 2 iron after migration, got: " + migrated);
+        helper.assertTrue(coins.isEmpty(), "Added coins should be consumed");
+        helper.succeed();
+    }
+
+    /** Custom data that isn't coins is not legacy data and survives migration */
+    @GameTest(template = FLAT_PLATFORM)
+    public static void unrelatedCustomDataIsKept(GameTestHelper helper) {
+        ItemStack plain = new ItemStack(TavernKeeperMod.WALLET.get());
+        CompoundTag other = new CompoundTag();
+        other.putString("owner", "datapack");
+        plain.set(DataComponents.CUSTOM_DATA, CustomData.of(other));
+        helper.assertFalse(WalletContents.hasLegacyData(plain), "Custom data without coin keys is not legacy data");
+        helper.assertTrue(WalletContents.get(plain).isEmpty(), "Wallet without coins should be empty");
+
+        ItemStack mixed = new ItemStack(TavernKeeperMod.WALLET.get());
+        CompoundTag legacy = other.copy();
+        legacy.putLong("iron", 3L);
+        mixed.set(DataComponents.CUSTOM_DATA, CustomData.of(legacy));
+        helper.assertTrue(WalletContents.hasLegacyData(mixed), "Coin keys should count as legacy data");
+
+        ((WalletItem) mixed.getItem()).addCoin(mixed, new ItemStack(TavernKeeperMod.COPPER_COIN.get(), 5));
+        CustomData kept = mixed.get(DataComponents.CUSTOM_DATA);
+        helper.assertFalse(WalletContents.hasLegacyData(mixed), "Adding coins should migrate the wallet");
+        helper.assertTrue(kept != null && kept.copyTag().getString("owner").equals("datapack"),
+                "Unrelated custom data should survive migration, got: " + kept);
+        helper.assertFalse(kept.contains("iron"), "Legacy coin keys should be removed");
+        helper.assertTrue(WalletContents.get(mixed).getCount(1) == 3 && WalletContents.get(mixed).getCount(0) == 5,
+                "Expected 3 iron and 5 copper, got: " + WalletContents.get(mixed));
+        helper.succeed();
+    }
+}
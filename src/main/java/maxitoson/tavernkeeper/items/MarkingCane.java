@@ -6,6 +6,7 @@ import maxitoson.tavernkeeper.areas.AreaType;
 import maxitoson.tavernkeeper.areas.TavernArea;
 import maxitoson.tavernkeeper.tavern.Tavern;
 import maxitoson.tavernkeeper.tavern.Tavern.SignSetResult;
+import maxitoson.tavernkeeper.tavern.spaces.AreaDetector;
 import maxitoson.tavernkeeper.tavern.spaces.BaseSpace;
 import maxitoson.tavernkeeper.tavern.spaces.DiningSpace.ScanResult;
 import net.minecraft.ChatFormatting;
@@ -35,6 +36,11 @@ public class MarkingCane extends Item {
     // Track areas pending deletion (player UUID -> area UUID)
     private static final Map<UUID, UUID> PENDING_DELETIONS = new HashMap<>();
     
+    // Track areas grabbed for a move or resize (player UUID -> area and grabbed block)
+    private static final Map<UUID, AreaGrab> PENDING_GRABS = new HashMap<>();
+    
+    private record AreaGrab(UUID areaId, BlockPos anchor) {}
+    
     public MarkingCane(Properties properties) {
         super(properties);
     }
@@ -45,6 +51,10 @@ public class MarkingCane extends Item {
         // Show instructions
         tooltip.add(Component.literal("§7Shift + Scroll: Change mode").withStyle(ChatFormatting.GRAY));
         tooltip.add(Component.literal("§7Right-click: Set corners (auto-saves)").withStyle(ChatFormatting.GRAY));
+        tooltip.add(Component.literal("§7  (Overlap an area of the same mode to extend it)").withStyle(ChatFormatting.GRAY));
+        tooltip.add(Component.literal("§7Shift + Right-click in a room: Detect and save it").withStyle(ChatFormatting.GRAY));
+        tooltip.add(Component.literal("§7Shift + Right-click an area: Grab it, again to drop it").withStyle(ChatFormatting.GRAY));
+        tooltip.add(Component.literal("§7  (Grab a corner to resize, anywhere else to move)").withStyle(ChatFormatting.GRAY));
         tooltip.add(Component.literal("§7Left-click: Clear selection or delete area").withStyle(ChatFormatting.GRAY));
         tooltip.add(Component.literal("§7  (Click area twice to delete)").withStyle(ChatFormatting.GRAY));
     }
@@ -74,6 +84,18 @@ public class MarkingCane extends Item {
             // Right-click cancels pending deletion
             PENDING_DELETIONS.remove(playerId);
             
+            // Shift + right-click: grab an area, then drop it to move or resize it
+            // Outside any area: detect the room next to the clicked face instead
+            if (player.isShiftKeyDown()) {
+                net.minecraft.server.level.ServerLevel serverLevel = (net.minecraft.server.level.ServerLevel) level;
+                if (PENDING_GRABS.containsKey(playerId) || Tavern.get(serverLevel).getSpaceAt(pos) != null) {
+                    handleGrab(player, pos, serverLevel);
+                } else {
+                    detectArea(player, AreaMode.getMode(player), pos.relative(context.getClickedFace()), serverLevel);
+                }
+                return InteractionResult.SUCCESS;
+            }
+            
             // Normal flow: area selection
             AreaSelection selection = PLAYER_SELECTIONS.computeIfAbsent(playerId, k -> new AreaSelection());
             
@@ -134,6 +156,83 @@ public class MarkingCane extends Item {
         }
     }
     
+    /**
+     * First shift + right-click grabs the area under the cursor, the second one drops it:
+     * a grabbed corner is dragged to the clicked block (resize, opposite corner stays),
+     * anything else moves the whole area by the distance between the two clicks.
+     * The area keeps its name and the furniture that stays inside it
+     */
+    private static void handleGrab(Player player, BlockPos pos, net.minecraft.server.level.ServerLevel level) {
+        UUID playerId = player.getUUID();
+        Tavern tavern = Tavern.get(level);
+        AreaGrab grab = PENDING_GRABS.remove(playerId);
+        
+        if (grab == null) {
+            BaseSpace spaceAtPos = tavern.getSpaceAt(pos);
+            if (spaceAtPos == null) {
+                player.sendSystemMessage(Component.literal("§6[Marking Cane] §rNo area here to grab"));
+                return;
+            }
+            TavernArea area = spaceAtPos.getArea();
+            PENDING_GRABS.put(playerId, new AreaGrab(area.getId(), pos.immutable()));
+            player.sendSystemMessage(Component.literal(
+                String.format("§6[Marking Cane] §rGrabbed %s %s%s, shift + right-click where it should go", 
+                    area.getType().getColoredName(), area.getName(),
+                    isCorner(area, pos) ? " by its corner" : "")
+            ));
+            return;
+        }
+        
+        BaseSpace space = tavern.getSpace(grab.areaId());
+        if (space == null) {
+            player.sendSystemMessage(Component.literal("§c[Marking Cane] §rThe grabbed area no longer exists"));
+            return;
+        }
+        TavernArea area = space.getArea();
+        boolean resize = isCorner(area, grab.anchor());
+        
+        Tavern.CreationResult result;
+        if (resize) {
+            BlockPos opposite = new BlockPos(
+                grab.anchor().getX() == area.getMinPos().getX() ? area.getMaxPos().getX() : area.getMinPos().getX(),
+                grab.anchor().getY() == area.getMinPos().getY() ? area.getMaxPos().getY() : area.getMinPos().getY(),
+                grab.anchor().getZ() == area.getMinPos().getZ() ? area.getMaxPos().getZ() : area.getMinPos().getZ());
+            result = tavern.resizeArea(area.getId(), opposite, pos);
+        } else {
+            BlockPos offset = pos.subtract(grab.anchor());
+            result = tavern.moveArea(area.getId(), offset.getX(), offset.getY(), offset.getZ());
+        }
+        
+        if (result.wasRejected()) {
+            String conflicts = result.getConflicts().stream()
+                .map(conflict -> conflict.getType().getColoredName() + " " + conflict.getName())
+                .collect(java.util.stream.Collectors.joining("§r, "));
+            player.sendSystemMessage(Component.literal(
+                "§c[Marking Cane] §rWould overlap " + conflicts + "§r, area left in place"
+            ));
+            return;
+        }
+        
+        player.sendSystemMessage(Component.literal(
+            String.format("§6[Marking Cane] §r%s %s (§e%d blocks§r)", 
+                resize ? "Resized" : "Moved",
+                area.getType().getColoredName() + " " + area.getName(), area.getVolume())
+        ));
+        tavern.syncAreasToAllClients();
+    }
+    
+    /**
+     * Corner of a single-box area (multi-box areas can only be moved)
+     */
+    private static boolean isCorner(TavernArea area, BlockPos pos) {
+        if (area.getBoxes().size() != 1) return false;
+        BlockPos min = area.getMinPos();
+        BlockPos max = area.getMaxPos();
+        return (pos.getX() == min.getX() || pos.getX() == max.getX())
+            && (pos.getY() == min.getY() || pos.getY() == max.getY())
+            && (pos.getZ() == min.getZ() || pos.getZ() == max.getZ());
+    }
+    
     /**
      * Auto-save area with the current mode and auto-generated name
      */
@@ -151,6 +250,7 @@ public class MarkingCane extends Item {
     public static void clearSelection(Player player) {
         PLAYER_SELECTIONS.remove(player.getUUID());
         PENDING_DELETIONS.remove(player.getUUID());
+        PENDING_GRABS.remove(player.getUUID());
         player.sendSystemMessage(Component.literal("§6[Marking Cane] §rSelection cleared"));
     }
     
@@ -239,6 +339,57 @@ public class MarkingCane extends Item {
         Tavern tavern = Tavern.get(level);
         
         Tavern.CreationResult result = tavern.createArea(type, selection.getMinPos(), selection.getMaxPos(), player);
+        boolean saved = reportCreation(player, tavern, type, result, "Selection");
+        
+        // Clear selection
+        clearSelection(player);
+        return saved;
+    }
+    
+    /**
+     * Detect the room around a block and save it as an area of the given type.
+     * Used by both marking cane (shift + right-click outside areas) and commands.
+     * 
+     * @param start An open block inside the room
+     * @return true if saved successfully, false otherwise
+     */
+    public static boolean detectArea(Player player, AreaType type, BlockPos start,
+                                     net.minecraft.server.level.ServerLevel level) {
+        Tavern tavern = Tavern.get(level);
+        AreaDetector.Result detection = tavern.detectArea(start);
+        
+        if (!detection.succeeded()) {
+            String reason = switch (detection.failure()) {
+                case BLOCKED -> "Click on the floor or a wall inside the room";
+                case NOT_ENCLOSED -> "The room is open to the outside (or wider than 64 blocks)";
+                case TOO_LARGE -> "The room is too large to detect, mark it with corners";
+                case ALREADY_MARKED -> "This room is already part of an area";
+            };
+            player.sendSystemMessage(Component.literal("§c[Marking Cane] §rNo room detected: " + reason));
+            return false;
+        }
+        
+        Tavern.CreationResult result = tavern.createArea(type, detection.boxes(), player);
+        return reportCreation(player, tavern, type, result, "Detected room");
+    }
+    
+    /**
+     * Tell the player what an area creation did and sync areas to everyone
+     * @return true if an area was created or extended
+     */
+    private static boolean reportCreation(Player player, Tavern tavern, AreaType type,
+                                          Tavern.CreationResult result, String what) {
+        // Overlapping areas of another type (or several areas) is not allowed
+        if (result.wasRejected()) {
+            String conflicts = result.getConflicts().stream()
+                .map(conflict -> conflict.getType().getColoredName() + " " + conflict.getName())
+                .collect(java.util.stream.Collectors.joining("§r, "));
+            player.sendSystemMessage(Component.literal(
+                "§c[Marking Cane] §r" + what + " overlaps " + conflicts + "§r, nothing saved"
+            ));
+            return false;
+        }
+        
         TavernArea area = result.getCreatedArea();
         
         // Notify if player became owner
@@ -250,7 +401,8 @@ public class MarkingCane extends Item {
         
         // Show success message
         player.sendSystemMessage(Component.literal(
-            String.format("§6[Marking Cane] §rSaved %s (§e%d blocks§r)", 
+            String.format("§6[Marking Cane] §r%s %s (§e%d blocks§r)", 
+                result.wasMerged() ? "Extended" : "Saved",
                 type.getColoredName() + " " + area.getName(), area.getVolume())
         ));
         
@@ -273,9 +425,6 @@ public class MarkingCane extends Item {
         
         // Sync to all players
         tavern.syncAreasToAllClients();
-        
-        // Clear selection
-        clearSelection(player);
         return true;
     }
     
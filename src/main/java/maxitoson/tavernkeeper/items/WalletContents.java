@@ -0,0 +1,161 @@
+package maxitoson.tavernkeeper.items;
+
+import com.mojang.serialization.Codec;
+import io.netty.buffer.ByteBuf;
+import maxitoson.tavernkeeper.TavernKeeperMod;
+import maxitoson.tavernkeeper.tavern.economy.CoinRegistry;
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.VarInt;
+import net.minecraft.network.VarLong;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.component.CustomData;
+
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+/**
+ * Coins held by a wallet (data component), one count per coin tier (index 0 = copper)
+ * Immutable like vanilla components: every change returns a new instance, which is a copy
+ * of a 5-long array instead of an NBT round trip with string keys
+ * Synced as var-longs up to the highest non-empty tier, an empty wallet is a single byte
+ *
+ * Wallets from older versions kept their coins in CUSTOM_DATA under the tier keys;
+ * get() still reads those, WalletItem moves them to this component on first change
+ */
+public final class WalletContents {
+    public static final WalletContents EMPTY = new WalletContents(new long[CoinRegistry.TIER_COUNT]);
+
+    public static final Codec<WalletContents> CODEC = Codec.LONG_STREAM.xmap(
+        stream -> of(stream.toArray()),
+        contents -> Arrays.stream(contents.counts)
+    );
+
+    public static final StreamCodec<ByteBuf, WalletContents> STREAM_CODEC = new StreamCodec<>() {
+        @Override
+        public WalletContents decode(ByteBuf buffer) {
+            int tiers = VarInt.read(buffer);
+            long[] counts = new long[CoinRegistry.TIER_COUNT];
+            for (int i = 0; i < tiers; i++) {
+                long count = VarLong.read(buffer);
+                if (i < counts.length) counts[i] = count;
+            }
+            return of(counts);
+        }
+
+        @Override
+        public void encode(ByteBuf buffer, WalletContents contents) {
+            int tiers = contents.getHighestTier() + 1;
+            VarInt.write(buffer, tiers);
+            for (int i = 0; i < tiers; i++) {
+                VarLong.write(buffer, contents.counts[i]);
+            }
+        }
+    };
+
+    private final long[] counts;
+
+    private WalletContents(long[] counts) {
+        this.counts = counts;
+    }
+
+    /**
+     * Contents from per-tier counts (missing tiers are empty, extra tiers are dropped)
+     */
+    public static WalletContents of(long[] counts) {
+        long[] copy = Arrays.copyOf(counts, CoinRegistry.TIER_COUNT);
+        return LongStream.of(copy).allMatch(count -> count == 0) ? EMPTY : new WalletContents(copy);
+    }
+
+    /**
+     * Wallet contents of a stack, reading the pre-component CUSTOM_DATA format if needed
+     */
+    public static WalletContents get(ItemStack wallet) {
+        WalletContents contents = wallet.get(TavernKeeperMod.WALLET_CONTENTS.get());
+        if (contents != null) return contents;
+        return hasLegacyData(wallet) ? fromLegacyTag(wallet.get(DataComponents.CUSTOM_DATA).copyTag()) : EMPTY;
+    }
+
+    /**
+     * Whether the stack still keeps its coins in CUSTOM_DATA (other custom data doesn't count)
+     */
+    public static boolean hasLegacyData(ItemStack wallet) {
+        if (wallet.has(TavernKeeperMod.WALLET_CONTENTS.get())) return false;
+        CustomData legacy = wallet.get(DataComponents.CUSTOM_DATA);
+        return legacy != null && Arrays.stream(CoinRegistry.TIER_KEYS).anyMatch(legacy::contains);
+    }
+
+    /**
+     * Take the legacy coin keys out of CUSTOM_DATA, keeping any other custom data
+     * (the component is removed only if nothing else is left)
+     */
+    public static void clearLegacyData(ItemStack wallet) {
+        CustomData.update(DataComponents.CUSTOM_DATA, wallet, tag -> {
+            for (String key : CoinRegistry.TIER_KEYS) {
+                tag.remove(key);
+            }
+        });
+    }
+
+    private static WalletContents fromLegacyTag(CompoundTag tag) {
+        long[] counts = new long[CoinRegistry.TIER_COUNT];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = tag.getLong(CoinRegistry.TIER_KEYS[i]);
+        }
+        CoinRegistry.autoConvert(counts);
+        return of(counts);
+    }
+
+    public long getCount(int tier) {
+        return tier >= 0 && tier < counts.length ? counts[tier] : 0;
+    }
+
+    public boolean isEmpty() {
+        return this == EMPTY || getHighestTier() < 0;
+    }
+
+    /**
+     * Highest tier with coins, or -1 if the wallet is empty
+     */
+    public int getHighestTier() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] > 0) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Contents with coins of a tier added, lower tiers converted up (100 -> 1)
+     */
+    public WalletContents withAdded(int tier, long amount) {
+        long[] updated = counts.clone();
+        updated[tier] += amount;
+        CoinRegistry.autoConvert(updated);
+        return new WalletContents(updated);
+    }
+
+    /**
+     * Contents with coins of a tier taken out (never below zero)
+     */
+    public WalletContents withRemoved(int tier, long amount) {
+        long[] updated = counts.clone();
+        updated[tier] = Math.max(0, updated[tier] - amount);
+        return of(updated);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof WalletContents contents && Arrays.equals(counts, contents.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(counts);
+    }
+
+    @Override
+    public String toString() {
+        return "WalletContents" + Arrays.toString(counts);
+    }
+}
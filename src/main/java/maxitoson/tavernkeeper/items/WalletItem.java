@@ -1,10 +1,10 @@
 package maxitoson.tavernkeeper.items;
 
+import maxitoson.tavernkeeper.TavernKeeperMod;
 import maxitoson.tavernkeeper.tavern.economy.CoinRegistry;
 import net.minecraft.ChatFormatting;
-import net.minecraft.core.component.DataComponents;
-import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.SlotAccess;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.ClickAction;
@@ -12,9 +12,10 @@ import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.TooltipFlag;
-import net.minecraft.world.item.component.CustomData;
+import net.minecraft.world.level.Level;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 public class WalletItem extends Item {
     
@@ -59,73 +60,61 @@ public class WalletItem extends Item {
         return false;
     }
     
+    // Migrate wallets that still keep their coins in CUSTOM_DATA (saved before WalletContents)
+    @Override
+    public void inventoryTick(ItemStack stack, Level level, Entity entity, int slotId, boolean isSelected) {
+        if (!level.isClientSide && WalletContents.hasLegacyData(stack)) {
+            setContents(stack, WalletContents.get(stack));
+        }
+    }
+    
     // Helper to add coins from a stack to the wallet
     public void addCoin(ItemStack walletStack, ItemStack coinStack) {
-        if (!CoinRegistry.isCoin(coinStack.getItem())) return;
+        int tier = CoinRegistry.getTierIndex(coinStack.getItem());
+        if (tier < 0) return;
         
-        CustomData customData = walletStack.getOrDefault(DataComponents.CUSTOM_DATA, CustomData.EMPTY);
-        CompoundTag tag = customData.copyTag();
-        
-        String key = CoinRegistry.getTierKey(coinStack.getItem());
-        if (key != null) {
-            long current = tag.getLong(key);
-            tag.putLong(key, current + coinStack.getCount());
-            coinStack.setCount(0); // Consume all
-            
-            // Auto-convert to higher tier coins
-            CoinRegistry.autoConvertTag(tag);
-            
-            walletStack.set(DataComponents.CUSTOM_DATA, CustomData.of(tag));
-        }
+        // Auto-converts to higher tier coins
+        setContents(walletStack, WalletContents.get(walletStack).withAdded(tier, coinStack.getCount()));
+        coinStack.setCount(0); // Consume all
     }
     
     private void extractHighestCoin(ItemStack walletStack, SlotAccess access) {
-        CustomData customData = walletStack.getOrDefault(DataComponents.CUSTOM_DATA, CustomData.EMPTY);
-        CompoundTag tag = customData.copyTag();
+        extractHighestCoin(walletStack, access::set);
+    }
+    
+    private void extractHighestCoin(ItemStack walletStack, Slot targetSlot) {
+        extractHighestCoin(walletStack, toPlace -> {
+            if (!targetSlot.mayPlace(toPlace)) return false;
+            targetSlot.set(toPlace);
+            return true;
+        });
+    }
+    
+    /**
+     * Hand out the highest tier coins the target accepts (up to a stack)
+     */
+    private void extractHighestCoin(ItemStack walletStack, Predicate<ItemStack> target) {
+        WalletContents contents = WalletContents.get(walletStack);
         
         // Iterate from highest to lowest tier
-        for (int i = CoinRegistry.TIER_COUNT - 1; i >= 0; i--) {
-            String key = CoinRegistry.TIER_KEYS[i];
-            long count = tag.getLong(key);
-            if (count > 0) {
-                Item item = CoinRegistry.getItemByIndex(i);
-                if (item != null) {
-                    int extractCount = (int) Math.min(count, item.getDefaultInstance().getMaxStackSize());
-                    ItemStack newStack = new ItemStack(item, extractCount);
-                    
-                    if (access.set(newStack)) {
-                        tag.putLong(key, count - extractCount);
-                        walletStack.set(DataComponents.CUSTOM_DATA, CustomData.of(tag));
-                        return;
-                    }
+        for (int i = contents.getHighestTier(); i >= 0; i--) {
+            long count = contents.getCount(i);
+            Item item = CoinRegistry.getItemByIndex(i);
+            if (count > 0 && item != null) {
+                int extractCount = (int) Math.min(count, item.getDefaultMaxStackSize());
+                if (target.test(new ItemStack(item, extractCount))) {
+                    setContents(walletStack, contents.withRemoved(i, extractCount));
+                    return;
                 }
             }
         }
     }
     
-    private void extractHighestCoin(ItemStack walletStack, Slot targetSlot) {
-         CustomData customData = walletStack.getOrDefault(DataComponents.CUSTOM_DATA, CustomData.EMPTY);
-         CompoundTag tag = customData.copyTag();
-         
-         // Iterate from highest to lowest tier
-         for (int i = CoinRegistry.TIER_COUNT - 1; i >= 0; i--) {
-             String key = CoinRegistry.TIER_KEYS[i];
-             long count = tag.getLong(key);
-             if (count > 0) {
-                 Item item = CoinRegistry.getItemByIndex(i);
-                 if (item != null) {
-                     int extractCount = (int) Math.min(count, item.getDefaultInstance().getMaxStackSize());
-                     ItemStack toPlace = new ItemStack(item, extractCount);
-                     
-                     if (targetSlot.mayPlace(toPlace)) {
-                         targetSlot.set(toPlace);
-                         tag.putLong(key, count - extractCount);
-                         walletStack.set(DataComponents.CUSTOM_DATA, CustomData.of(tag));
-                         return;
-                     }
-                 }
-             }
-         }
+    private static void setContents(ItemStack walletStack, WalletContents contents) {
+        if (WalletContents.hasLegacyData(walletStack)) {
+            WalletContents.clearLegacyData(walletStack);
+        }
+        walletStack.set(TavernKeeperMod.WALLET_CONTENTS.get(), contents);
     }
 
     @Override
@@ -135,23 +124,17 @@ public class WalletItem extends Item {
         // Add usage tooltip
         tooltipComponents.add(Component.translatable("item.tavernkeeper.wallet.tooltip").withStyle(ChatFormatting.GRAY));
         
-        CustomData customData = stack.getOrDefault(DataComponents.CUSTOM_DATA, CustomData.EMPTY);
-        CompoundTag tag = customData.copyTag();
-        
-        boolean empty = true;
+        WalletContents contents = WalletContents.get(stack);
+        boolean empty = contents.isEmpty();
         
         // Display from highest to lowest tier
-        for (int i = CoinRegistry.TIER_COUNT - 1; i >= 0; i--) {
-            String key = CoinRegistry.TIER_KEYS[i];
-            long count = tag.getLong(key);
-            if (count > 0) {
-                empty = false;
-                Item item = CoinRegistry.getItemByIndex(i);
-                if (item != null) {
-                    tooltipComponents.add(Component.literal("").withStyle(ChatFormatting.YELLOW)
-                        .append(Component.literal(count + "x "))
-                        .append(Component.literal("").withStyle(ChatFormatting.WHITE).append(item.getName(new ItemStack(item)))));
-                }
+        for (int i = contents.getHighestTier(); i >= 0; i--) {
+            long count = contents.getCount(i);
+            Item item = CoinRegistry.getItemByIndex(i);
+            if (count > 0 && item != null) {
+                tooltipComponents.add(Component.literal("").withStyle(ChatFormatting.YELLOW)
+                    .append(Component.literal(count + "x "))
+                    .append(Component.literal("").withStyle(ChatFormatting.WHITE).append(item.getDescription())));
             }
         }
         
@@ -9,6 +9,7 @@ import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import net.neoforged.neoforge.network.handling.IPayloadContext;
 
 import java.util.ArrayList;
@@ -40,8 +41,7 @@ public record SyncAreasPacket(List<AreaData> areas) implements CustomPacketPaylo
                 area.getId(),
                 area.getName(),
                 area.getType(),
-                area.getMinPos(),
-                area.getMaxPos()
+                area.getBoxes()
             ))
             .toList());
     }
@@ -60,8 +60,11 @@ public record SyncAreasPacket(List<AreaData> areas) implements CustomPacketPaylo
             buffer.writeUUID(data.id);
             buffer.writeUtf(data.name);
             buffer.writeEnum(data.type);
-            buffer.writeBlockPos(data.minPos);
-            buffer.writeBlockPos(data.maxPos);
+            buffer.writeVarInt(data.boxes.size());
+            for (BoundingBox box : data.boxes) {
+                buffer.writeBlockPos(new BlockPos(box.minX(), box.minY(), box.minZ()));
+                buffer.writeBlockPos(new BlockPos(box.maxX(), box.maxY(), box.maxZ()));
+            }
         }
     }
     
@@ -76,10 +79,13 @@ public record SyncAreasPacket(List<AreaData> areas) implements CustomPacketPaylo
             UUID id = buffer.readUUID();
             String name = buffer.readUtf();
             AreaType type = buffer.readEnum(AreaType.class);
-            BlockPos minPos = buffer.readBlockPos();
-            BlockPos maxPos = buffer.readBlockPos();
+            int boxCount = buffer.readVarInt();
+            List<BoundingBox> boxes = new ArrayList<>(boxCount);
+            for (int j = 0; j < boxCount; j++) {
+                boxes.add(BoundingBox.fromCorners(buffer.readBlockPos(), buffer.readBlockPos()));
+            }
             
-            areas.add(new AreaData(id, name, type, minPos, maxPos));
+            areas.add(new AreaData(id, name, type, boxes));
         }
         
         return new SyncAreasPacket(areas);
@@ -94,7 +100,7 @@ public record SyncAreasPacket(List<AreaData> areas) implements CustomPacketPaylo
             List<TavernArea> clientAreas = new ArrayList<>();
             for (AreaData data : packet.areas) {
                 // Client-side areas don't need level reference for rendering
-                TavernArea area = new TavernArea(data.id, data.name, data.type, data.minPos, data.maxPos, null);
+                TavernArea area = new TavernArea(data.id, data.name, data.type, data.boxes, null);
                 clientAreas.add(area);
             }
             
@@ -106,5 +112,5 @@ public record SyncAreasPacket(List<AreaData> areas) implements CustomPacketPaylo
     /**
      * Internal area data for network transmission
      */
-    public record AreaData(UUID id, String name, AreaType type, BlockPos minPos, BlockPos maxPos) {}
+    public record AreaData(UUID id, String name, AreaType type, List<BoundingBox> boxes) {}
 }
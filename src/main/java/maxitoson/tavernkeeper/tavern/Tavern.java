@@ -13,14 +13,23 @@ import maxitoson.tavernkeeper.tavern.managers.domain.DiningManager;
 import maxitoson.tavernkeeper.tavern.managers.domain.ServiceManager;
 import maxitoson.tavernkeeper.tavern.managers.domain.SleepingManager;
 import maxitoson.tavernkeeper.tavern.managers.system.AdvancementManager;
+import maxitoson.tavernkeeper.tavern.managers.system.CustomerTimerManager;
+import maxitoson.tavernkeeper.tavern.managers.system.CustomerTraceManager;
 import maxitoson.tavernkeeper.tavern.managers.system.EconomyManager;
+import maxitoson.tavernkeeper.tavern.managers.system.PathCacheManager;
+import maxitoson.tavernkeeper.tavern.managers.system.PathRequestManager;
+import maxitoson.tavernkeeper.tavern.managers.system.ServiceQueueManager;
+import maxitoson.tavernkeeper.tavern.managers.system.TargetDispatchManager;
+import maxitoson.tavernkeeper.tavern.managers.system.ThreatManager;
+import maxitoson.tavernkeeper.tavern.managers.system.AreaIndexManager;
+import maxitoson.tavernkeeper.tavern.managers.system.UnreachableTargetManager;
 import maxitoson.tavernkeeper.tavern.managers.system.UpgradeManager;
 import maxitoson.tavernkeeper.tavern.managers.domain.CustomerManager.ServiceResult;
+import maxitoson.tavernkeeper.tavern.spaces.AreaDetector;
 import maxitoson.tavernkeeper.tavern.spaces.BaseSpace;
 import maxitoson.tavernkeeper.tavern.spaces.ServiceSpace;
 import maxitoson.tavernkeeper.tavern.furniture.Chair;
 import maxitoson.tavernkeeper.tavern.furniture.ServiceLectern;
-import maxitoson.tavernkeeper.tavern.furniture.ServiceReceptionDesk;
 import maxitoson.tavernkeeper.tavern.economy.FoodRequest;
 import maxitoson.tavernkeeper.tavern.economy.SleepingRequest;
 import maxitoson.tavernkeeper.tavern.upgrades.TavernUpgrade;
@@ -32,6 +41,7 @@ import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import net.minecraft.world.level.saveddata.SavedData;
 import net.minecraft.world.phys.AABB;
 import org.slf4j.Logger;
@@ -58,6 +68,15 @@ public class Tavern extends SavedData implements TavernContext {
     private final EconomyManager economyManager;
     private final UpgradeManager upgradeManager;
     private final AdvancementManager advancementManager;
+    private final ThreatManager threatManager;
+    private final CustomerTraceManager customerTrace;
+    private final PathCacheManager pathCache;
+    private final PathRequestManager pathRequests;
+    private final TargetDispatchManager targetDispatcher;
+    private final UnreachableTargetManager unreachableTargets;
+    private final CustomerTimerManager customerTimers;
+    private final ServiceQueueManager serviceQueues;
+    private final AreaIndexManager areaIndex;
     private final TavernStatistics statistics;
     private ServerLevel level;
     
@@ -78,6 +97,15 @@ public class Tavern extends SavedData implements TavernContext {
         this.customerManager = new CustomerManager(this);
         this.economyManager = new EconomyManager(this);
         this.advancementManager = new AdvancementManager();
+        this.threatManager = new ThreatManager();
+        this.customerTrace = new CustomerTraceManager();
+        this.pathCache = new PathCacheManager();
+        this.pathRequests = new PathRequestManager();
+        this.targetDispatcher = new TargetDispatchManager(this);
+        this.unreachableTargets = new UnreachableTargetManager();
+        this.customerTimers = new CustomerTimerManager();
+        this.serviceQueues = new ServiceQueueManager(this);
+        this.areaIndex = new AreaIndexManager(this::getAllSpaces);
         
         // Apply default upgrade to all managers (single source of truth)
         applyCurrentUpgradeToAllManagers();
@@ -170,6 +198,9 @@ public class Tavern extends SavedData implements TavernContext {
      */
     public BaseDomainManager.AddSpaceResult createDiningArea(String name, BlockPos minPos, BlockPos maxPos) {
         BaseDomainManager.AddSpaceResult result = diningManager.addSpace(name, minPos, maxPos, level);
+        threatManager.invalidate();
+        areaIndex.invalidate();
+        targetDispatcher.onTargetsChanged();
         setDirty();
         return result;
     }
@@ -183,6 +214,9 @@ public class Tavern extends SavedData implements TavernContext {
      */
     public BaseDomainManager.AddSpaceResult createSleepingArea(String name, BlockPos minPos, BlockPos maxPos) {
         BaseDomainManager.AddSpaceResult result = sleepingManager.addSpace(name, minPos, maxPos, level);
+        threatManager.invalidate();
+        areaIndex.invalidate();
+        targetDispatcher.onTargetsChanged();
         setDirty();
         return result;
     }
@@ -196,6 +230,9 @@ public class Tavern extends SavedData implements TavernContext {
      */
     public BaseDomainManager.AddSpaceResult createServiceArea(String name, BlockPos minPos, BlockPos maxPos) {
         BaseDomainManager.AddSpaceResult result = serviceManager.addSpace(name, minPos, maxPos, level);
+        threatManager.invalidate();
+        areaIndex.invalidate();
+        targetDispatcher.onTargetsChanged();
         setDirty();
         return result;
     }
@@ -203,14 +240,40 @@ public class Tavern extends SavedData implements TavernContext {
     /**
      * Create an area of specified type with auto-generated name.
      * Automatically assigns ownership to the player if this is the first area.
+     * Overlaps are not allowed: a box overlapping exactly one area of the same type is
+     * added to that area, overlapping anything else rejects the creation.
      * 
      * @param type The area type
      * @param minPos Minimum corner position
      * @param maxPos Maximum corner position
      * @param player The player creating the area
-     * @return CreationResult containing the created area and ownership info
+     * @return CreationResult containing the created (or extended) area and ownership info,
+     *         or the conflicting areas if rejected
      */
     public CreationResult createArea(AreaType type, BlockPos minPos, BlockPos maxPos, Player player) {
+        return createArea(type, List.of(BoundingBox.fromCorners(minPos, maxPos)), player);
+    }
+    
+    /**
+     * Create an area shaped as a union of boxes (e.g. from AreaDetector), same rules as above
+     * The space is created with the first box, the others are added through the reshape path
+     * so each block is scanned once
+     */
+    public CreationResult createArea(AreaType type, List<BoundingBox> boxes, Player player) {
+        Set<TavernArea> overlapping = new LinkedHashSet<>();
+        for (BoundingBox box : boxes) {
+            overlapping.addAll(areaIndex.findOverlapping(box));
+        }
+        if (!overlapping.isEmpty()) {
+            TavernArea first = overlapping.iterator().next();
+            if (overlapping.size() == 1 && first.getType() == type) {
+                List<BoundingBox> merged = new ArrayList<>(first.getBoxes());
+                merged.addAll(boxes);
+                return reshapeArea(getSpace(first.getId()), merged);
+            }
+            return CreationResult.rejected(new ArrayList<>(overlapping));
+        }
+        
         // Check if player will become owner
         boolean becameOwner = !hasOwner();
         
@@ -224,13 +287,86 @@ public class Tavern extends SavedData implements TavernContext {
         String name = "#" + nextNumber;
         
         // Create the area and get result (includes area + scan result)
+        BoundingBox box = boxes.get(0);
+        BlockPos minPos = new BlockPos(box.minX(), box.minY(), box.minZ());
+        BlockPos maxPos = new BlockPos(box.maxX(), box.maxY(), box.maxZ());
         BaseDomainManager.AddSpaceResult addResult = switch (type) {
             case DINING -> createDiningArea(name, minPos, maxPos);
             case SLEEPING -> createSleepingArea(name, minPos, maxPos);
             case SERVICE -> createServiceArea(name, minPos, maxPos);
         };
         
-        return new CreationResult(addResult.getArea(), becameOwner, addResult.getScanResult());
+        Object scanResult = addResult.getScanResult();
+        if (boxes.size() > 1) {
+            scanResult = reshapeArea(getSpace(addResult.getArea().getId()), boxes).getScanResult();
+        }
+        return new CreationResult(addResult.getArea(), becameOwner, scanResult);
+    }
+    
+    /**
+     * Detect the room around a block by flood fill (blocks already in an area are left out)
+     * Pass the boxes of a successful result to createArea
+     */
+    public AreaDetector.Result detectArea(BlockPos start) {
+        return AreaDetector.detect(level, start, pos -> getSpaceAt(pos) != null);
+    }
+    
+    /**
+     * Resize an area to a single box, keeping its name, furniture and reservations
+     * Only the gained blocks are scanned, furniture in the lost blocks is dropped
+     * 
+     * @return CreationResult for the resized area, rejected if the new box overlaps another area,
+     *         or null if area not found
+     */
+    public CreationResult resizeArea(UUID id, BlockPos corner1, BlockPos corner2) {
+        BaseSpace space = getSpace(id);
+        if (space == null) {
+            return null;
+        }
+        return reshapeArea(space, List.of(BoundingBox.fromCorners(corner1, corner2)));
+    }
+    
+    /**
+     * Move an area by an offset, keeping its name and number
+     * Furniture still inside after the move is kept, the rest of the new volume is scanned
+     * 
+     * @return CreationResult for the moved area, rejected if it would overlap another area,
+     *         or null if area not found
+     */
+    public CreationResult moveArea(UUID id, int dx, int dy, int dz) {
+        BaseSpace space = getSpace(id);
+        if (space == null) {
+            return null;
+        }
+        List<BoundingBox> boxes = new ArrayList<>();
+        for (BoundingBox box : space.getArea().getBoxes()) {
+            boxes.add(box.moved(dx, dy, dz));
+        }
+        return reshapeArea(space, boxes);
+    }
+    
+    /**
+     * Give a space's area a new shape unless it overlaps another area, then rescan the delta
+     */
+    private CreationResult reshapeArea(BaseSpace space, List<BoundingBox> boxes) {
+        TavernArea area = space.getArea();
+        Set<TavernArea> conflicts = new LinkedHashSet<>();
+        for (BoundingBox box : boxes) {
+            conflicts.addAll(areaIndex.findOverlapping(box));
+        }
+        conflicts.remove(area);
+        if (!conflicts.isEmpty()) {
+            return CreationResult.rejected(new ArrayList<>(conflicts));
+        }
+        
+        TavernArea previous = area.copy();
+        area.setBoxes(boxes);
+        Object scanResult = space.onAreaReshaped(previous);
+        threatManager.invalidate();
+        areaIndex.invalidate();
+        targetDispatcher.onTargetsChanged();
+        setDirty();
+        return new CreationResult(area, false, true, scanResult, List.of());
     }
     
     /**
@@ -240,18 +376,52 @@ public class Tavern extends SavedData implements TavernContext {
     public static class CreationResult {
         private final TavernArea createdArea;
         private final boolean becameOwner;
+        private final boolean merged;
         private final Object scanResult; // ScanResult from specific space type
+        private final List<TavernArea> conflicts;
         
         public CreationResult(TavernArea createdArea, boolean becameOwner, Object scanResult) {
+            this(createdArea, becameOwner, false, scanResult, List.of());
+        }
+        
+        public CreationResult(TavernArea createdArea, boolean becameOwner, boolean merged,
+                              Object scanResult, List<TavernArea> conflicts) {
             this.createdArea = createdArea;
             this.becameOwner = becameOwner;
+            this.merged = merged;
             this.scanResult = scanResult;
+            this.conflicts = conflicts;
+        }
+        
+        /**
+         * Nothing was created: the box overlaps the given areas
+         */
+        public static CreationResult rejected(List<TavernArea> conflicts) {
+            return new CreationResult(null, false, false, null, List.copyOf(conflicts));
         }
         
+        /**
+         * Created area, or the area the box was added to (null if rejected)
+         */
         public TavernArea getCreatedArea() {
             return createdArea;
         }
         
+        public boolean wasRejected() {
+            return createdArea == null;
+        }
+        
+        /**
+         * An existing area was changed (box added, resized or moved) instead of creating one
+         */
+        public boolean wasMerged() {
+            return merged;
+        }
+        
+        public List<TavernArea> getConflicts() {
+            return conflicts;
+        }
+        
         public boolean becameOwner() {
             return becameOwner;
         }
@@ -288,6 +458,9 @@ public class Tavern extends SavedData implements TavernContext {
             if (getAllSpaces().isEmpty()) {
                 clearOwner();
             }
+            threatManager.invalidate();
+            areaIndex.invalidate();
+            targetDispatcher.onTargetsChanged();
             setDirty();
             
             return new DeletionResult(area, wasLastArea && !hasOwner());
@@ -487,6 +660,49 @@ public class Tavern extends SavedData implements TavernContext {
         return advancementManager;
     }
     
+    public ThreatManager getThreatManager() {
+        return threatManager;
+    }
+    
+    public AreaIndexManager getAreaIndex() {
+        return areaIndex;
+    }
+    
+    @Override
+    public CustomerTraceManager getCustomerTrace() {
+        return customerTrace;
+    }
+    
+    @Override
+    public PathCacheManager getPathCache() {
+        return pathCache;
+    }
+    
+    @Override
+    public PathRequestManager getPathRequests() {
+        return pathRequests;
+    }
+    
+    @Override
+    public TargetDispatchManager getTargetDispatcher() {
+        return targetDispatcher;
+    }
+    
+    @Override
+    public UnreachableTargetManager getUnreachableTargets() {
+        return unreachableTargets;
+    }
+    
+    @Override
+    public CustomerTimerManager getCustomerTimers() {
+        return customerTimers;
+    }
+    
+    @Override
+    public ServiceQueueManager getServiceQueues() {
+        return serviceQueues;
+    }
+    
     // ========== Tavern State Queries (for CustomerManager) ==========
 
     /**
@@ -691,13 +907,16 @@ public class Tavern extends SavedData implements TavernContext {
         // Apply to all managers
         currentTavernLevel.applyToDiningManager(diningManager);
         currentTavernLevel.applyToSleepingManager(sleepingManager);
+        currentTavernLevel.applyToServiceManager(serviceManager);
         currentTavernLevel.applyToCustomerManager(customerManager);
         currentTavernLevel.applyToEconomyManager(economyManager);
         
-        LOGGER.info("Applied upgrade {} (maxTables: {}, maxBeds: {}, paymentMult: {}x, spawnMult: {}x)", 
+        LOGGER.info("Applied upgrade {} (maxTables: {}, maxBeds: {}, maxLecterns: {}, maxReceptionDesks: {}, paymentMult: {}x, spawnMult: {}x)", 
             currentTavernLevel.getDisplayName(), 
             diningManager.getMaxTables(),
             sleepingManager.getMaxBeds(),
+            serviceManager.getMaxLecterns(),
+            serviceManager.getMaxReceptionDesks(),
             economyManager.getPaymentMultiplierValue(),
             customerManager.getSpawnRateMultiplier());
     }
@@ -816,12 +1035,11 @@ public class Tavern extends SavedData implements TavernContext {
     // ========== Tavern Queries for AI Behaviors ==========
     
     /**
-     * Find nearest available chair for a customer
+     * Get positions of all chairs that are not reserved
      * Delegates to DiningManager
      */
-    public Optional<Chair> findNearestAvailableChair(
-            BlockPos from, double maxDistance) {
-        return diningManager.findNearestAvailableChair(from, maxDistance);
+    public List<BlockPos> getAvailableChairPositions() {
+        return diningManager.getAvailableChairPositions();
     }
     
     /**
@@ -829,7 +1047,17 @@ public class Tavern extends SavedData implements TavernContext {
      * Encapsulates DiningManager access for AI behaviors
      */
     public boolean reserveChair(BlockPos chairPos, UUID customerId) {
-        return diningManager.reserveChair(chairPos, customerId);
+        boolean reserved = diningManager.reserveChair(chairPos, customerId);
+        setDirty();
+        return reserved;
+    }
+    
+    /**
+     * Extend a chair reservation
+     * Encapsulates DiningManager access for AI behaviors
+     */
+    public boolean renewChair(BlockPos chairPos, UUID customerId) {
+        return diningManager.renewChair(chairPos, customerId);
     }
     
     /**
@@ -838,6 +1066,8 @@ public class Tavern extends SavedData implements TavernContext {
      */
     public void releaseChair(BlockPos chairPos) {
         diningManager.releaseChair(chairPos);
+        setDirty();
+        targetDispatcher.onTargetsChanged(TargetDispatchManager.TargetKind.CHAIR);
     }
     
     /**
@@ -853,31 +1083,62 @@ public class Tavern extends SavedData implements TavernContext {
         return diningManager.getChairAt(chairPos);
     }
     
+    @Override
+    public Optional<BlockPos> findTableWithFreeSeats(BlockPos from, int seats) {
+        return diningManager.findTableWithFreeSeats(from, seats);
+    }
+    
+    @Override
+    public List<BlockPos> getFreeChairsAt(BlockPos tablePos) {
+        return diningManager.getFreeChairsAt(tablePos);
+    }
+    
     /**
-     * Find nearest service lectern
+     * Get positions of all service lecterns
      * Delegates to ServiceManager
      */
-    public Optional<ServiceLectern> findNearestLectern(
-            BlockPos from, double maxDistance) {
-        return serviceManager.findNearestLectern(from, maxDistance);
+    public List<BlockPos> getLecternPositions() {
+        return serviceManager.getLecternPositions();
     }
     
     /**
-     * Find nearest reception desk
+     * Get positions of all reception desks
      * Delegates to ServiceManager
      */
-    public Optional<ServiceReceptionDesk> findNearestReceptionDesk(
-            BlockPos from, double maxDistance) {
-        return serviceManager.findNearestReceptionDesk(from, maxDistance);
+    public List<BlockPos> getReceptionDeskPositions() {
+        return serviceManager.getReceptionDeskPositions();
     }
     
     /**
-     * Find nearest available bed for a customer
+     * Get the queue slots in front of a lectern or reception desk
+     * Delegates to ServiceManager
+     */
+    public List<BlockPos> getQueueSlots(BlockPos counterPos) {
+        return serviceManager.getQueueSlots(counterPos);
+    }
+    
+    /**
+     * Get positions of all beds that are not reserved
      * Delegates to SleepingManager
      */
-    public Optional<BlockPos> findNearestAvailableBed(
-            BlockPos from, double maxDistance) {
-        return sleepingManager.findNearestAvailableBed(from, maxDistance);
+    public List<BlockPos> getAvailableBedPositions() {
+        return sleepingManager.getAvailableBedPositions();
+    }
+    
+    /**
+     * Get the standable spots next to a bed
+     * Delegates to SleepingManager
+     */
+    public List<BlockPos> getBedApproachPositions(BlockPos bedPos) {
+        return sleepingManager.getBedApproachPositions(bedPos);
+    }
+    
+    /**
+     * Find a room for a group of guests
+     * Delegates to SleepingManager
+     */
+    public List<BlockPos> findRoomForGuests(int guests) {
+        return sleepingManager.findRoomForGuests(guests);
     }
     
     /**
@@ -885,7 +1146,17 @@ public class Tavern extends SavedData implements TavernContext {
      * Encapsulates SleepingManager access for AI behaviors
      */
     public boolean reserveBed(BlockPos bedPos, UUID customerId) {
-        return sleepingManager.reserveBed(bedPos, customerId);
+        boolean reserved = sleepingManager.reserveBed(bedPos, customerId);
+        setDirty();
+        return reserved;
+    }
+    
+    /**
+     * Extend a bed reservation
+     * Encapsulates SleepingManager access for AI behaviors
+     */
+    public boolean renewBed(BlockPos bedPos, UUID customerId) {
+        return sleepingManager.renewBed(bedPos, customerId);
     }
     
     /**
@@ -894,6 +1165,8 @@ public class Tavern extends SavedData implements TavernContext {
      */
     public void releaseBed(BlockPos bedPos) {
         sleepingManager.releaseBed(bedPos);
+        setDirty();
+        targetDispatcher.onTargetsChanged(TargetDispatchManager.TargetKind.BED);
     }
     
     /**
@@ -920,6 +1193,31 @@ public class Tavern extends SavedData implements TavernContext {
         return diningManager.isChairReservedBy(chairPos, customerId);
     }
     
+    /**
+     * Get hostile mobs near the tavern from the shared threat scan
+     * Delegates to ThreatManager
+     */
+    @Override
+    public List<net.minecraft.world.entity.Mob> getNearbyThreats() {
+        return threatManager.getThreats();
+    }
+    
+    // ========== Block Change Feed ==========
+    
+    /**
+     * Notify tavern systems that a block was placed or broken in this level
+     * Called by WorldUpdateHandler for every block change (inside areas or not)
+     */
+    public void onBlockChanged(BlockPos pos) {
+        pathCache.invalidateAround(pos);
+        unreachableTargets.invalidateAround(pos);
+        
+        // Furniture inside areas may have appeared, disappeared or changed validity
+        for (BaseSpace space : getSpacesAt(pos)) {
+            targetDispatcher.onSpaceChanged(space);
+        }
+    }
+    
     // ========== Scanning ==========
     
     /**
@@ -939,6 +1237,29 @@ public class Tavern extends SavedData implements TavernContext {
     public void tick() {
         if (level == null) return;
         
+        // Shared threat scan (read by customer sensors)
+        threatManager.tick(level, getAllSpaces());
+        
+        // Free seats whose lease ran out (customer discarded, killed, unloaded...)
+        long gameTime = level.getGameTime();
+        if (diningManager.sweepReservations(gameTime) > 0) {
+            targetDispatcher.onTargetsChanged(TargetDispatchManager.TargetKind.CHAIR);
+            setDirty();
+        }
+        if (sleepingManager.sweepReservations(gameTime) > 0) {
+            targetDispatcher.onTargetsChanged(TargetDispatchManager.TargetKind.BED);
+            setDirty();
+        }
+        
+        // Expire customer deadlines (meals, sleep, leaving, panic)
+        customerTimers.tick(gameTime);
+        
+        // Drop customers that left a service queue without saying so
+        serviceQueues.tick(gameTime);
+        
+        // Batch-assign chairs, beds and service points to waiting customers
+        targetDispatcher.tick(gameTime);
+        
         // Delegate to CustomerManager
         customerManager.tick(level);
     }
@@ -994,20 +1315,20 @@ public class Tavern extends SavedData implements TavernContext {
      */
     private void loadTavernData(HolderLookup.Provider registries) {
         if (loadedData != null && level != null) {
-            // Load managers
-            diningManager.load(loadedData, level, registries);
-            sleepingManager.load(loadedData, level, registries);
-            serviceManager.load(loadedData, level, registries);
-            customerManager.load(loadedData, level, registries);
-            
             // Load statistics and upgrades
             statistics.load(loadedData);
             upgradeManager.load(loadedData);
             advancementManager.load(loadedData);
             
-            // Apply current upgrade to managers after loading
+            // Apply current upgrade before loading spaces: their furniture scan checks the limits
             applyCurrentUpgradeToAllManagers();
             
+            // Load managers
+            diningManager.load(loadedData, level, registries);
+            sleepingManager.load(loadedData, level, registries);
+            serviceManager.load(loadedData, level, registries);
+            customerManager.load(loadedData, level, registries);
+            
             // Load tavern metadata
             loadTavernMetadata();
             
@@ -3,6 +3,7 @@ package maxitoson.tavernkeeper.tavern;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.context.CommandContext;
+import maxitoson.tavernkeeper.tavern.managers.system.CustomerTraceManager;
 import maxitoson.tavernkeeper.tavern.upgrades.UpgradeDetails;
 import maxitoson.tavernkeeper.tavern.upgrades.UpgradeFormatter;
 import net.minecraft.commands.CommandSourceStack;
@@ -11,11 +12,14 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 
+import java.util.List;
+
 /**
  * Commands for viewing tavern statistics and upgrades
  * UI layer - displays information from Tavern business layer
  */
 public class TavernCommand {
+    private static final int DEFAULT_TRACE_LINES = 20;
     
     public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
         dispatcher.register(Commands.literal("tavern")
@@ -25,6 +29,12 @@ public class TavernCommand {
             .then(Commands.literal("upgrade")
                 .executes(TavernCommand::showUpgrade)
             )
+            .then(Commands.literal("trace")
+                .executes(ctx -> showTrace(ctx, DEFAULT_TRACE_LINES))
+                .then(Commands.argument("count", IntegerArgumentType.integer(1, CustomerTraceManager.CAPACITY))
+                    .executes(ctx -> showTrace(ctx, IntegerArgumentType.getInteger(ctx, "count")))
+                )
+            )
             .then(Commands.literal("adjust")
                 .then(Commands.literal("reputation")
                     .then(Commands.argument("amount", IntegerArgumentType.integer())
@@ -109,6 +119,33 @@ public class TavernCommand {
         return 0;
     }
     
+    /**
+     * Dump the most recent customer AI events from the tavern's trace buffer
+     */
+    private static int showTrace(CommandContext<CommandSourceStack> ctx, int count) {
+        if (ctx.getSource().getEntity() instanceof ServerPlayer player) {
+            ServerLevel level = player.serverLevel();
+            Tavern tavern = Tavern.get(level);
+            CustomerTraceManager trace = tavern.getCustomerTrace();
+            
+            if (trace.size() == 0) {
+                player.sendSystemMessage(Component.literal("§6[Tavern] §rNo customer events recorded yet"));
+                return 1;
+            }
+            
+            List<String> lines = trace.dump(count);
+            player.sendSystemMessage(Component.literal(
+                String.format("§6[Tavern] §rLast %d of %d customer events:", lines.size(), trace.size())
+            ));
+            for (String line : lines) {
+                player.sendSystemMessage(Component.literal("§7" + line));
+            }
+            
+            return 1;
+        }
+        return 0;
+    }
+    
     /**
      * Adjust tavern reputation (useful for testing level-ups and future features)
      */
@@ -3,10 +3,9 @@ package maxitoson.tavernkeeper.tavern;
 import maxitoson.tavernkeeper.tavern.economy.FoodRequest;
 import maxitoson.tavernkeeper.tavern.economy.SleepingRequest;
 import maxitoson.tavernkeeper.tavern.furniture.Chair;
-import maxitoson.tavernkeeper.tavern.furniture.ServiceLectern;
-import maxitoson.tavernkeeper.tavern.furniture.ServiceReceptionDesk;
 import net.minecraft.core.BlockPos;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -89,10 +88,10 @@ public interface TavernContext {
     // Methods used by customer AI behaviors to find and reserve resources
     
     /**
-     * Find nearest available chair for a customer
-     * Used by FindSeat behavior
+     * Get positions of all chairs that are not reserved
+     * Used by TargetDispatchManager to assign chairs
      */
-    Optional<Chair> findNearestAvailableChair(BlockPos from, double maxDistance);
+    List<BlockPos> getAvailableChairPositions();
     
     /**
      * Reserve a chair for a customer
@@ -101,6 +100,13 @@ public interface TavernContext {
      */
     boolean reserveChair(BlockPos chairPos, UUID customerId);
     
+    /**
+     * Extend a chair reservation (reservations are leases that expire unless renewed)
+     * Used by FindSeat and EatAtChair while the customer still needs the chair
+     * @return false if another customer holds the chair now
+     */
+    boolean renewChair(BlockPos chairPos, UUID customerId);
+    
     /**
      * Release a chair reservation
      * Used by FindSeat and EatAtChair behaviors when customer is done
@@ -120,22 +126,51 @@ public interface TavernContext {
     Optional<Chair> getChairAt(BlockPos chairPos);
     
     /**
-     * Find nearest service lectern
-     * Used by MoveToLectern behavior
+     * Find the nearest table with at least the given number of free seats
+     * Indexed query for seating groups together (see DiningSpace seating graph)
      */
-    Optional<ServiceLectern> findNearestLectern(BlockPos from, double maxDistance);
+    Optional<BlockPos> findTableWithFreeSeats(BlockPos from, int seats);
     
     /**
-     * Find nearest reception desk
-     * Used by MoveToReceptionDesk behavior
+     * Get the free chairs around a table
      */
-    Optional<ServiceReceptionDesk> findNearestReceptionDesk(BlockPos from, double maxDistance);
+    List<BlockPos> getFreeChairsAt(BlockPos tablePos);
     
     /**
-     * Find nearest available bed for a customer
-     * Used by FindBed behavior
+     * Get positions of all service lecterns
+     * Used by TargetDispatchManager to assign lecterns
+     */
+    List<BlockPos> getLecternPositions();
+    
+    /**
+     * Get positions of all reception desks
+     * Used by TargetDispatchManager to assign reception desks
+     */
+    List<BlockPos> getReceptionDeskPositions();
+    
+    /**
+     * Get the queue slots in front of a lectern or reception desk (closest first)
+     * Used by ServiceQueueManager to place waiting customers
+     */
+    List<BlockPos> getQueueSlots(BlockPos counterPos);
+    
+    /**
+     * Get positions of all beds that are not reserved
+     * Used by TargetDispatchManager to assign beds
+     */
+    List<BlockPos> getAvailableBedPositions();
+    
+    /**
+     * Get the standable spots next to a bed (precomputed by its sleeping space)
+     * Used by TargetDispatchManager to pick where a customer walks to
+     */
+    List<BlockPos> getBedApproachPositions(BlockPos bedPos);
+    
+    /**
+     * Find a room for a group of guests (smallest enclosed room with enough free beds)
+     * @return Free beds of that room, or an empty list if no room fits
      */
-    Optional<BlockPos> findNearestAvailableBed(BlockPos from, double maxDistance);
+    List<BlockPos> findRoomForGuests(int guests);
     
     /**
      * Reserve a bed for a customer
@@ -144,6 +179,13 @@ public interface TavernContext {
      */
     boolean reserveBed(BlockPos bedPos, UUID customerId);
     
+    /**
+     * Extend a bed reservation (reservations are leases that expire unless renewed)
+     * Used by FindBed and SleepInBed while the customer still needs the bed
+     * @return false if another customer holds the bed now
+     */
+    boolean renewBed(BlockPos bedPos, UUID customerId);
+    
     /**
      * Release a bed reservation
      * Used by FindBed and SleepInBed behaviors when customer is done
@@ -171,6 +213,54 @@ public interface TavernContext {
      */
     boolean isChairReservedBy(BlockPos chairPos, UUID customerId);
     
+    /**
+     * Get hostile mobs found near the tavern by the last shared threat scan
+     * Used by TavernThreatSensor instead of a per-customer entity query
+     */
+    List<net.minecraft.world.entity.Mob> getNearbyThreats();
+    
+    /**
+     * Get the tavern's customer event trace
+     * Used by customers and behaviors instead of INFO logging on hot paths
+     */
+    maxitoson.tavernkeeper.tavern.managers.system.CustomerTraceManager getCustomerTrace();
+    
+    /**
+     * Get the tavern's shared path cache for recurring customer routes
+     * Used by CustomerPathNavigation to skip pathfinding on known routes
+     */
+    maxitoson.tavernkeeper.tavern.managers.system.PathCacheManager getPathCache();
+    
+    /**
+     * Get the tavern's per-tick budget for new path computations
+     * Used by CustomerPathNavigation to spread pathfinding over several ticks
+     */
+    maxitoson.tavernkeeper.tavern.managers.system.PathRequestManager getPathRequests();
+    
+    /**
+     * Get the tavern's central dispatcher for customer targets
+     * Used by MoveToTargetBehavior to request chairs, beds and service points
+     */
+    maxitoson.tavernkeeper.tavern.managers.system.TargetDispatchManager getTargetDispatcher();
+    
+    /**
+     * Get the tavern's negative cache of targets customers failed to reach
+     * Used by MoveToTargetBehavior to skip them when searching for a target
+     */
+    maxitoson.tavernkeeper.tavern.managers.system.UnreachableTargetManager getUnreachableTargets();
+    
+    /**
+     * Get the tavern's timing wheel for customer deadlines
+     * Used by customers and behaviors instead of checking elapsed time every tick
+     */
+    maxitoson.tavernkeeper.tavern.managers.system.CustomerTimerManager getCustomerTimers();
+    
+    /**
+     * Get the tavern's queues in front of lecterns and reception desks
+     * Used by the service behaviors to line customers up and by CustomerManager when serving
+     */
+    maxitoson.tavernkeeper.tavern.managers.system.ServiceQueueManager getServiceQueues();
+    
     /**
      * Create a new food request for a customer
      * Used by WaitAtLectern behavior when customer places order
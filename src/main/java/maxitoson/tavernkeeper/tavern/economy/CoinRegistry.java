@@ -1,7 +1,6 @@
 package maxitoson.tavernkeeper.tavern.economy;
 
 import maxitoson.tavernkeeper.TavernKeeperMod;
-import net.minecraft.nbt.CompoundTag;
 import net.minecraft.world.item.Item;
 
 /**
@@ -26,7 +25,7 @@ public final class CoinRegistry {
     /** Number of coin tiers */
     public static final int TIER_COUNT = 5;
     
-    /** Tier keys for NBT storage (lowest to highest) */
+    /** Tier keys (lowest to highest), also the NBT keys of wallets saved before WalletContents */
     public static final String[] TIER_KEYS = {"copper", "iron", "gold", "diamond", "netherite"};
     
     // Cached tier items (lazy init to avoid static init order issues)
@@ -137,23 +136,16 @@ public final class CoinRegistry {
     // ==================== CONVERSION METHODS ====================
     
     /**
-     * Auto-convert lower tier coins to higher tier in a wallet NBT tag.
+     * Auto-convert lower tier coins to higher tier in per-tier wallet counts.
      * 100 of a lower tier = 1 of the next tier.
-     * Modifies the tag in place.
+     * Modifies the array in place (index 0 = copper).
      */
-    public static void autoConvertTag(CompoundTag tag) {
+    public static void autoConvert(long[] counts) {
         // Process from lowest to highest tier (skip last - nothing to convert to)
         for (int i = 0; i < TIER_COUNT - 1; i++) {
-            String currentTier = TIER_KEYS[i];
-            String nextTier = TIER_KEYS[i + 1];
-            
-            long currentCount = tag.getLong(currentTier);
-            if (currentCount >= CONVERSION_RATE) {
-                long convertAmount = currentCount / CONVERSION_RATE;
-                long remainder = currentCount % CONVERSION_RATE;
-                
-                tag.putLong(currentTier, remainder);
-                tag.putLong(nextTier, tag.getLong(nextTier) + convertAmount);
+            if (counts[i] >= CONVERSION_RATE) {
+                counts[i + 1] += counts[i] / CONVERSION_RATE;
+                counts[i] %= CONVERSION_RATE;
             }
         }
     }
@@ -8,6 +8,8 @@ import net.minecraft.world.level.block.StairBlock;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.properties.DirectionProperty;
 
+import java.util.List;
+
 /**
  * Represents a chair in the dining hall
  * Supports vanilla stairs and modded furniture (e.g., Macaw's Furniture)
@@ -16,6 +18,7 @@ public class Chair {
     private final BlockPos position;
     private final BlockState blockState;
     private boolean isValid; // A chair is valid if it faces a table
+    private List<BlockPos> approachPositions = List.of(); // Standable spots next to the chair (computed by Space)
     
     public Chair(BlockPos position, BlockState blockState) {
         this.position = position.immutable();
@@ -39,6 +42,18 @@ public class Chair {
         this.isValid = valid;
     }
     
+    /**
+     * Standable blocks next to the chair that customers walk to before sitting down
+     * Empty if there are none (customers then walk to the chair itself)
+     */
+    public List<BlockPos> getApproachPositions() {
+        return approachPositions;
+    }
+    
+    public void setApproachPositions(List<BlockPos> approachPositions) {
+        this.approachPositions = List.copyOf(approachPositions);
+    }
+    
     /**
      * Get the direction the chair is facing (where a player would look when sitting)
      * For Stairs: FACING points to the backrest, so we return the OPPOSITE
@@ -183,6 +183,14 @@ public abstract class BaseDomainManager<T extends BaseSpace> {
         return counter;
     }
     
+    /**
+     * Current game time of the tavern's level (0 before the level is known)
+     */
+    protected long getGameTime() {
+        ServerLevel level = tavern.getLevel();
+        return level != null ? level.getGameTime() : 0;
+    }
+    
     /**
      * Save manager state to NBT
      * Subclasses should override to save additional data
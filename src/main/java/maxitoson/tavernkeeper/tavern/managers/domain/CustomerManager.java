@@ -1,6 +1,5 @@
 package maxitoson.tavernkeeper.tavern.managers.domain;
 
-import com.mojang.logging.LogUtils;
 import maxitoson.tavernkeeper.TavernKeeperMod;
 import maxitoson.tavernkeeper.entities.CustomerEntity;
 import maxitoson.tavernkeeper.entities.ai.CustomerState;
@@ -12,6 +11,7 @@ import maxitoson.tavernkeeper.tavern.economy.CustomerRequest;
 import maxitoson.tavernkeeper.tavern.economy.FoodRequest;
 import maxitoson.tavernkeeper.tavern.economy.SleepingRequest;
 import maxitoson.tavernkeeper.tavern.TavernContext;
+import maxitoson.tavernkeeper.tavern.managers.system.CustomerTraceManager.EventType;
 import java.util.Optional;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.HolderLookup;
@@ -228,6 +228,9 @@ public class CustomerManager {
         CustomerLifecycle lifecycle = CustomerLifecycleFactory.create(tavern, random);
         customer.setLifecycle(lifecycle);
         
+        // Bind customer to this tavern (behaviors use the handle instead of global lookups)
+        customer.bindTavern(tavern);
+        
         // Finalize spawn (from Raid.java line 613)
         customer.finalizeSpawn(level, level.getCurrentDifficultyAt(pos), MobSpawnType.EVENT, null);
         
@@ -413,13 +416,13 @@ public class CustomerManager {
             new CustomerPaymentEvent(player, customer, foodRequest)
         );
         
+        customer.trace(EventType.SERVED, null, 
+            customer.getCustomerState().ordinal(), foodRequest.getPrice().getCopperValue());
+        tavern.getServiceQueues().leave(customer, customer.level().getGameTime(), true);
+        
         // Customer received food - transition to next state via lifecycle
         customer.transitionToNextState((net.minecraft.server.level.ServerLevel) customer.level());
         
-        LogUtils.getLogger().info("Player {} served customer {} with {} and received {}", 
-            player.getName().getString(), customer.getId(), 
-            foodRequest.getDisplayName(), foodRequest.getPrice().getDisplayName());
-        
         return ServiceResult.success(foodRequest);
     }
     
@@ -437,13 +440,13 @@ public class CustomerManager {
             new CustomerPaymentEvent(player, customer, sleepingRequest)
         );
         
+        customer.trace(EventType.SERVED, null, 
+            customer.getCustomerState().ordinal(), sleepingRequest.getPrice().getCopperValue());
+        tavern.getServiceQueues().leave(customer, customer.level().getGameTime(), true);
+        
         // Customer transitions to finding bed via lifecycle
         customer.transitionToNextState((net.minecraft.server.level.ServerLevel) customer.level());
         
-        LogUtils.getLogger().info("Player {} accepted payment from customer {} for {} and received {}", 
-            player.getName().getString(), customer.getId(), 
-            sleepingRequest.getDisplayName(), sleepingRequest.getPrice().getDisplayName());
-        
         return ServiceResult.success(sleepingRequest);
     }
     
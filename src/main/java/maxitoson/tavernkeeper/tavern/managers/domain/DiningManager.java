@@ -6,13 +6,14 @@ import maxitoson.tavernkeeper.tavern.TavernContext;
 import maxitoson.tavernkeeper.tavern.furniture.Chair;
 import maxitoson.tavernkeeper.tavern.furniture.types.DiningFurnitureType;
 import maxitoson.tavernkeeper.tavern.spaces.DiningSpace;
+import maxitoson.tavernkeeper.tavern.utils.ReservationPool;
+import java.util.List;
 import java.util.Optional;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -23,8 +24,8 @@ import java.util.UUID;
  */
 public class DiningManager extends BaseDomainManager<DiningSpace> implements DiningManagerContext {
     
-    // Track which customer is occupying which chair
-    private final Map<BlockPos, UUID> occupiedChairs = new HashMap<>();
+    // Track which customer is occupying which chair (leases, persisted)
+    private final ReservationPool chairReservations = new ReservationPool();
     
     // Upgrade-based limits (set by upgrade system)
     private int maxTables;
@@ -113,7 +114,7 @@ public class DiningManager extends BaseDomainManager<DiningSpace> implements Din
      * Check if a chair is available (not occupied by another customer)
      */
     public boolean isChairAvailable(BlockPos chairPos) {
-        return !occupiedChairs.containsKey(chairPos);
+        return !chairReservations.isHeld(chairPos.asLong(), getGameTime());
     }
     
     /**
@@ -121,25 +122,99 @@ public class DiningManager extends BaseDomainManager<DiningSpace> implements Din
      * Returns true if successfully reserved, false if already occupied
      */
     public boolean reserveChair(BlockPos chairPos, UUID customerId) {
-        if (occupiedChairs.containsKey(chairPos)) {
-            return false;
+        boolean wasReserved = chairReservations.contains(chairPos.asLong());
+        boolean acquired = chairReservations.tryAcquire(chairPos.asLong(), customerId, getGameTime());
+        if (acquired && !wasReserved) {
+            onChairReservationChanged(chairPos, true);
         }
-        occupiedChairs.put(chairPos, customerId);
-        return true;
+        return acquired;
+    }
+    
+    /**
+     * Extend a customer's chair reservation (leases expire unless renewed)
+     * Returns false if another customer holds the chair now
+     */
+    public boolean renewChair(BlockPos chairPos, UUID customerId) {
+        boolean wasReserved = chairReservations.contains(chairPos.asLong());
+        boolean renewed = chairReservations.renew(chairPos.asLong(), customerId, getGameTime());
+        if (renewed && !wasReserved) {
+            onChairReservationChanged(chairPos, true);
+        }
+        return renewed;
     }
     
     /**
      * Release a chair when customer is done
      */
     public void releaseChair(BlockPos chairPos) {
-        occupiedChairs.remove(chairPos);
+        if (chairReservations.contains(chairPos.asLong())) {
+            chairReservations.release(chairPos.asLong());
+            onChairReservationChanged(chairPos, false);
+        }
+    }
+    
+    /**
+     * Drop chair reservations whose lease ran out (owner gone or stuck)
+     * @return Number of chairs that became free
+     */
+    public int sweepReservations(long gameTime) {
+        return chairReservations.sweep(gameTime, key -> onChairReservationChanged(BlockPos.of(key), false));
+    }
+    
+    @Override
+    public boolean hasChairReservation(BlockPos chairPos) {
+        return chairReservations.contains(chairPos.asLong());
+    }
+    
+    /**
+     * Keep the free-seat counts of the chair's table in step with reservations
+     */
+    private void onChairReservationChanged(BlockPos chairPos, boolean reserved) {
+        for (DiningSpace space : spaces.values()) {
+            space.onChairReservationChanged(chairPos, reserved);
+        }
+    }
+    
+    // ========== Group Seating ==========
+    
+    /**
+     * Find the table closest to a position that still has the given number of free seats
+     * Each space answers from its free-seat index, so tables without enough seats are never looked at
+     * @return Table position, or empty if no table has that many free seats
+     */
+    public Optional<BlockPos> findTableWithFreeSeats(BlockPos from, int seats) {
+        BlockPos best = null;
+        double bestDistSqr = Double.MAX_VALUE;
+        for (DiningSpace space : spaces.values()) {
+            BlockPos table = space.findNearestTableWithFreeSeats(from, seats);
+            if (table != null && table.distSqr(from) < bestDistSqr) {
+                bestDistSqr = table.distSqr(from);
+                best = table;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+    
+    /**
+     * Get the free chairs around a table (to reserve them for a group)
+     */
+    public List<BlockPos> getFreeChairsAt(BlockPos tablePos) {
+        for (DiningSpace space : spaces.values()) {
+            if (space.hasTable(tablePos)) {
+                return space.getChairsAt(tablePos).stream()
+                    .map(Chair::getPosition)
+                    .filter(this::isChairAvailable)
+                    .toList();
+            }
+        }
+        return List.of();
     }
     
     /**
      * Get the customer occupying a chair, or null if not occupied
      */
     public UUID getChairOccupant(BlockPos chairPos) {
-        return occupiedChairs.get(chairPos);
+        return chairReservations.getHolder(chairPos.asLong(), getGameTime());
     }
     
     /**
@@ -165,27 +240,38 @@ public class DiningManager extends BaseDomainManager<DiningSpace> implements Din
      * @return true if chair is reserved by this customer, false if not reserved or reserved by another
      */
     public boolean isChairReservedBy(BlockPos chairPos, UUID customerId) {
-        UUID occupant = occupiedChairs.get(chairPos);
-        return occupant != null && occupant.equals(customerId);
+        return chairReservations.isHeldBy(chairPos.asLong(), customerId, getGameTime());
     }
     
     /**
-     * Find nearest available chair for a customer
+     * Get positions of all valid chairs that are not reserved
      * Manager knows how to query its own spaces
      */
-    public Optional<Chair> findNearestAvailableChair(
-            BlockPos from, double maxDistance) {
+    public List<BlockPos> getAvailableChairPositions() {
         return spaces.values().stream()
             .flatMap(space -> space.getChairs().stream())
             .filter(Chair::isValid)
-            .filter(chair -> isChairAvailable(chair.getPosition()))
-            .filter(chair -> {
-                double distSq = chair.getPosition().distSqr(from);
-                return distSq <= maxDistance * maxDistance;
-            })
-            .min(java.util.Comparator.comparingDouble(chair -> 
-                chair.getPosition().distSqr(from)
-            ));
+            .map(Chair::getPosition)
+            .filter(this::isChairAvailable)
+            .toList();
+    }
+    
+    // ========== Persistence ==========
+    
+    @Override
+    public void save(CompoundTag tag, HolderLookup.Provider registries) {
+        super.save(tag, registries);
+        chairReservations.save(tag, "chair_reservations");
+    }
+    
+    @Override
+    public void load(CompoundTag tag, ServerLevel level, HolderLookup.Provider registries) {
+        super.load(tag, level, registries);
+        chairReservations.load(tag, "chair_reservations");
+        
+        // Spaces were scanned before the reservations came back
+        for (DiningSpace space : spaces.values()) {
+            space.recountReservedSeats();
+        }
     }
 }
-
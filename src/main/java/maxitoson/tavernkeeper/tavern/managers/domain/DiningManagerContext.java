@@ -2,6 +2,7 @@ package maxitoson.tavernkeeper.tavern.managers.domain;
 
 import maxitoson.tavernkeeper.tavern.furniture.types.DiningFurnitureType;
 import maxitoson.tavernkeeper.tavern.managers.ManagerContext;
+import net.minecraft.core.BlockPos;
 
 /**
  * Interface defining what DiningSpace can query from its parent DiningManager
@@ -18,5 +19,11 @@ public interface DiningManagerContext extends ManagerContext {
      * @return true if furniture can be added, false if limit reached
      */
     boolean canAddFurniture(DiningFurnitureType type);
+    
+    /**
+     * Check if a chair has a reservation entry (live, or expired and waiting for the sweep)
+     * Used by DiningSpace to count taken seats per table
+     */
+    boolean hasChairReservation(BlockPos chairPos);
 }
 
@@ -7,7 +7,7 @@ import maxitoson.tavernkeeper.tavern.furniture.types.ServiceFurnitureType;
 import maxitoson.tavernkeeper.tavern.furniture.ServiceLectern;
 import maxitoson.tavernkeeper.tavern.furniture.ServiceReceptionDesk;
 import maxitoson.tavernkeeper.tavern.spaces.ServiceSpace;
-import java.util.Optional;
+import java.util.List;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
@@ -18,11 +18,14 @@ import net.minecraft.server.level.ServerLevel;
  */
 public class ServiceManager extends BaseDomainManager<ServiceSpace> implements ServiceManagerContext {
     
-    private static final int MAX_LECTERNS = 1;
-    private static final int MAX_RECEPTION_DESKS = 1;
+    // Upgrade-based limits (set by upgrade system)
+    private int maxLecterns;
+    private int maxReceptionDesks;
     
     public ServiceManager(TavernContext tavern) {
         super(tavern);
+        this.maxLecterns = 1; // Default
+        this.maxReceptionDesks = 1; // Default
     }
     
     @Override
@@ -63,37 +66,67 @@ public class ServiceManager extends BaseDomainManager<ServiceSpace> implements S
     }
     
     /**
-     * Find nearest service lectern
+     * Get the maximum number of lecterns (across all service spaces)
+     */
+    public int getMaxLecterns() {
+        return maxLecterns;
+    }
+    
+    /**
+     * Set the maximum number of lecterns (called by upgrade system)
+     */
+    public void setMaxLecterns(int maxLecterns) {
+        this.maxLecterns = maxLecterns;
+    }
+    
+    /**
+     * Get the maximum number of reception desks (across all service spaces)
+     */
+    public int getMaxReceptionDesks() {
+        return maxReceptionDesks;
+    }
+    
+    /**
+     * Set the maximum number of reception desks (called by upgrade system)
+     */
+    public void setMaxReceptionDesks(int maxReceptionDesks) {
+        this.maxReceptionDesks = maxReceptionDesks;
+    }
+    
+    /**
+     * Get positions of all service lecterns
      * Manager knows how to query its own spaces
      */
-    public Optional<ServiceLectern> findNearestLectern(
-            BlockPos from, double maxDistance) {
+    public List<BlockPos> getLecternPositions() {
         return spaces.values().stream()
             .flatMap(space -> space.getLecterns().stream())
-            .filter(lectern -> {
-                double distSq = lectern.getPosition().distSqr(from);
-                return distSq <= maxDistance * maxDistance;
-            })
-            .min(java.util.Comparator.comparingDouble(lectern -> 
-                lectern.getPosition().distSqr(from)
-            ));
+            .map(ServiceLectern::getPosition)
+            .toList();
     }
     
     /**
-     * Find nearest reception desk
+     * Get positions of all reception desks
      * Manager knows how to query its own spaces
      */
-    public Optional<ServiceReceptionDesk> findNearestReceptionDesk(
-            BlockPos from, double maxDistance) {
+    public List<BlockPos> getReceptionDeskPositions() {
         return spaces.values().stream()
             .flatMap(space -> space.getReceptionDesks().stream())
-            .filter(desk -> {
-                double distSq = desk.getPosition().distSqr(from);
-                return distSq <= maxDistance * maxDistance;
-            })
-            .min(java.util.Comparator.comparingDouble(desk -> 
-                desk.getPosition().distSqr(from)
-            ));
+            .map(ServiceReceptionDesk::getPosition)
+            .toList();
+    }
+    
+    /**
+     * Get the queue slots in front of a lectern or reception desk (closest first)
+     * Empty if the position isn't a counter of any service area
+     */
+    public List<BlockPos> getQueueSlots(BlockPos counterPos) {
+        for (ServiceSpace space : spaces.values()) {
+            List<BlockPos> slots = space.getQueueSlots(counterPos);
+            if (!slots.isEmpty()) {
+                return slots;
+            }
+        }
+        return List.of();
     }
     
     /**
@@ -106,8 +139,8 @@ public class ServiceManager extends BaseDomainManager<ServiceSpace> implements S
     @Override
     public boolean canAddFurniture(ServiceFurnitureType type) {
         return switch (type) {
-            case LECTERN -> getTotalLecternCount() < MAX_LECTERNS;
-            case RECEPTION_DESK -> getTotalReceptionDeskCount() < MAX_RECEPTION_DESKS;
+            case LECTERN -> getTotalLecternCount() < maxLecterns;
+            case RECEPTION_DESK -> getTotalReceptionDeskCount() < maxReceptionDesks;
             default -> true; // No limit on other furniture types (e.g., barrels)
         };
     }
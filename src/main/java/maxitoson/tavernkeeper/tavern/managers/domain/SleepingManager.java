@@ -4,14 +4,15 @@ import maxitoson.tavernkeeper.areas.AreaType;
 import maxitoson.tavernkeeper.areas.TavernArea;
 import maxitoson.tavernkeeper.tavern.TavernContext;
 import maxitoson.tavernkeeper.tavern.furniture.types.SleepingFurnitureType;
+import maxitoson.tavernkeeper.tavern.spaces.RoomIndex;
 import maxitoson.tavernkeeper.tavern.spaces.SleepingSpace;
-import java.util.Optional;
+import maxitoson.tavernkeeper.tavern.utils.ReservationPool;
+import java.util.List;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -22,8 +23,8 @@ import java.util.UUID;
  */
 public class SleepingManager extends BaseDomainManager<SleepingSpace> implements SleepingManagerContext {
     
-    // Track which beds are occupied by which customers (not persisted - runtime state)
-    private final Map<BlockPos, UUID> occupiedBeds = new HashMap<>();
+    // Track which beds are occupied by which customers (leases, persisted)
+    private final ReservationPool bedReservations = new ReservationPool();
     
     // Upgrade-based limits (set by upgrade system)
     private int maxBeds;
@@ -77,7 +78,7 @@ public class SleepingManager extends BaseDomainManager<SleepingSpace> implements
      * Check if a bed is available (not occupied by another customer)
      */
     public boolean isBedAvailable(BlockPos bedPos) {
-        return !occupiedBeds.containsKey(bedPos);
+        return !bedReservations.isHeld(bedPos.asLong(), getGameTime());
     }
     
     /**
@@ -85,25 +86,83 @@ public class SleepingManager extends BaseDomainManager<SleepingSpace> implements
      * Returns true if successfully reserved, false if already occupied
      */
     public boolean reserveBed(BlockPos bedPos, UUID customerId) {
-        if (occupiedBeds.containsKey(bedPos)) {
-            return false;
+        boolean wasReserved = bedReservations.contains(bedPos.asLong());
+        boolean acquired = bedReservations.tryAcquire(bedPos.asLong(), customerId, getGameTime());
+        if (acquired && !wasReserved) {
+            onBedReservationChanged(bedPos, true);
         }
-        occupiedBeds.put(bedPos, customerId);
-        return true;
+        return acquired;
+    }
+    
+    /**
+     * Extend a customer's bed reservation (leases expire unless renewed)
+     * Returns false if another customer holds the bed now
+     */
+    public boolean renewBed(BlockPos bedPos, UUID customerId) {
+        boolean wasReserved = bedReservations.contains(bedPos.asLong());
+        boolean renewed = bedReservations.renew(bedPos.asLong(), customerId, getGameTime());
+        if (renewed && !wasReserved) {
+            onBedReservationChanged(bedPos, true);
+        }
+        return renewed;
     }
     
     /**
      * Release a bed when customer is done
      */
     public void releaseBed(BlockPos bedPos) {
-        occupiedBeds.remove(bedPos);
+        if (bedReservations.contains(bedPos.asLong())) {
+            bedReservations.release(bedPos.asLong());
+            onBedReservationChanged(bedPos, false);
+        }
+    }
+    
+    /**
+     * Drop bed reservations whose lease ran out (owner gone or stuck)
+     * @return Number of beds that became free
+     */
+    public int sweepReservations(long gameTime) {
+        return bedReservations.sweep(gameTime, key -> onBedReservationChanged(BlockPos.of(key), false));
+    }
+    
+    @Override
+    public boolean hasBedReservation(BlockPos bedPos) {
+        return bedReservations.contains(bedPos.asLong());
+    }
+    
+    /**
+     * Keep the free-bed counts of the bed's room in step with reservations
+     */
+    private void onBedReservationChanged(BlockPos bedPos, boolean reserved) {
+        for (SleepingSpace space : spaces.values()) {
+            space.onBedReservationChanged(bedPos, reserved);
+        }
+    }
+    
+    // ========== Rooms ==========
+    
+    /**
+     * Find a room for a group: the smallest enclosed room with enough free beds
+     * Each space answers from its free-bed index in constant time
+     * @return Free beds of that room, or an empty list if no room fits
+     */
+    public List<BlockPos> findRoomForGuests(int guests) {
+        RoomIndex.Room best = null;
+        for (SleepingSpace space : spaces.values()) {
+            RoomIndex.Room room = space.findRoomForGuests(guests);
+            if (room != null && (best == null || room.getFreeBeds() < best.getFreeBeds())) {
+                best = room;
+            }
+        }
+        if (best == null) return List.of();
+        return best.getBeds().stream().filter(this::isBedAvailable).toList();
     }
     
     /**
      * Get the customer occupying a bed, or null if not occupied
      */
     public UUID getBedOccupant(BlockPos bedPos) {
-        return occupiedBeds.get(bedPos);
+        return bedReservations.getHolder(bedPos.asLong(), getGameTime());
     }
     
     /**
@@ -122,26 +181,32 @@ public class SleepingManager extends BaseDomainManager<SleepingSpace> implements
      * @return true if bed is reserved by this customer, false if not reserved or reserved by another
      */
     public boolean isBedReservedBy(BlockPos bedPos, UUID customerId) {
-        UUID occupant = occupiedBeds.get(bedPos);
-        return occupant != null && occupant.equals(customerId);
+        return bedReservations.isHeldBy(bedPos.asLong(), customerId, getGameTime());
     }
     
     /**
-     * Find nearest available bed for a customer
+     * Get positions of all beds that are not reserved
      * Manager knows how to query its own spaces
      */
-    public Optional<BlockPos> findNearestAvailableBed(
-            BlockPos from, double maxDistance) {
+    public List<BlockPos> getAvailableBedPositions() {
         return spaces.values().stream()
             .flatMap(space -> space.getBeds().stream())
-            .filter(bedPos -> isBedAvailable(bedPos))
-            .filter(bedPos -> {
-                double distSq = bedPos.distSqr(from);
-                return distSq <= maxDistance * maxDistance;
-            })
-            .min(java.util.Comparator.comparingDouble(bedPos -> 
-                bedPos.distSqr(from)
-            ));
+            .filter(this::isBedAvailable)
+            .toList();
+    }
+    
+    /**
+     * Get the standable spots next to a bed (by HEAD position)
+     * Empty if the bed is unknown or boxed in
+     */
+    public List<BlockPos> getBedApproachPositions(BlockPos bedPos) {
+        for (SleepingSpace space : spaces.values()) {
+            List<BlockPos> approaches = space.getApproachPositions(bedPos);
+            if (!approaches.isEmpty()) {
+                return approaches;
+            }
+        }
+        return List.of();
     }
     
     /**
@@ -157,4 +222,23 @@ public class SleepingManager extends BaseDomainManager<SleepingSpace> implements
             case BED -> getTotalBedCount() < maxBeds;
         };
     }
+    
+    // ========== Persistence ==========
+    
+    @Override
+    public void save(CompoundTag tag, HolderLookup.Provider registries) {
+        super.save(tag, registries);
+        bedReservations.save(tag, "bed_reservations");
+    }
+    
+    @Override
+    public void load(CompoundTag tag, ServerLevel level, HolderLookup.Provider registries) {
+        super.load(tag, level, registries);
+        bedReservations.load(tag, "bed_reservations");
+        
+        // Spaces were scanned before the reservations came back
+        for (SleepingSpace space : spaces.values()) {
+            space.recountReservedBeds();
+        }
+    }
 }
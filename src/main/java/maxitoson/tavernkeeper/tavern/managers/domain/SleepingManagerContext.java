@@ -2,6 +2,7 @@ package maxitoson.tavernkeeper.tavern.managers.domain;
 
 import maxitoson.tavernkeeper.tavern.furniture.types.SleepingFurnitureType;
 import maxitoson.tavernkeeper.tavern.managers.ManagerContext;
+import net.minecraft.core.BlockPos;
 
 /**
  * Interface defining what SleepingSpace can query from its parent SleepingManager
@@ -18,5 +19,11 @@ public interface SleepingManagerContext extends ManagerContext {
      * @return true if furniture can be added, false if limit reached
      */
     boolean canAddFurniture(SleepingFurnitureType type);
+    
+    /**
+     * Check if a bed has a reservation entry (live, or expired and waiting for the sweep)
+     * Used by SleepingSpace to count taken beds per room
+     */
+    boolean hasBedReservation(BlockPos bedPos);
 }
 
@@ -0,0 +1,167 @@
+package maxitoson.tavernkeeper.tavern.managers.system;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import maxitoson.tavernkeeper.areas.TavernArea;
+import maxitoson.tavernkeeper.tavern.spaces.BaseSpace;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Interval index over the boxes of all tavern areas, for overlap checks
+ * - Augmented interval tree on the X axis: boxes sorted by min X form an implicit balanced
+ *   tree (each range's middle box is its root), and every node keeps the largest max X
+ *   of its subtree. Subtrees ending before the query and boxes starting after it are
+ *   pruned, so a query costs O(log n + k) for k boxes overlapping on X, whatever the
+ *   size of the other boxes, followed by an exact check of those k boxes
+ * - Built lazily from the tavern's spaces and dropped whenever areas change
+ *   (areas change rarely, queries come in bursts: placing an area, the overlaps command)
+ *
+ * Pattern: Owned by Tavern, used when areas are created or reshaped and by /tavernarea overlaps
+ * Category: System Manager (runtime state only, not persisted)
+ */
+public class AreaIndexManager {
+
+    private record Entry(TavernArea area, BoundingBox box) {}
+
+    /**
+     * Two areas sharing blocks
+     */
+    public record Overlap(TavernArea first, TavernArea second, int blocks) {}
+
+    private final Supplier<Collection<BaseSpace>> spaces;
+    private Entry[] byMinX = null; // Sorted by min X, null = rebuild on next query
+    private int[] subtreeMaxX;     // Largest max X in the subtree rooted at each index
+
+    public AreaIndexManager(Supplier<Collection<BaseSpace>> spaces) {
+        this.spaces = spaces;
+    }
+
+    /**
+     * Drop the index (areas were created, extended, deleted or loaded)
+     */
+    public void invalidate() {
+        byMinX = null;
+    }
+
+    /**
+     * Areas sharing at least one block with the box between two corners, in index order
+     */
+    public List<TavernArea> findOverlapping(BlockPos corner1, BlockPos corner2) {
+        return findOverlapping(BoundingBox.fromCorners(corner1, corner2));
+    }
+    
+    /**
+     * Areas sharing at least one block with a box, in index order
+     */
+    public List<TavernArea> findOverlapping(BoundingBox box) {
+        Set<TavernArea> result = new LinkedHashSet<>();
+        for (Entry entry : candidates(box)) {
+            if (entry.box().intersects(box)) {
+                result.add(entry.area());
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Every pair of areas that share blocks, with the number of shared blocks
+     */
+    public List<Overlap> findAllOverlaps() {
+        List<Overlap> result = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Entry entry : index()) {
+            for (Entry other : candidates(entry.box())) {
+                if (other.area() == entry.area() || !other.box().intersects(entry.box())) continue;
+                UUID a = entry.area().getId();
+                UUID b = other.area().getId();
+                String key = a.compareTo(b) < 0 ? a + ":" + b : b + ":" + a;
+                if (seen.add(key)) {
+                    result.add(new Overlap(entry.area(), other.area(), countShared(entry.area(), other.area())));
+                }
+            }
+        }
+        return result;
+    }
+
+    // ========== Index ==========
+
+    private Entry[] index() {
+        if (byMinX == null) {
+            List<Entry> entries = new ArrayList<>();
+            for (BaseSpace space : spaces.get()) {
+                TavernArea area = space.getArea();
+                for (BoundingBox box : area.getBoxes()) {
+                    entries.add(new Entry(area, box));
+                }
+            }
+            entries.sort(Comparator.comparingInt(entry -> entry.box().minX()));
+            byMinX = entries.toArray(new Entry[0]);
+            subtreeMaxX = new int[byMinX.length];
+            buildSubtree(0, byMinX.length);
+        }
+        return byMinX;
+    }
+
+    /**
+     * Fill in the largest max X of the subtree over [from, to), rooted at its middle index
+     * @return That max X, or Integer.MIN_VALUE for an empty range
+     */
+    private int buildSubtree(int from, int to) {
+        if (from >= to) return Integer.MIN_VALUE;
+        int mid = (from + to) >>> 1;
+        int maxX = Math.max(byMinX[mid].box().maxX(), Math.max(buildSubtree(from, mid), buildSubtree(mid + 1, to)));
+        subtreeMaxX[mid] = maxX;
+        return maxX;
+    }
+
+    /**
+     * Boxes whose X interval intersects the given box's X interval
+     */
+    private List<Entry> candidates(BoundingBox box) {
+        Entry[] index = index();
+        List<Entry> result = new ArrayList<>();
+        collect(0, index.length, box.minX(), box.maxX(), result);
+        return result;
+    }
+
+    private void collect(int from, int to, int minX, int maxX, List<Entry> into) {
+        if (from >= to) return;
+        int mid = (from + to) >>> 1;
+        if (subtreeMaxX[mid] < minX) return;  // Whole subtree ends before the query
+        collect(from, mid, minX, maxX, into);
+        BoundingBox box = byMinX[mid].box();
+        if (box.minX() > maxX) return;        // This box and everything after it start past the query
+        if (box.maxX() >= minX) {
+            into.add(byMinX[mid]);
+        }
+        collect(mid + 1, to, minX, maxX, into);
+    }
+
+    /**
+     * Exact count of blocks in both areas (walks the box intersections only)
+     */
+    private static int countShared(TavernArea first, TavernArea second) {
+        LongOpenHashSet shared = new LongOpenHashSet();
+        for (BoundingBox a : first.getBoxes()) {
+            for (BoundingBox b : second.getBoxes()) {
+                if (!a.intersects(b)) continue;
+                for (BlockPos pos : BlockPos.betweenClosed(
+                        Math.max(a.minX(), b.minX()), Math.max(a.minY(), b.minY()), Math.max(a.minZ(), b.minZ()),
+                        Math.min(a.maxX(), b.maxX()), Math.min(a.maxY(), b.maxY()), Math.min(a.maxZ(), b.maxZ()))) {
+                    shared.add(pos.asLong());
+                }
+            }
+        }
+        return shared.size();
+    }
+}
@@ -0,0 +1,179 @@
+package maxitoson.tavernkeeper.tavern.managers.system;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import maxitoson.tavernkeeper.entities.CustomerEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tavern-wide deadlines for customer durations (eating, sleeping, leaving, panic)
+ * - Behaviors schedule a deadline once instead of comparing elapsed time every tick;
+ *   the customer is called back (CustomerEntity.onTimerExpired) when it expires
+ * - Deadlines live in a hierarchical timing wheel: three levels of 256 x 1 tick,
+ *   64 x 256 ticks and 64 x 16384 ticks. Each tick only the current level-0 slot is
+ *   fired; coarser slots are cascaded down when their time comes, so a timer is
+ *   touched at most three times however long it is
+ * - A customer has at most one timer per type: scheduling again replaces it
+ * - Customers that are gone when their timer fires are skipped
+ *
+ * Pattern: Owned by Tavern, used by customer behaviors and CustomerEntity
+ * Category: System Manager (runtime state only, not persisted)
+ */
+public class CustomerTimerManager {
+    private static final int L0_BITS = 8;   // 256 slots of 1 tick
+    private static final int L1_BITS = 6;   // 64 slots of 256 ticks
+    private static final int L2_BITS = 6;   // 64 slots of 16384 ticks
+    private static final int L0_SLOTS = 1 << L0_BITS;
+    private static final int L1_SLOTS = 1 << L1_BITS;
+    private static final int L2_SLOTS = 1 << L2_BITS;
+    private static final int L1_SHIFT = L0_BITS;
+    private static final int L2_SHIFT = L0_BITS + L1_BITS;
+    private static final long L0_SPAN = 1L << L1_SHIFT;  // Ticks covered by level 0
+    private static final long L1_SPAN = 1L << L2_SHIFT;  // Ticks covered by levels 0 and 1
+
+    /**
+     * Kinds of customer deadlines
+     */
+    public enum TimerType {
+        EATING_DONE,     // EatAtChair: meal finished
+        WAKE_UP,         // SleepInBed: minimum sleep over / time to check for dawn
+        LEAVE_TIMEOUT,   // Leave: safety timeout for walking back to spawn
+        PANIC_LIMIT,     // CustomerEntity: cumulative panic time exceeded
+        DORMANT_HEARTBEAT // CustomerEntity: periodic brain tick while dormant
+    }
+
+    private static final class Timer {
+        private final CustomerEntity customer;
+        private final TimerType type;
+        private final long deadline;
+        private boolean cancelled;
+
+        private Timer(CustomerEntity customer, TimerType type, long deadline) {
+            this.customer = customer;
+            this.type = type;
+            this.deadline = deadline;
+        }
+    }
+
+    private final List<Timer>[] level0 = newLevel(L0_SLOTS);
+    private final List<Timer>[] level1 = newLevel(L1_SLOTS);
+    private final List<Timer>[] level2 = newLevel(L2_SLOTS);
+    // (customer id, type) -> live timer, so a timer can be replaced or cancelled
+    private final Long2ObjectOpenHashMap<Timer> active = new Long2ObjectOpenHashMap<>();
+
+    private long currentTick = -1; // Last tick whose timers were fired
+    private int fired = 0;
+
+    /**
+     * Call the customer back after the given number of ticks
+     * Replaces any timer of the same type the customer already has
+     */
+    public void schedule(CustomerEntity customer, TimerType type, long gameTime, long delay) {
+        if (currentTick < 0) {
+            currentTick = gameTime - 1;
+        }
+        Timer timer = new Timer(customer, type, gameTime + Math.max(delay, 0));
+        Timer previous = active.put(key(customer, type), timer);
+        if (previous != null) {
+            previous.cancelled = true; // Left in its slot, skipped when reached
+        }
+        insert(timer);
+    }
+
+    /**
+     * Drop the customer's timer of the given type (if any)
+     */
+    public void cancel(CustomerEntity customer, TimerType type) {
+        Timer timer = active.remove(key(customer, type));
+        if (timer != null) {
+            timer.cancelled = true;
+        }
+    }
+
+    /**
+     * Fire every timer whose deadline has been reached
+     */
+    public void tick(long gameTime) {
+        if (currentTick < 0) {
+            currentTick = gameTime - 1;
+        }
+        while (currentTick < gameTime) {
+            advance(currentTick + 1);
+        }
+    }
+
+    public int getActiveCount() {
+        return active.size();
+    }
+
+    public int getFiredCount() {
+        return fired;
+    }
+
+    /**
+     * Process one tick: cascade coarse slots that start now, then fire level 0
+     */
+    private void advance(long tick) {
+        if ((tick & (L1_SPAN - 1)) == 0) {
+            cascade(level2, (int) ((tick >> L2_SHIFT) & (L2_SLOTS - 1)));
+        }
+        if ((tick & (L0_SPAN - 1)) == 0) {
+            cascade(level1, (int) ((tick >> L1_SHIFT) & (L1_SLOTS - 1)));
+        }
+        currentTick = tick;
+
+        int slot = (int) (tick & (L0_SLOTS - 1));
+        List<Timer> due = level0[slot];
+        if (due.isEmpty()) return;
+        level0[slot] = new ArrayList<>(); // Callbacks may schedule new timers
+        for (Timer timer : due) {
+            if (timer.cancelled) continue;
+            active.remove(key(timer.customer, timer.type));
+            if (timer.customer.isRemoved() || !timer.customer.isAlive()) continue;
+            fired++;
+            timer.customer.onTimerExpired(timer.type);
+        }
+    }
+
+    /**
+     * Re-insert the timers of a coarse slot, which now land in a finer level
+     * (or, for deadlines more than a full wheel away, back in the same slot)
+     */
+    private void cascade(List<Timer>[] level, int slot) {
+        List<Timer> timers = level[slot];
+        if (timers.isEmpty()) return;
+        level[slot] = new ArrayList<>();
+        for (Timer timer : timers) {
+            if (!timer.cancelled) {
+                insert(timer);
+            }
+        }
+    }
+
+    private void insert(Timer timer) {
+        long next = currentTick + 1; // First tick that has not been fired yet
+        long deadline = Math.max(timer.deadline, next);
+        long delta = deadline - next;
+        if (delta < L0_SPAN) {
+            level0[(int) (deadline & (L0_SLOTS - 1))].add(timer);
+        } else if (delta < L1_SPAN) {
+            level1[(int) ((deadline >> L1_SHIFT) & (L1_SLOTS - 1))].add(timer);
+        } else {
+            level2[(int) ((deadline >> L2_SHIFT) & (L2_SLOTS - 1))].add(timer);
+        }
+    }
+
+    private static long key(CustomerEntity customer, TimerType type) {
+        return ((long) customer.getId() << 8) | type.ordinal();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Timer>[] newLevel(int slots) {
+        List<Timer>[] level = new List[slots];
+        for (int i = 0; i < slots; i++) {
+            level[i] = new ArrayList<>();
+        }
+        return level;
+    }
+}
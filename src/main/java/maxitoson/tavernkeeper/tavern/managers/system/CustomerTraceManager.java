@@ -0,0 +1,152 @@
+package maxitoson.tavernkeeper.tavern.managers.system;
+
+import maxitoson.tavernkeeper.entities.ai.CustomerState;
+import maxitoson.tavernkeeper.entities.ai.LifecycleType;
+import net.minecraft.core.BlockPos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded trace of customer AI events for the whole tavern
+ * - Replaces INFO logging on hot AI paths (state changes, walking, eating, sleeping...)
+ * - Fixed-size ring buffer of primitive columns: recording never allocates or formats
+ * - Oldest events are overwritten once the buffer is full
+ * - Formatting only happens on demand (/tavern trace)
+ *
+ * Pattern: Owned by Tavern, written by customers through TavernContext
+ * Category: System Manager (runtime state only, not persisted)
+ */
+public class CustomerTraceManager {
+    public static final int CAPACITY = 1024;
+    private static final long NO_POS = Long.MIN_VALUE;
+
+    /**
+     * Traced event types
+     * Meaning of the two int arguments depends on the type (see describe())
+     */
+    public enum EventType {
+        LIFECYCLE_ASSIGNED, // a = LifecycleType ordinal
+        STATE_CHANGE,       // a = old CustomerState ordinal, b = new CustomerState ordinal
+        WALKING_TO,         // pos = target, a = CustomerState ordinal, b = distance (blocks)
+        TARGET_REACHED,     // pos = target, a = CustomerState ordinal
+        TARGET_UNREACHABLE, // pos = target, a = CustomerState ordinal
+        GAVE_UP,            // a = CustomerState ordinal, b = ticks spent in that state
+        WAITING,            // pos = service point (if known), a = CustomerState ordinal, b = price (copper)
+        SERVED,             // a = CustomerState ordinal when served, b = price (copper)
+        QUEUE_JOINED,       // pos = counter, a = place in the queue (0 = front)
+        QUEUE_LEFT,         // pos = counter, a = ticks spent in the queue, b = 1 if served
+        EAT_START,          // pos = chair, a = duration (ticks)
+        EAT_END,            // pos = chair, a = 1 if finished normally
+        SLEEP_START,        // pos = bed
+        SLEEP_END,          // pos = bed, a = 1 if woke up in the morning
+        PANIC,              // a = 1 if hurt, b = 1 if hostile nearby
+        LEAVE_START,        // pos = spawn position, b = distance (blocks)
+        DESPAWN             // a = distance walked (blocks), b = ticks spent leaving
+    }
+
+    private final long[] gameTimes = new long[CAPACITY];
+    private final int[] customerIds = new int[CAPACITY];
+    private final byte[] types = new byte[CAPACITY];
+    private final long[] positions = new long[CAPACITY];
+    private final int[] argsA = new int[CAPACITY];
+    private final int[] argsB = new int[CAPACITY];
+
+    private int next = 0;  // Index of the slot written next
+    private int size = 0;  // Number of valid entries (<= CAPACITY)
+
+    /**
+     * Record an event (allocation-free)
+     *
+     * @param pos Related position, or null if none
+     */
+    public void record(long gameTime, int customerId, EventType type, BlockPos pos, int a, int b) {
+        gameTimes[next] = gameTime;
+        customerIds[next] = customerId;
+        types[next] = (byte) type.ordinal();
+        positions[next] = pos != null ? pos.asLong() : NO_POS;
+        argsA[next] = a;
+        argsB[next] = b;
+
+        next = (next + 1) % CAPACITY;
+        if (size < CAPACITY) size++;
+    }
+
+    /**
+     * Number of events currently held
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Forget all recorded events
+     */
+    public void clear() {
+        next = 0;
+        size = 0;
+    }
+
+    /**
+     * Format the most recent events, oldest first
+     *
+     * @param count Maximum number of events to return
+     */
+    public List<String> dump(int count) {
+        int n = Math.min(count, size);
+        List<String> lines = new ArrayList<>(n);
+        int start = (next - n + CAPACITY) % CAPACITY;
+        for (int i = 0; i < n; i++) {
+            lines.add(format((start + i) % CAPACITY));
+        }
+        return lines;
+    }
+
+    private String format(int i) {
+        EventType type = EventType.values()[types[i]];
+        StringBuilder line = new StringBuilder()
+            .append("t=").append(gameTimes[i])
+            .append(" #").append(customerIds[i])
+            .append(' ').append(type.name());
+
+        String details = describe(type, argsA[i], argsB[i]);
+        if (!details.isEmpty()) {
+            line.append(' ').append(details);
+        }
+        if (positions[i] != NO_POS) {
+            BlockPos pos = BlockPos.of(positions[i]);
+            line.append(" @ ").append(pos.getX()).append(',').append(pos.getY()).append(',').append(pos.getZ());
+        }
+        return line.toString();
+    }
+
+    private static String describe(EventType type, int a, int b) {
+        return switch (type) {
+            case LIFECYCLE_ASSIGNED -> lifecycleName(a);
+            case STATE_CHANGE -> stateName(a) + " -> " + stateName(b);
+            case WALKING_TO -> stateName(a) + " (" + b + " blocks)";
+            case TARGET_REACHED, TARGET_UNREACHABLE -> stateName(a);
+            case GAVE_UP -> stateName(a) + " after " + b + " ticks";
+            case WAITING, SERVED -> stateName(a) + " (" + b + " copper)";
+            case QUEUE_JOINED -> "place " + a;
+            case QUEUE_LEFT -> (b == 1 ? "served" : "left") + " after " + a + " ticks";
+            case EAT_START -> a + " ticks";
+            case EAT_END -> a == 1 ? "finished" : "interrupted";
+            case SLEEP_START -> "";
+            case SLEEP_END -> a == 1 ? "morning" : "interrupted";
+            case PANIC -> "hurt=" + (a == 1) + " hostile=" + (b == 1);
+            case LEAVE_START -> b + " blocks to spawn";
+            case DESPAWN -> "walked " + a + " blocks in " + b + " ticks";
+        };
+    }
+
+    private static String stateName(int ordinal) {
+        CustomerState[] states = CustomerState.values();
+        return ordinal >= 0 && ordinal < states.length ? states[ordinal].name() : "?";
+    }
+
+    private static String lifecycleName(int ordinal) {
+        LifecycleType[] lifecycles = LifecycleType.values();
+        return ordinal >= 0 && ordinal < lifecycles.length ? lifecycles[ordinal].name() : "?";
+    }
+}
@@ -0,0 +1,196 @@
+package maxitoson.tavernkeeper.tavern.managers.system;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.pathfinder.Node;
+import net.minecraft.world.level.pathfinder.Path;
+import net.minecraft.world.phys.AABB;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * Shared path cache for recurring tavern routes
+ * - Customers walk between a small fixed set of places (spawn, lecterns, chairs,
+ *   reception desks, beds), so the same routes get computed over and over
+ * - Complete paths are cached per (origin cell, destination) and handed out as copies,
+ *   so customers heading the same way skip A* entirely
+ * - Invalidated by the tavern's block-change feed (any change near a cached route
+ *   drops it) and by a time-to-live as a safety net for changes without events
+ * - Routes are indexed by the chunk sections their bounds reach into, so a block
+ *   change only checks the routes near it
+ *
+ * Pattern: Owned by Tavern, used by CustomerPathNavigation
+ * Category: System Manager (runtime state only, not persisted)
+ */
+public class PathCacheManager {
+    private static final int MAX_ROUTES = 256;        // Oldest routes are evicted beyond this
+    private static final long ROUTE_TTL = 1200;       // Ticks a route stays valid (60 seconds)
+    private static final int ORIGIN_CELL_SHIFT = 1;   // Origins are bucketed into 2x2x2 cells
+    private static final int MAX_START_OFFSET = 2;    // Max distance from mob to cached path start
+
+    private record RouteKey(long originCell, long destination, int accuracy) {}
+
+    private record Route(RouteKey key, Path path, AABB bounds, long createdAt) {}
+
+    // Access-ordered so eviction drops the least recently used route
+    private final Map<RouteKey, Route> routes = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<RouteKey, Route> eldest) {
+            if (size() <= MAX_ROUTES) return false;
+            unindex(eldest.getValue());
+            return true;
+        }
+    };
+    private final Map<Long, Set<Route>> routesBySection = new HashMap<>(); // Section -> routes reaching into it
+
+    private int hits = 0;
+    private int misses = 0;
+
+    /**
+     * Get a cached path from origin to destination
+     * @return A fresh copy of the cached path, or null if none is usable
+     */
+    public Path lookup(BlockPos origin, BlockPos destination, int accuracy, long gameTime) {
+        RouteKey key = new RouteKey(cellOf(origin), destination.asLong(), accuracy);
+        Route route = routes.get(key);
+        if (route == null) {
+            misses++;
+            return null;
+        }
+        if (gameTime - route.createdAt() > ROUTE_TTL) {
+            routes.remove(key);
+            unindex(route);
+            misses++;
+            return null;
+        }
+        // Cell bucketing is coarse: make sure the path really starts next to the mob
+        if (route.path().getNodeCount() == 0
+                || route.path().getNodePos(0).distManhattan(origin) > MAX_START_OFFSET) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return copyOf(route.path());
+    }
+
+    /**
+     * Remember a freshly computed path (only complete paths are shared)
+     */
+    public void store(BlockPos origin, BlockPos destination, int accuracy, Path path, long gameTime) {
+        if (path == null || !path.canReach() || path.getNodeCount() == 0) return;
+
+        RouteKey key = new RouteKey(cellOf(origin), destination.asLong(), accuracy);
+        Route route = new Route(key, copyOf(path), boundsOf(path), gameTime);
+        Route previous = routes.put(key, route);
+        if (previous != null) {
+            unindex(previous);
+        }
+        forEachSection(route.bounds(), section -> routesBySection.computeIfAbsent(section, s -> new HashSet<>()).add(route));
+    }
+
+    /**
+     * Drop every cached route passing next to a changed block
+     * Called from the tavern's block-change feed
+     */
+    public void invalidateAround(BlockPos pos) {
+        Set<Route> nearby = routesBySection.get(SectionPos.asLong(pos));
+        if (nearby == null) return;
+
+        for (Route route : List.copyOf(nearby)) {
+            if (route.bounds().contains(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5)) {
+                routes.remove(route.key());
+                unindex(route);
+            }
+        }
+    }
+
+    /**
+     * Forget all cached routes
+     */
+    public void clear() {
+        routes.clear();
+        routesBySection.clear();
+    }
+
+    public int getRouteCount() {
+        return routes.size();
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    private void unindex(Route route) {
+        forEachSection(route.bounds(), section -> {
+            Set<Route> sectionRoutes = routesBySection.get(section);
+            if (sectionRoutes != null && sectionRoutes.remove(route) && sectionRoutes.isEmpty()) {
+                routesBySection.remove(section);
+            }
+        });
+    }
+
+    /**
+     * Visit every chunk section overlapping a route's bounds (block-aligned, max exclusive)
+     */
+    private static void forEachSection(AABB bounds, LongConsumer action) {
+        int minX = SectionPos.blockToSectionCoord((int) bounds.minX);
+        int minY = SectionPos.blockToSectionCoord((int) bounds.minY);
+        int minZ = SectionPos.blockToSectionCoord((int) bounds.minZ);
+        int maxX = SectionPos.blockToSectionCoord((int) bounds.maxX - 1);
+        int maxY = SectionPos.blockToSectionCoord((int) bounds.maxY - 1);
+        int maxZ = SectionPos.blockToSectionCoord((int) bounds.maxZ - 1);
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    action.accept(SectionPos.asLong(x, y, z));
+                }
+            }
+        }
+    }
+
+    private static long cellOf(BlockPos pos) {
+        return BlockPos.asLong(pos.getX() >> ORIGIN_CELL_SHIFT, pos.getY() >> ORIGIN_CELL_SHIFT, pos.getZ() >> ORIGIN_CELL_SHIFT);
+    }
+
+    /**
+     * Paths are stateful (current node index), so every user gets its own copy.
+     * Nodes themselves are not modified while following a path and can be shared.
+     */
+    private static Path copyOf(Path path) {
+        List<Node> nodes = new ArrayList<>(path.getNodeCount());
+        for (int i = 0; i < path.getNodeCount(); i++) {
+            nodes.add(path.getNode(i));
+        }
+        return new Path(nodes, path.getTarget(), path.canReach());
+    }
+
+    /**
+     * Blocks whose change could affect the route: the nodes themselves, the block
+     * below (floor) and above (head room), plus one block of slack sideways
+     */
+    private static AABB boundsOf(Path path) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (int i = 0; i < path.getNodeCount(); i++) {
+            Node node = path.getNode(i);
+            minX = Math.min(minX, node.x);
+            minY = Math.min(minY, node.y);
+            minZ = Math.min(minZ, node.z);
+            maxX = Math.max(maxX, node.x);
+            maxY = Math.max(maxY, node.y);
+            maxZ = Math.max(maxZ, node.z);
+        }
+        return new AABB(minX - 1, minY - 1, minZ - 1, maxX + 2, maxY + 3, maxZ + 2);
+    }
+}
@@ -0,0 +1,99 @@
+package maxitoson.tavernkeeper.tavern.managers.system;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-tick budget for new customer path computations
+ * - When a wave of customers is served (or wakes up at dawn), many behaviors set
+ *   WALK_TARGET in the same tick and each one would run A* right away
+ * - Only PATHS_PER_TICK computations start per tick; other customers are queued
+ *   in request order and get their turn on the following ticks. Budget left over
+ *   once every waiting customer is counted goes to new requests right away
+ * - A denied request is not a failed path: MoveToTargetSink drops WALK_TARGET, but the
+ *   navigation marks the path as pending and MoveToTargetBehavior keeps the walk (and the
+ *   reserved target), setting WALK_TARGET again so the sink asks on the next tick;
+ *   the queue only has to remember who came first
+ * - Cached routes (PathCacheManager) never count against the budget
+ *
+ * Pattern: Owned by Tavern, used by CustomerPathNavigation
+ * Category: System Manager (runtime state only, not persisted)
+ */
+public class PathRequestManager {
+    private static final int PATHS_PER_TICK = 4;     // New A* computations allowed per tick
+    private static final long STALE_TICKS = 5;       // Queued customers that stop asking are dropped after this
+
+    // Customer id -> last game time it asked for a path (insertion order = queue order)
+    private final Map<Integer, Long> queue = new LinkedHashMap<>();
+
+    private long currentTick = -1;
+    private int remaining = 0;
+    private int granted = 0;
+    private int deferred = 0;
+
+    /**
+     * Ask for permission to compute a new path this tick
+     *
+     * @return true if the customer may compute now, false if it was queued (asks again next tick)
+     */
+    public boolean tryAcquire(int customerId, long gameTime) {
+        if (gameTime != currentTick) {
+            currentTick = gameTime;
+            remaining = PATHS_PER_TICK;
+            dropStale(gameTime);
+        }
+
+        if (remaining > 0 && isWithinBudget(customerId)) {
+            queue.remove(customerId);
+            remaining--;
+            granted++;
+            return true;
+        }
+
+        queue.put(customerId, gameTime); // Keeps its original queue position if already waiting
+        deferred++;
+        return false;
+    }
+
+    /**
+     * A waiting customer may compute if it is among the first waiting customers that fit
+     * in the remaining budget; a new customer may compute if every waiting customer
+     * still fits ahead of it (waiters that don't ask this tick must not waste the budget)
+     */
+    private boolean isWithinBudget(int customerId) {
+        if (!queue.containsKey(customerId)) return queue.size() < remaining;
+        int position = 0;
+        for (Integer waiting : queue.keySet()) {
+            if (position >= remaining) return false;
+            if (waiting == customerId) return true;
+            position++;
+        }
+        return false;
+    }
+
+    /**
+     * Forget customers that stopped asking (despawned, changed behavior...)
+     * so they don't hold up the queue
+     */
+    private void dropStale(long gameTime) {
+        Iterator<Long> it = queue.values().iterator();
+        while (it.hasNext()) {
+            if (gameTime - it.next() > STALE_TICKS) {
+                it.remove();
+            }
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public int getGranted() {
+        return granted;
+    }
+
+    public int getDeferred() {
+        return deferred;
+    }
+}
@@ -0,0 +1,175 @@
+package maxitoson.tavernkeeper.tavern.managers.system;
+
+import maxitoson.tavernkeeper.entities.CustomerEntity;
+import maxitoson.tavernkeeper.entities.ai.CustomerState;
+import maxitoson.tavernkeeper.tavern.TavernContext;
+import maxitoson.tavernkeeper.tavern.managers.system.CustomerTraceManager.EventType;
+import net.minecraft.core.BlockPos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ordered queues in front of lecterns and reception desks
+ * - A customer joins the queue of its counter when it starts walking there and is given
+ *   the next free slot (slot positions come from the service space layout, ServiceSpace)
+ * - Customers advance one slot each time someone ahead of them leaves, instead of all
+ *   pathing to the counter block and pushing each other
+ * - Waiting time from joining to being served is recorded, so service speed is measurable
+ * - Customers that are gone or no longer queueing are pruned every tick, so a discarded
+ *   customer never blocks a line
+ *
+ * Pattern: Owned by Tavern, used by MoveToLectern/MoveToReceptionDesk and the WaitAt* behaviors
+ * Category: System Manager (runtime state only, not persisted)
+ */
+public class ServiceQueueManager {
+
+    private record Entry(CustomerEntity customer, long joinedAt) {}
+
+    private final TavernContext tavern;
+    private final Map<BlockPos, List<Entry>> queues = new HashMap<>();   // Counter -> customers in arrival order
+    private final Map<Integer, BlockPos> counterOf = new HashMap<>();     // Customer id -> counter it queues at
+
+    private int servedCount = 0;
+    private long totalWaitTicks = 0;
+    private long maxWaitTicks = 0;
+
+    public ServiceQueueManager(TavernContext tavern) {
+        this.tavern = tavern;
+    }
+
+    /**
+     * Join the queue of a counter (no-op if already in it) and get the slot to stand at
+     * Moving to another counter's queue leaves the previous one
+     */
+    public BlockPos join(CustomerEntity customer, BlockPos counter, long gameTime) {
+        BlockPos current = counterOf.get(customer.getId());
+        if (current != null && !current.equals(counter)) {
+            remove(customer);
+            current = null;
+        }
+        if (current == null) {
+            List<Entry> queue = queues.computeIfAbsent(counter.immutable(), pos -> new ArrayList<>());
+            queue.add(new Entry(customer, gameTime));
+            counterOf.put(customer.getId(), counter.immutable());
+            customer.trace(EventType.QUEUE_JOINED, counter, queue.size() - 1, 0);
+        }
+        return getSlotPosition(customer);
+    }
+
+    /**
+     * Leave the queue (walk abandoned, stopped waiting, or served)
+     * Only served customers count towards the waiting time statistics
+     */
+    public void leave(CustomerEntity customer, long gameTime, boolean served) {
+        BlockPos counter = counterOf.get(customer.getId());
+        if (counter == null) return;
+        Entry entry = remove(customer);
+        if (entry == null) return;
+
+        long waited = gameTime - entry.joinedAt();
+        if (served) {
+            servedCount++;
+            totalWaitTicks += waited;
+            maxWaitTicks = Math.max(maxWaitTicks, waited);
+        }
+        customer.trace(EventType.QUEUE_LEFT, counter, (int) waited, served ? 1 : 0);
+    }
+
+    /**
+     * Position in the queue (0 = at the counter), or -1 if not queueing
+     */
+    public int getSlotIndex(CustomerEntity customer) {
+        BlockPos counter = counterOf.get(customer.getId());
+        if (counter == null) return -1;
+        List<Entry> queue = queues.get(counter);
+        for (int i = 0; i < queue.size(); i++) {
+            if (queue.get(i).customer() == customer) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Where the customer should stand, or null if not queueing
+     * Customers beyond the last slot wait at the last slot; counters without
+     * any free space in front of them are approached directly
+     */
+    public BlockPos getSlotPosition(CustomerEntity customer) {
+        int index = getSlotIndex(customer);
+        if (index < 0) return null;
+        BlockPos counter = counterOf.get(customer.getId());
+        List<BlockPos> slots = tavern.getQueueSlots(counter);
+        if (slots.isEmpty()) return counter;
+        return slots.get(Math.min(index, slots.size() - 1));
+    }
+
+    public int getQueueLength(BlockPos counter) {
+        List<Entry> queue = queues.get(counter);
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * Drop customers that despawned, died or moved on without leaving properly
+     */
+    public void tick(long gameTime) {
+        if (counterOf.isEmpty()) return;
+        Iterator<Map.Entry<BlockPos, List<Entry>>> it = queues.entrySet().iterator();
+        while (it.hasNext()) {
+            List<Entry> queue = it.next().getValue();
+            queue.removeIf(entry -> {
+                if (isQueueing(entry.customer())) return false;
+                counterOf.remove(entry.customer().getId());
+                return true;
+            });
+            if (queue.isEmpty()) {
+                it.remove();
+            }
+        }
+    }
+
+    public int getServedCount() {
+        return servedCount;
+    }
+
+    /**
+     * Average ticks between joining a queue and being served
+     */
+    public long getAverageWaitTicks() {
+        return servedCount > 0 ? totalWaitTicks / servedCount : 0;
+    }
+
+    public long getMaxWaitTicks() {
+        return maxWaitTicks;
+    }
+
+    private Entry remove(CustomerEntity customer) {
+        BlockPos counter = counterOf.remove(customer.getId());
+        if (counter == null) return null;
+        List<Entry> queue = queues.get(counter);
+        if (queue == null) return null;
+        Entry removed = null;
+        Iterator<Entry> it = queue.iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.customer() == customer) {
+                removed = entry;
+                it.remove();
+                break;
+            }
+        }
+        if (queue.isEmpty()) {
+            queues.remove(counter);
+        }
+        return removed;
+    }
+
+    private static boolean isQueueing(CustomerEntity customer) {
+        if (!customer.isAlive()) return false;
+        CustomerState state = customer.getCustomerState();
+        return state == CustomerState.FINDING_LECTERN || state == CustomerState.WAITING_SERVICE
+            || state == CustomerState.FINDING_RECEPTION || state == CustomerState.WAITING_RECEPTION;
+    }
+}
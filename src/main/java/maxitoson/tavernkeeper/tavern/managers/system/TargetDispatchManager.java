@@ -0,0 +1,339 @@
+package maxitoson.tavernkeeper.tavern.managers.system;
+
+import maxitoson.tavernkeeper.TavernKeeperMod;
+import maxitoson.tavernkeeper.entities.CustomerEntity;
+import maxitoson.tavernkeeper.tavern.TavernContext;
+import maxitoson.tavernkeeper.tavern.furniture.Chair;
+import maxitoson.tavernkeeper.tavern.spaces.BaseSpace;
+import maxitoson.tavernkeeper.tavern.spaces.DiningSpace;
+import maxitoson.tavernkeeper.tavern.spaces.ServiceSpace;
+import maxitoson.tavernkeeper.tavern.spaces.SleepingSpace;
+import net.minecraft.core.BlockPos;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Central dispatcher for customer targets (chairs, beds, lecterns, reception desks)
+ * - Customers looking for a target only register a request (MoveToTargetBehavior)
+ * - Once per tick, all pending requests of a kind are solved in one batch pass and
+ *   the result is written into the customer's ASSIGNED_TARGET memory
+ * - Exclusive targets (chairs, beds) are matched shortest-pair-first and reserved
+ *   in the same pass, so two customers can never be sent to the same chair
+ * - Shared targets (lecterns, reception desks) are load-balanced: each customer goes to
+ *   the counter with the lowest walking distance plus expected wait, counting the queue
+ *   already there (ServiceQueueManager) and customers sent to it in the same pass
+ * - Known unreachable (origin, target) pairs are skipped (UnreachableTargetManager)
+ * - Chairs and beds are approached through one of their precomputed standable spots
+ *   (the one closest to the customer), not through the furniture block itself
+ * - Customers that got nothing are parked as waiting and cost nothing until a target
+ *   of their kind changes (release, furniture placed/broken, area created/deleted);
+ *   only then are they dispatched again. A slow fallback pass covers anything
+ *   that changes without an event (unreachable entries expiring, upgrades...)
+ *
+ * Pattern: Owned by Tavern, fed by MoveToTargetBehavior
+ * Category: System Manager (runtime state only, not persisted)
+ */
+public class TargetDispatchManager {
+    private static final double MAX_DISTANCE = 48; // Same as CustomerEntity.FOLLOW_RANGE
+    private static final double MAX_DISTANCE_SQR = MAX_DISTANCE * MAX_DISTANCE;
+    private static final long FALLBACK_INTERVAL = 200; // Ticks between re-dispatching all waiting customers (10 seconds)
+    private static final double QUEUE_PLACE_COST = 8; // One customer ahead in a queue weighs as much as walking 8 blocks
+
+    /**
+     * Kinds of targets customers can be dispatched to
+     */
+    public enum TargetKind {
+        CHAIR(true),
+        BED(true),
+        LECTERN(false),
+        RECEPTION_DESK(false);
+
+        private final boolean exclusive;
+
+        TargetKind(boolean exclusive) {
+            this.exclusive = exclusive;
+        }
+
+        /**
+         * Exclusive targets are reserved by one customer at a time
+         */
+        public boolean isExclusive() {
+            return exclusive;
+        }
+    }
+
+    /**
+     * Target assigned to a customer (stored in its ASSIGNED_TARGET memory)
+     * @param approach Where to walk to reach the target (the target itself if it has no approach spots)
+     */
+    public record Assignment(TargetKind kind, BlockPos pos, BlockPos approach) {}
+
+    private record Request(CustomerEntity customer, TargetKind kind, BlockPos from) {}
+
+    private record Pair(int customer, int target, double distSqr) {}
+
+    private final TavernContext tavern;
+    // Customer id -> request (a customer only ever waits for one target)
+    private final Map<Integer, Request> pending = new LinkedHashMap<>();  // New, solved on the next pass
+    private final Map<Integer, Request> waiting = new LinkedHashMap<>();  // Got nothing, parked until woken
+    private final Set<TargetKind> changedKinds = EnumSet.noneOf(TargetKind.class);
+    private long nextFallbackTime = 0;
+
+    public TargetDispatchManager(TavernContext tavern) {
+        this.tavern = tavern;
+    }
+
+    /**
+     * Ask for a target of the given kind
+     * Answered on the next dispatch pass through the customer's ASSIGNED_TARGET memory
+     */
+    public void request(CustomerEntity customer, TargetKind kind) {
+        waiting.remove(customer.getId());
+        pending.put(customer.getId(), new Request(customer, kind, customer.blockPosition()));
+    }
+
+    /**
+     * Check if the customer already asked for this kind of target and is waiting for an answer
+     * Behaviors don't ask again while this is true
+     */
+    public boolean isQueued(CustomerEntity customer, TargetKind kind) {
+        Request request = pending.get(customer.getId());
+        if (request == null) {
+            request = waiting.get(customer.getId());
+        }
+        return request != null && request.kind() == kind;
+    }
+
+    /**
+     * Forget the customer's request (state changed, customer left...)
+     */
+    public void cancel(CustomerEntity customer) {
+        pending.remove(customer.getId());
+        waiting.remove(customer.getId());
+    }
+
+    /**
+     * Wake customers waiting for this kind of target
+     * Called when a target is released or furniture changes
+     */
+    public void onTargetsChanged(TargetKind kind) {
+        changedKinds.add(kind);
+    }
+
+    /**
+     * Wake all waiting customers (areas created or deleted)
+     */
+    public void onTargetsChanged() {
+        changedKinds.addAll(EnumSet.allOf(TargetKind.class));
+    }
+
+    /**
+     * Wake customers waiting for the kinds of targets this space provides
+     * Called when a block changes inside the space
+     */
+    public void onSpaceChanged(BaseSpace space) {
+        if (space instanceof DiningSpace) {
+            onTargetsChanged(TargetKind.CHAIR);
+        } else if (space instanceof SleepingSpace) {
+            onTargetsChanged(TargetKind.BED);
+        } else if (space instanceof ServiceSpace) {
+            onTargetsChanged(TargetKind.LECTERN);
+            onTargetsChanged(TargetKind.RECEPTION_DESK);
+        }
+    }
+
+    /**
+     * Solve new requests, plus waiting ones whose kind of target changed
+     * Customers that got nothing are parked until the next change
+     */
+    public void tick(long gameTime) {
+        if (gameTime >= nextFallbackTime) {
+            nextFallbackTime = gameTime + FALLBACK_INTERVAL;
+            if (!waiting.isEmpty()) {
+                onTargetsChanged();
+            }
+        }
+        if (pending.isEmpty() && changedKinds.isEmpty()) return;
+
+        for (TargetKind kind : TargetKind.values()) {
+            List<Request> requests = new ArrayList<>();
+            collect(pending, kind, requests, false);
+            if (changedKinds.contains(kind)) {
+                collect(waiting, kind, requests, true);
+            }
+            if (!requests.isEmpty()) {
+                for (Request unassigned : dispatch(kind, requests, gameTime)) {
+                    waiting.put(unassigned.customer().getId(), unassigned);
+                }
+            }
+        }
+        pending.clear();
+        changedKinds.clear();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public int getWaitingCount() {
+        return waiting.size();
+    }
+
+    /**
+     * Move requests of a kind out of a queue, dropping customers that are gone
+     */
+    private static void collect(Map<Integer, Request> queue, TargetKind kind, List<Request> into, boolean refreshPosition) {
+        Iterator<Request> it = queue.values().iterator();
+        while (it.hasNext()) {
+            Request request = it.next();
+            if (request.kind() != kind) continue;
+            it.remove();
+            CustomerEntity customer = request.customer();
+            if (!customer.isAlive()) continue;
+            into.add(refreshPosition ? new Request(customer, kind, customer.blockPosition()) : request);
+        }
+    }
+
+    /**
+     * Assign targets to a batch of requests of one kind
+     * @return Requests that got no target
+     */
+    private List<Request> dispatch(TargetKind kind, List<Request> requests, long gameTime) {
+        List<BlockPos> targets = candidatesFor(kind);
+        if (targets.isEmpty()) return requests;
+
+        UnreachableTargetManager unreachable = tavern.getUnreachableTargets();
+
+        // All usable (customer, target) pairs
+        List<Pair> pairs = new ArrayList<>();
+        for (int c = 0; c < requests.size(); c++) {
+            BlockPos from = requests.get(c).from();
+            for (int t = 0; t < targets.size(); t++) {
+                BlockPos target = targets.get(t);
+                double distSqr = target.distSqr(from);
+                if (distSqr <= MAX_DISTANCE_SQR && !unreachable.isUnreachable(from, target, gameTime)) {
+                    pairs.add(new Pair(c, t, distSqr));
+                }
+            }
+        }
+        if (!kind.isExclusive()) {
+            return dispatchShared(kind, requests, targets, pairs);
+        }
+        pairs.sort(Comparator.comparingDouble(Pair::distSqr));
+
+        // Shortest pairs first: each customer gets its closest target that is still free
+        // (for tavern-sized batches this is close to the minimum total walking distance)
+        boolean[] assigned = new boolean[requests.size()];
+        boolean[] taken = new boolean[targets.size()];
+        for (Pair pair : pairs) {
+            if (assigned[pair.customer()]) continue;
+            if (taken[pair.target()]) continue;
+
+            CustomerEntity customer = requests.get(pair.customer()).customer();
+            BlockPos target = targets.get(pair.target());
+            taken[pair.target()] = true;
+            if (!reserve(kind, target, customer)) continue;
+            assigned[pair.customer()] = true;
+            BlockPos approach = approachFor(kind, target, requests.get(pair.customer()).from());
+            customer.getBrain().setMemory(TavernKeeperMod.ASSIGNED_TARGET.get(), new Assignment(kind, target, approach));
+        }
+
+        List<Request> unassigned = new ArrayList<>();
+        for (int c = 0; c < requests.size(); c++) {
+            if (!assigned[c]) {
+                unassigned.add(requests.get(c));
+            }
+        }
+        return unassigned;
+    }
+
+    /**
+     * Spread a batch over shared targets (lecterns, reception desks)
+     * Customers are placed in request order, each on the target with the lowest
+     * distance + queue length * QUEUE_PLACE_COST; a target's load grows as customers
+     * are sent to it, so a burst of arrivals fills all counters instead of the nearest one
+     * @param pairs Usable (customer, target) pairs, grouped by customer in request order
+     * @return Requests that got no target
+     */
+    private List<Request> dispatchShared(TargetKind kind, List<Request> requests, List<BlockPos> targets, List<Pair> pairs) {
+        ServiceQueueManager queues = tavern.getServiceQueues();
+        int[] load = new int[targets.size()];
+        for (int t = 0; t < targets.size(); t++) {
+            load[t] = queues.getQueueLength(targets.get(t));
+        }
+
+        boolean[] assigned = new boolean[requests.size()];
+        int i = 0;
+        while (i < pairs.size()) {
+            int c = pairs.get(i).customer();
+            int best = -1;
+            double bestCost = Double.MAX_VALUE;
+            for (; i < pairs.size() && pairs.get(i).customer() == c; i++) {
+                Pair pair = pairs.get(i);
+                double cost = Math.sqrt(pair.distSqr()) + load[pair.target()] * QUEUE_PLACE_COST;
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    best = pair.target();
+                }
+            }
+            load[best]++;
+            assigned[c] = true;
+            requests.get(c).customer().getBrain().setMemory(
+                TavernKeeperMod.ASSIGNED_TARGET.get(), new Assignment(kind, targets.get(best), targets.get(best)));
+        }
+
+        List<Request> unassigned = new ArrayList<>();
+        for (int c = 0; c < requests.size(); c++) {
+            if (!assigned[c]) {
+                unassigned.add(requests.get(c));
+            }
+        }
+        return unassigned;
+    }
+
+    private List<BlockPos> candidatesFor(TargetKind kind) {
+        return switch (kind) {
+            case CHAIR -> tavern.getAvailableChairPositions();
+            case BED -> tavern.getAvailableBedPositions();
+            case LECTERN -> tavern.getLecternPositions();
+            case RECEPTION_DESK -> tavern.getReceptionDeskPositions();
+        };
+    }
+
+    /**
+     * Pick the approach spot of a target closest to where the customer is
+     * Counters are approached through their queue slots instead (ServiceQueueManager)
+     */
+    private BlockPos approachFor(TargetKind kind, BlockPos target, BlockPos from) {
+        List<BlockPos> approaches = switch (kind) {
+            case CHAIR -> tavern.getChairAt(target).map(Chair::getApproachPositions).orElse(List.of());
+            case BED -> tavern.getBedApproachPositions(target);
+            case LECTERN, RECEPTION_DESK -> List.of();
+        };
+        BlockPos best = target;
+        double bestDistSqr = Double.MAX_VALUE;
+        for (BlockPos approach : approaches) {
+            double distSqr = approach.distSqr(from);
+            if (distSqr < bestDistSqr) {
+                bestDistSqr = distSqr;
+                best = approach;
+            }
+        }
+        return best;
+    }
+
+    private boolean reserve(TargetKind kind, BlockPos target, CustomerEntity customer) {
+        return switch (kind) {
+            case CHAIR -> tavern.reserveChair(target, customer.getUUID());
+            case BED -> tavern.reserveBed(target, customer.getUUID());
+            case LECTERN, RECEPTION_DESK -> true;
+        };
+    }
+}
@@ -0,0 +1,150 @@
+package maxitoson.tavernkeeper.tavern.managers.system;
+
+import maxitoson.tavernkeeper.entities.ai.goal.TavernCustomerTargetGoal;
+import maxitoson.tavernkeeper.tavern.spaces.BaseSpace;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.monster.AbstractIllager;
+import net.minecraft.world.entity.monster.AbstractSkeleton;
+import net.minecraft.world.entity.monster.Ravager;
+import net.minecraft.world.entity.monster.Zombie;
+import net.minecraft.world.entity.monster.ZombifiedPiglin;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Shared threat map for the whole tavern
+ * - Scans for hostile mobs once per interval over the tavern bounds (plus a margin)
+ * - Publishes the mobs customers flee from (the vanilla villager hostiles) so customer
+ *   sensors only read them, instead of each customer running its own entity query and sort
+ * - Arms mobs found near the tavern with a customer-targeting goal: skeletons, plus the
+ *   mobs that hunt villagers in vanilla (zombies, illagers, ravagers), since customers
+ *   are not villagers
+ *
+ * Sensing cost grows with the number of taverns, not with the number of customers.
+ *
+ * Pattern: Owned by Tavern, ticked from Tavern.tick()
+ * Category: System Manager (runtime state only, not persisted)
+ */
+public class ThreatManager {
+    private static final int SCAN_INTERVAL = 20;       // Ticks between scans (same as vanilla sensor rate)
+    private static final double SCAN_MARGIN = 16.0;    // Blocks around tavern bounds that are watched
+    private static final int TARGET_GOAL_PRIORITY = 3; // Same as zombie's villager targeting
+    
+    // Mobs customers flee from: the same set villagers flee from (VillagerHostilesSensor)
+    private static final Set<EntityType<?>> HOSTILE_TYPES = Set.of(
+        EntityType.DROWNED, EntityType.EVOKER, EntityType.HUSK, EntityType.ILLUSIONER,
+        EntityType.PILLAGER, EntityType.RAVAGER, EntityType.VEX, EntityType.VINDICATOR,
+        EntityType.ZOGLIN, EntityType.ZOMBIE, EntityType.ZOMBIE_VILLAGER
+    );
+
+    private List<AABB> watchedBounds = List.of();
+    private List<Mob> threats = List.of();
+    private long lastScanTime = 0;
+    private boolean dirty = true; // Scan on the next tick whatever the interval
+    
+    // Mobs that already received the targeting goal (weak: unloaded mobs drop out)
+    private final Set<Mob> armedMobs = Collections.newSetFromMap(new WeakHashMap<>());
+
+    /**
+     * Rescan for threats if the scan interval has elapsed
+     */
+    public void tick(ServerLevel level, Collection<BaseSpace> spaces) {
+        long gameTime = level.getGameTime();
+        if (!dirty && gameTime - lastScanTime < SCAN_INTERVAL) return;
+        dirty = false;
+        lastScanTime = gameTime;
+
+        watchedBounds = mergeBounds(spaces);
+        if (watchedBounds.isEmpty()) {
+            threats = List.of();
+            return;
+        }
+
+        // One query finds both the mobs customers flee from and the ones that hunt customers
+        Set<Mob> found = new LinkedHashSet<>();
+        for (AABB box : watchedBounds) {
+            found.addAll(level.getEntitiesOfClass(Mob.class, box,
+                mob -> mob.isAlive() && (isThreat(mob) || targetsCustomers(mob))));
+        }
+        threats = found.stream().filter(ThreatManager::isThreat).toList();
+        
+        for (Mob mob : found) {
+            if (targetsCustomers(mob) && armedMobs.add(mob)) {
+                mob.targetSelector.addGoal(TARGET_GOAL_PRIORITY, new TavernCustomerTargetGoal(mob, this));
+            }
+        }
+    }
+
+    /**
+     * Mobs customers flee from found by the last scan (may contain entities that died since)
+     */
+    public List<Mob> getThreats() {
+        return threats;
+    }
+
+    /**
+     * Check if a position lies within the watched tavern vicinity
+     */
+    public boolean isWatched(Vec3 pos) {
+        for (AABB box : watchedBounds) {
+            if (box.contains(pos)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Force a rescan on the next tick (e.g. after areas change)
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Mobs customers panic at (skeletons and other monsters may attack them, but don't scare them)
+     */
+    public static boolean isThreat(Mob mob) {
+        return HOSTILE_TYPES.contains(mob.getType()) && mob.isAlive();
+    }
+
+    /**
+     * Mobs that should go after customers: the ones that attack villagers in vanilla, plus skeletons
+     */
+    private static boolean targetsCustomers(Mob mob) {
+        return mob instanceof AbstractSkeleton
+            || (mob instanceof Zombie && !(mob instanceof ZombifiedPiglin))
+            || mob instanceof AbstractIllager
+            || mob instanceof Ravager;
+    }
+
+    private static List<AABB> mergeBounds(Collection<BaseSpace> spaces) {
+        List<AABB> merged = new ArrayList<>();
+        for (BaseSpace space : spaces) {
+            AABB box = space.getArea().getBoundingBox().inflate(SCAN_MARGIN);
+
+            // Absorb every existing box this one touches, then re-add the envelope
+            boolean absorbed = true;
+            while (absorbed) {
+                absorbed = false;
+                for (int i = 0; i < merged.size(); i++) {
+                    if (merged.get(i).intersects(box)) {
+                        box = box.minmax(merged.remove(i));
+                        absorbed = true;
+                        break;
+                    }
+                }
+            }
+            merged.add(box);
+        }
+        return List.copyOf(merged);
+    }
+}
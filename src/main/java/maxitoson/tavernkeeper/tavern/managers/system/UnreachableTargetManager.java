@@ -0,0 +1,82 @@
+package maxitoson.tavernkeeper.tavern.managers.system;
+
+import net.minecraft.core.BlockPos;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Negative cache of (origin region, target) pairs that customers failed to reach
+ * - MoveToTargetBehavior skips known unreachable targets and picks alternatives,
+ *   instead of re-finding the same nearest target and pathfinding again every second
+ * - Entries expire after a while, or as soon as a block changes near either end
+ *   (a wall was removed, stairs were placed...)
+ *
+ * Pattern: Owned by Tavern, fed by the tavern's block-change feed
+ * Category: System Manager (runtime state only, not persisted)
+ */
+public class UnreachableTargetManager {
+    private static final long ENTRY_TTL = 1200;           // Ticks before retrying anyway (60 seconds)
+    private static final int ORIGIN_REGION_SHIFT = 3;     // Origins are bucketed into 8x8x8 regions
+    private static final int INVALIDATION_RADIUS = 16;    // Block changes this close to either end clear an entry
+
+    private record Key(long originRegion, long target) {}
+
+    private final Map<Key, Long> expiries = new HashMap<>();
+
+    /**
+     * Remember that target could not be reached when starting from origin
+     */
+    public void markUnreachable(BlockPos origin, BlockPos target, long gameTime) {
+        expiries.put(new Key(regionOf(origin), target.asLong()), gameTime + ENTRY_TTL);
+    }
+
+    /**
+     * Check if target is known to be unreachable from origin
+     */
+    public boolean isUnreachable(BlockPos origin, BlockPos target, long gameTime) {
+        Key key = new Key(regionOf(origin), target.asLong());
+        Long expiry = expiries.get(key);
+        if (expiry == null) return false;
+        if (gameTime >= expiry) {
+            expiries.remove(key);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Forget entries whose origin region or target is near a changed block
+     * Called from the tavern's block-change feed
+     */
+    public void invalidateAround(BlockPos pos) {
+        if (expiries.isEmpty()) return;
+        long radiusSq = (long) INVALIDATION_RADIUS * INVALIDATION_RADIUS;
+        Iterator<Key> it = expiries.keySet().iterator();
+        while (it.hasNext()) {
+            Key key = it.next();
+            if (BlockPos.of(key.target()).distSqr(pos) <= radiusSq
+                    || regionCenterOf(key.originRegion()).distSqr(pos) <= radiusSq) {
+                it.remove();
+            }
+        }
+    }
+
+    public int size() {
+        return expiries.size();
+    }
+
+    private static long regionOf(BlockPos pos) {
+        return BlockPos.asLong(pos.getX() >> ORIGIN_REGION_SHIFT, pos.getY() >> ORIGIN_REGION_SHIFT, pos.getZ() >> ORIGIN_REGION_SHIFT);
+    }
+
+    private static BlockPos regionCenterOf(long region) {
+        int half = 1 << (ORIGIN_REGION_SHIFT - 1);
+        return new BlockPos(
+            (BlockPos.getX(region) << ORIGIN_REGION_SHIFT) + half,
+            (BlockPos.getY(region) << ORIGIN_REGION_SHIFT) + half,
+            (BlockPos.getZ(region) << ORIGIN_REGION_SHIFT) + half
+        );
+    }
+}
@@ -0,0 +1,188 @@
+package maxitoson.tavernkeeper.tavern.spaces;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * One-click area detection: flood-fills the room around a block and returns a tight shape
+ * - Open cells (same rule as RoomIndex: doors, trapdoors and fence gates close the room) are
+ *   filled 6-connected from the start, with a BitSet of visited cells over a cube around it
+ * - The fill gives up if it reaches the edge of the cube (room open to the outside, or too big)
+ *   or passes MAX_CELLS, so a click outdoors costs a bounded number of block reads
+ * - The shape is the interior's footprint grown by one block (walls, so rooms stay enclosed
+ *   for RoomIndex and furniture against a wall is inside) from floor to ceiling, minus blocks
+ *   already in another area, split into boxes by a greedy cover (one box for a plain room)
+ *
+ * Stateless; used by the marking cane and /tavernarea detect
+ */
+public final class AreaDetector {
+    private static final int MAX_RADIUS = 32;                 // Fill stays within 32 blocks of the start
+    private static final int SIZE = 2 * MAX_RADIUS + 1;       // Edge of the searched cube
+    private static final int MAX_CELLS = 1 << 15;             // Interior volume cap (32k blocks)
+
+    public enum Failure {
+        BLOCKED,        // Start block is not open
+        NOT_ENCLOSED,   // Fill reached the search limit: open to the outside or wider than the cube
+        TOO_LARGE,      // Interior bigger than MAX_CELLS
+        ALREADY_MARKED  // Every block of the room is in an existing area
+    }
+
+    /**
+     * Detected shape (boxes), or why nothing was detected
+     */
+    public record Result(List<BoundingBox> boxes, int interiorCells, Failure failure) {
+        public boolean succeeded() {
+            return failure == null;
+        }
+
+        private static Result failed(Failure failure) {
+            return new Result(List.of(), 0, failure);
+        }
+    }
+
+    private AreaDetector() {}
+
+    /**
+     * Flood-fill the interior around an open block
+     * @param taken blocks that already belong to an area (left out of the walls, floor and ceiling)
+     */
+    public static Result detect(Level level, BlockPos start, Predicate<BlockPos> taken) {
+        if (!level.isLoaded(start) || !RoomIndex.isOpen(level.getBlockState(start), level, start)) {
+            return Result.failed(Failure.BLOCKED);
+        }
+
+        int originX = start.getX() - MAX_RADIUS;
+        int originY = start.getY() - MAX_RADIUS;
+        int originZ = start.getZ() - MAX_RADIUS;
+        BitSet visited = new BitSet(SIZE * SIZE * SIZE);
+        BitSet footprint = new BitSet(SIZE * SIZE);   // x/z columns with interior cells
+        int minY = MAX_RADIUS;
+        int maxY = MAX_RADIUS;
+        int cells = 0;
+
+        IntArrayList stack = new IntArrayList();
+        int startCell = index(MAX_RADIUS, MAX_RADIUS, MAX_RADIUS);
+        visited.set(startCell);
+        stack.push(startCell);
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+
+        while (!stack.isEmpty()) {
+            int cell = stack.popInt();
+            if (++cells > MAX_CELLS) {
+                return Result.failed(Failure.TOO_LARGE);
+            }
+            int x = cell / (SIZE * SIZE);
+            int y = (cell / SIZE) % SIZE;
+            int z = cell % SIZE;
+            footprint.set(x * SIZE + z);
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+
+            for (Direction direction : Direction.values()) {
+                int nx = x + direction.getStepX();
+                int ny = y + direction.getStepY();
+                int nz = z + direction.getStepZ();
+                if (nx < 0 || ny < 0 || nz < 0 || nx >= SIZE || ny >= SIZE || nz >= SIZE) {
+                    return Result.failed(Failure.NOT_ENCLOSED);
+                }
+                int neighbour = index(nx, ny, nz);
+                if (visited.get(neighbour)) continue;
+                visited.set(neighbour);
+                pos.set(originX + nx, originY + ny, originZ + nz);
+                if (!level.isLoaded(pos)) {
+                    return Result.failed(Failure.NOT_ENCLOSED);
+                }
+                if (RoomIndex.isOpen(level.getBlockState(pos), level, pos)) {
+                    stack.push(neighbour);
+                }
+            }
+        }
+
+        // Grow the footprint by one block around (walls), cells at the cube's edge were never reached
+        BitSet grown = new BitSet(SIZE * SIZE);
+        for (int column = footprint.nextSetBit(0); column >= 0; column = footprint.nextSetBit(column + 1)) {
+            int x = column / SIZE;
+            int z = column % SIZE;
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    grown.set((x + dx) * SIZE + (z + dz));
+                }
+            }
+        }
+
+        // Blocks that already belong to an area stay theirs (shared walls and floors, parts marked before)
+        BitSet shape = new BitSet(SIZE * SIZE * SIZE);
+        for (int column = grown.nextSetBit(0); column >= 0; column = grown.nextSetBit(column + 1)) {
+            int x = column / SIZE;
+            int z = column % SIZE;
+            for (int y = minY - 1; y <= maxY + 1; y++) {
+                pos.set(originX + x, originY + y, originZ + z);
+                if (!taken.test(pos)) {
+                    shape.set(index(x, y, z));
+                }
+            }
+        }
+
+        if (shape.isEmpty()) {
+            return Result.failed(Failure.ALREADY_MARKED);
+        }
+        return new Result(coverWithBoxes(shape, originX, originY, originZ), cells, null);
+    }
+
+    /**
+     * Greedy box cover of the shape: take the first free cell, extend the run along Z,
+     * then along Y while the whole run is free, then along X while the whole slab is free
+     */
+    private static List<BoundingBox> coverWithBoxes(BitSet shape, int originX, int originY, int originZ) {
+        List<BoundingBox> boxes = new ArrayList<>();
+        BitSet left = (BitSet) shape.clone();
+        for (int cell = left.nextSetBit(0); cell >= 0; cell = left.nextSetBit(cell + 1)) {
+            int x = cell / (SIZE * SIZE);
+            int y = (cell / SIZE) % SIZE;
+            int z = cell % SIZE;
+            int endZ = z;
+            while (endZ + 1 < SIZE && left.get(index(x, y, endZ + 1))) {
+                endZ++;
+            }
+            int endY = y;
+            while (endY + 1 < SIZE && isRunFree(left, x, endY + 1, z, endZ)) {
+                endY++;
+            }
+            int endX = x;
+            while (endX + 1 < SIZE && isSlabFree(left, endX + 1, y, endY, z, endZ)) {
+                endX++;
+            }
+            for (int rx = x; rx <= endX; rx++) {
+                for (int ry = y; ry <= endY; ry++) {
+                    left.clear(index(rx, ry, z), index(rx, ry, endZ) + 1);
+                }
+            }
+            boxes.add(new BoundingBox(originX + x, originY + y, originZ + z,
+                originX + endX, originY + endY, originZ + endZ));
+        }
+        return boxes;
+    }
+
+    private static boolean isRunFree(BitSet shape, int x, int y, int fromZ, int toZ) {
+        return shape.nextClearBit(index(x, y, fromZ)) > index(x, y, toZ);
+    }
+
+    private static boolean isSlabFree(BitSet shape, int x, int fromY, int toY, int fromZ, int toZ) {
+        for (int y = fromY; y <= toY; y++) {
+            if (!isRunFree(shape, x, y, fromZ, toZ)) return false;
+        }
+        return true;
+    }
+
+    private static int index(int x, int y, int z) {
+        return (x * SIZE + y) * SIZE + z;
+    }
+}
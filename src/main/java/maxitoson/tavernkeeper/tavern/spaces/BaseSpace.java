@@ -3,6 +3,7 @@ package maxitoson.tavernkeeper.tavern.spaces;
 import maxitoson.tavernkeeper.areas.TavernArea;
 import maxitoson.tavernkeeper.tavern.managers.ManagerContext;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
@@ -46,6 +47,50 @@ public abstract class BaseSpace {
         onBlockUpdated(pos, net.minecraft.world.level.block.Blocks.AIR.defaultBlockState());
     }
     
+    /**
+     * Handle a change of the area's shape (box added, resized, moved)
+     * Subclasses drop furniture that is no longer inside and only scan the blocks gained
+     * (area.positionsNotIn(previous)); default implementation rescans everything
+     * @param previous detached copy of the area before the change
+     * @return ScanResult specific to the space type
+     */
+    public Object onAreaReshaped(TavernArea previous) {
+        return scanForFurniture();
+    }
+    
+    /**
+     * Run a task on the next server tick, once the block change being handled is committed
+     * (break events arrive while the old block is still in the level)
+     */
+    protected void afterBlockChange(Runnable task) {
+        Level level = area.getLevel();
+        if (level instanceof ServerLevel serverLevel) {
+            serverLevel.getServer().execute(task);
+        }
+    }
+    
+    /**
+     * Check if a customer can stand at a position: solid floor below, room for feet and head
+     * Used to precompute where customers walk to (approach points, queue slots)
+     */
+    protected static boolean isStandable(Level level, BlockPos pos) {
+        if (!level.isLoaded(pos)) return false;
+        BlockPos below = pos.below();
+        return level.getBlockState(below).isFaceSturdy(level, below, Direction.UP)
+            && level.getBlockState(pos).getCollisionShape(level, pos).isEmpty()
+            && level.getBlockState(pos.above()).getCollisionShape(level, pos.above()).isEmpty();
+    }
+    
+    /**
+     * Check if a block change can affect the standable spots next to a piece of furniture
+     * (a spot is one block away and depends on the blocks below and above it)
+     */
+    protected static boolean affectsApproach(BlockPos changed, BlockPos furniture) {
+        int horizontal = Math.abs(changed.getX() - furniture.getX()) + Math.abs(changed.getZ() - furniture.getZ());
+        int vertical = Math.abs(changed.getY() - furniture.getY());
+        return horizontal <= 2 && vertical <= 2;
+    }
+    
     /**
      * Get the area this space represents
      */
@@ -7,6 +7,7 @@ import maxitoson.tavernkeeper.tavern.furniture.types.DiningFurnitureType;
 import maxitoson.tavernkeeper.tavern.furniture.Table;
 import maxitoson.tavernkeeper.tavern.managers.domain.DiningManagerContext;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
@@ -16,12 +17,20 @@ import com.mojang.logging.LogUtils;
 import org.slf4j.Logger;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Represents a single dining area with its tables and chairs
  * Recognizes furniture from vanilla Minecraft (stairs as chairs/tables) and supported mods (e.g., Macaw's Furniture)
  * 
+ * Valid chairs are linked to the table they face (seating graph), with a free-seat count
+ * per table kept in step with chair reservations and an index of tables by free seats,
+ * so "nearest table with k free seats" only looks at tables that qualify
+ * 
  * Pattern: Space owns Area (1:1) and Furniture
  */
 public class DiningSpace extends BaseSpace {
@@ -29,10 +38,21 @@ public class DiningSpace extends BaseSpace {
     private final List<Table> tables;
     private final List<Chair> chairs;
     
+    // Seating graph (rebuilt on validation)
+    private static final int MAX_SEATS_PER_TABLE = 4; // One chair per horizontal side (last bucket also holds any odd larger table)
+    private final Map<BlockPos, List<Chair>> chairsByTable = new HashMap<>();  // Table -> valid chairs facing it
+    private final Map<BlockPos, BlockPos> tableByChair = new HashMap<>();      // Valid chair -> its table
+    private final Map<BlockPos, Integer> reservedByTable = new HashMap<>();    // Table -> reserved chairs
+    @SuppressWarnings("unchecked")
+    private final Set<BlockPos>[] tablesByFreeSeats = new Set[MAX_SEATS_PER_TABLE + 1]; // Free seats -> tables
+    
     public DiningSpace(DiningManagerContext diningManager, TavernArea area) {
         super(diningManager, area);
         this.tables = new ArrayList<>();
         this.chairs = new ArrayList<>();
+        for (int i = 0; i < tablesByFreeSeats.length; i++) {
+            tablesByFreeSeats[i] = new HashSet<>();
+        }
     }
     
     /**
@@ -75,45 +95,18 @@ public class DiningSpace extends BaseSpace {
         Level level = area.getLevel();
         if (level == null) return new ScanResult(0, 0, 0, 0, 0);
         
-        DiningManagerContext diningManager = (DiningManagerContext) manager;
-        
         // Iterate through all blocks in the area
-        BlockPos minPos = area.getMinPos();
-        BlockPos maxPos = area.getMaxPos();
-        
-        for (BlockPos pos : BlockPos.betweenClosed(minPos, maxPos)) {
-            BlockState state = level.getBlockState(pos);
-            
-            Object furniture = FurnitureCompatRegistry.recognizeFurniture(pos, state);
-            
-            if (furniture == null) {
-                continue;
-            }
-
-            // Check if it's a table or chair
-            if (furniture instanceof Table table) {
-                // It's a table - check if we can add it
-                if (diningManager.canAddFurniture(DiningFurnitureType.TABLE)) {
-                    tables.add(table);
-                    LOGGER.debug("Added table at {}", pos);
-                } else {
-                    rejectedTables++;
-                    LOGGER.debug("Rejected table at {} - limit reached", pos);
-                }
-            } else if (furniture instanceof Chair chair) {
-                // It's a chair - check if we can add it
-                if (diningManager.canAddFurniture(DiningFurnitureType.CHAIR)) {
-                    chairs.add(chair);
-                    LOGGER.debug("Added chair at {} (will validate)", pos);
-                } else {
-                    rejectedChairs++;
-                    LOGGER.debug("Rejected chair at {} - limit reached", pos);
-                }
-            }
+        for (BlockPos pos : area.positions()) {
+            int[] rejections = recognizeBlock(pos, level.getBlockState(pos));
+            rejectedTables += rejections[0];
+            rejectedChairs += rejections[1];
         }
         
-        // After scanning all blocks, validate chairs
+        // After scanning all blocks, validate chairs and find where to approach them
         validateChairs();
+        for (Chair chair : chairs) {
+            updateApproachPositions(level, chair);
+        }
 
         LOGGER.info("Scanned DiningSpace: Found {} tables ({} rejected), {} chairs ({} rejected, {} valid)", 
             tables.size(), rejectedTables, chairs.size(), rejectedChairs, getValidChairCount());
@@ -121,6 +114,76 @@ public class DiningSpace extends BaseSpace {
         return new ScanResult(tables.size(), rejectedTables, chairs.size(), rejectedChairs, getValidChairCount());
     }
 
+    /**
+     * Keep furniture that is still inside, recognize furniture in the gained blocks only
+     */
+    @Override
+    public ScanResult onAreaReshaped(TavernArea previous) {
+        Level level = area.getLevel();
+        if (level == null) return new ScanResult(0, 0, 0, 0, 0);
+        
+        int lostTables = tables.size();
+        int lostChairs = chairs.size();
+        tables.removeIf(table -> !area.contains(table.getPosition()));
+        chairs.removeIf(chair -> !area.contains(chair.getPosition()));
+        lostTables -= tables.size();
+        lostChairs -= chairs.size();
+        
+        int keptChairs = chairs.size();
+        int rejectedTables = 0;
+        int rejectedChairs = 0;
+        for (BlockPos pos : area.positionsNotIn(previous)) {
+            int[] rejections = recognizeBlock(pos, level.getBlockState(pos));
+            rejectedTables += rejections[0];
+            rejectedChairs += rejections[1];
+        }
+        
+        // Kept chairs keep their approach spots, only new ones need them
+        validateChairs();
+        for (Chair chair : chairs.subList(keptChairs, chairs.size())) {
+            updateApproachPositions(level, chair);
+        }
+        
+        LOGGER.info("Reshaped DiningSpace {}: dropped {} tables and {} chairs, now {} tables ({} rejected), {} chairs ({} rejected, {} valid)",
+            area.getName(), lostTables, lostChairs, tables.size(), rejectedTables, chairs.size(), rejectedChairs, getValidChairCount());
+        
+        return new ScanResult(tables.size(), rejectedTables, chairs.size(), rejectedChairs, getValidChairCount());
+    }
+    
+    /**
+     * Recognize and add a block as furniture if applicable
+     * @return int array [rejectedTables, rejectedChairs]
+     */
+    private int[] recognizeBlock(BlockPos pos, BlockState state) {
+        Object furniture = FurnitureCompatRegistry.recognizeFurniture(pos, state);
+        DiningManagerContext diningManager = (DiningManagerContext) manager;
+        int rejectedTables = 0;
+        int rejectedChairs = 0;
+        
+        // Check if it's a table or chair
+        if (furniture instanceof Table table) {
+            // It's a table - check if we can add it
+            if (diningManager.canAddFurniture(DiningFurnitureType.TABLE)) {
+                tables.add(table);
+                LOGGER.debug("Added table at {}", pos);
+            } else {
+                rejectedTables = 1;
+                LOGGER.debug("Rejected table at {} - limit reached", pos);
+            }
+        } else if (furniture instanceof Chair chair) {
+            // It's a chair - check if we can add it
+            if (diningManager.canAddFurniture(DiningFurnitureType.CHAIR)) {
+                chairs.add(chair);
+                LOGGER.debug("Added chair at {} (will validate)", pos);
+            } else {
+                rejectedChairs = 1;
+                LOGGER.debug("Rejected chair at {} - limit reached", pos);
+            }
+        }
+        
+        return new int[]{rejectedTables, rejectedChairs};
+    }
+
     @Override
     public void onBlockUpdated(BlockPos pos, BlockState state) {
         LOGGER.debug("DiningSpace {} updating block at {}. State: {}", area.getName(), pos, state);
@@ -148,17 +211,49 @@ public class DiningSpace extends BaseSpace {
         }
         
         // Schedule validation for next tick (after block change is committed to level)
-        scheduleValidation();
+        scheduleValidation(pos);
     }
     
     /**
      * Schedule chair validation to run on the next tick
      * This ensures all block changes are committed to the level before validation
+     * Approach positions are only recomputed for chairs near the changed block
      */
-    private void scheduleValidation() {
-        Level level = area.getLevel();
-        if (level instanceof net.minecraft.server.level.ServerLevel serverLevel) {
-            serverLevel.getServer().execute(this::validateChairs);
+    private void scheduleValidation(BlockPos changedPos) {
+        afterBlockChange(() -> {
+            validateChairs();
+            Level level = area.getLevel();
+            if (level == null) return;
+            for (Chair chair : chairs) {
+                if (affectsApproach(changedPos, chair.getPosition())) {
+                    updateApproachPositions(level, chair);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Find the standable blocks beside and behind a chair (the front is the table)
+     * Sides come first: that is where customers normally step in from
+     */
+    private void updateApproachPositions(Level level, Chair chair) {
+        List<BlockPos> approaches = new ArrayList<>();
+        Direction facing = chair.getFacing();
+        if (facing.getAxis().isHorizontal()) {
+            addIfStandable(level, chair.getPosition().relative(facing.getClockWise()), approaches);
+            addIfStandable(level, chair.getPosition().relative(facing.getCounterClockWise()), approaches);
+            addIfStandable(level, chair.getPosition().relative(facing.getOpposite()), approaches);
+        } else {
+            for (Direction direction : Direction.Plane.HORIZONTAL) {
+                addIfStandable(level, chair.getPosition().relative(direction), approaches);
+            }
+        }
+        chair.setApproachPositions(approaches);
+    }
+    
+    private static void addIfStandable(Level level, BlockPos pos, List<BlockPos> into) {
+        if (isStandable(level, pos)) {
+            into.add(pos.immutable());
         }
     }
     
@@ -169,11 +264,15 @@ public class DiningSpace extends BaseSpace {
         Level level = area.getLevel();
         if (level == null) return;
         
+        Set<BlockPos> tablePositions = new HashSet<>();
+        for (Table table : tables) {
+            tablePositions.add(table.getPosition());
+        }
+        
         int validCount = 0;
         for (Chair chair : chairs) {
             BlockPos tableMustBePos = chair.getFrontPos();
-            boolean hasTable = tables.stream()
-                .anyMatch(t -> t.getPosition().equals(tableMustBePos));
+            boolean hasTable = tablePositions.contains(tableMustBePos);
             
             // Check if there's an air block above the chair
             BlockPos abovePos = chair.getPosition().above();
@@ -197,6 +296,110 @@ public class DiningSpace extends BaseSpace {
             }
         }
         LOGGER.debug("Chair validation complete: {}/{} valid", validCount, chairs.size());
+        
+        rebuildSeatingGraph();
+    }
+    
+    // ========== Seating Graph ==========
+    
+    /**
+     * Link every valid chair to the table it faces and recount free seats
+     */
+    private void rebuildSeatingGraph() {
+        chairsByTable.clear();
+        tableByChair.clear();
+        for (Table table : tables) {
+            chairsByTable.put(table.getPosition(), new ArrayList<>());
+        }
+        for (Chair chair : chairs) {
+            if (!chair.isValid()) continue;
+            List<Chair> seats = chairsByTable.get(chair.getFrontPos());
+            if (seats != null) {
+                seats.add(chair);
+                tableByChair.put(chair.getPosition(), chair.getFrontPos());
+            }
+        }
+        recountReservedSeats();
+    }
+    
+    /**
+     * Recount reserved chairs per table from the manager's reservations
+     * Called after the graph changes and after reservations are loaded
+     */
+    public void recountReservedSeats() {
+        DiningManagerContext diningManager = (DiningManagerContext) manager;
+        reservedByTable.clear();
+        for (Set<BlockPos> bucket : tablesByFreeSeats) {
+            bucket.clear();
+        }
+        for (Map.Entry<BlockPos, List<Chair>> entry : chairsByTable.entrySet()) {
+            int reserved = 0;
+            for (Chair chair : entry.getValue()) {
+                if (diningManager.hasChairReservation(chair.getPosition())) {
+                    reserved++;
+                }
+            }
+            reservedByTable.put(entry.getKey(), reserved);
+            tablesByFreeSeats[bucketOf(entry.getKey())].add(entry.getKey());
+        }
+    }
+    
+    /**
+     * Move the chair's table to its new free-seat bucket (no-op for chairs of other spaces)
+     */
+    public void onChairReservationChanged(BlockPos chairPos, boolean reserved) {
+        BlockPos table = tableByChair.get(chairPos);
+        if (table == null) return;
+        tablesByFreeSeats[bucketOf(table)].remove(table);
+        int count = reservedByTable.getOrDefault(table, 0) + (reserved ? 1 : -1);
+        reservedByTable.put(table, Math.max(0, Math.min(count, chairsByTable.get(table).size())));
+        tablesByFreeSeats[bucketOf(table)].add(table);
+    }
+    
+    /**
+     * Find the closest table in this space with at least the given number of free seats
+     * @return Table position, or null if none has enough
+     */
+    public BlockPos findNearestTableWithFreeSeats(BlockPos from, int seats) {
+        BlockPos best = null;
+        double bestDistSqr = Double.MAX_VALUE;
+        for (int free = Math.max(seats, 1); free <= MAX_SEATS_PER_TABLE; free++) {
+            for (BlockPos table : tablesByFreeSeats[free]) {
+                double distSqr = table.distSqr(from);
+                if (distSqr < bestDistSqr) {
+                    bestDistSqr = distSqr;
+                    best = table;
+                }
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Number of valid chairs at a table that nobody has reserved
+     */
+    public int getFreeSeats(BlockPos tablePos) {
+        return chairsByTable.containsKey(tablePos) ? freeSeats(tablePos) : 0;
+    }
+    
+    /**
+     * Valid chairs facing a table
+     */
+    public List<Chair> getChairsAt(BlockPos tablePos) {
+        List<Chair> seats = chairsByTable.get(tablePos);
+        return seats != null ? java.util.Collections.unmodifiableList(seats) : List.of();
+    }
+    
+    public boolean hasTable(BlockPos tablePos) {
+        return chairsByTable.containsKey(tablePos);
+    }
+    
+    private int freeSeats(BlockPos table) {
+        return chairsByTable.get(table).size() - reservedByTable.getOrDefault(table, 0);
+    }
+    
+    private int bucketOf(BlockPos table) {
+        return Math.min(freeSeats(table), MAX_SEATS_PER_TABLE);
     }
     
     public List<Table> getTables() {
@@ -0,0 +1,357 @@
+package maxitoson.tavernkeeper.tavern.spaces;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import maxitoson.tavernkeeper.areas.TavernArea;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.BedBlock;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.DoorBlock;
+import net.minecraft.world.level.block.FenceGateBlock;
+import net.minecraft.world.level.block.TrapDoorBlock;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Enclosed rooms inside a sleeping space
+ * - Every block of the area is a cell; open cells (nothing to collide with, or a bed) are
+ *   kept in a BitSet and grouped into rooms by a 6-connected flood fill bounded by the area
+ * - Doors, trapdoors and fence gates always separate rooms, open or closed
+ * - Only blocks inside the area's shape are cells (multi-box areas leave gaps in the grid)
+ * - A room is enclosed if it never touches the area's side walls (floor and ceiling of the
+ *   area don't count, rooms are usually marked from floor to roof)
+ * - Block changes update rooms incrementally: opening a cell merges the rooms around it,
+ *   closing one re-floods only the room it belonged to
+ * - Enclosed rooms with beds are indexed by free beds, so finding a room for k guests
+ *   looks at a handful of buckets whatever the number of rooms
+ *
+ * Owned by SleepingSpace; areas larger than MAX_VOLUME are not split into rooms
+ */
+public final class RoomIndex {
+    private static final int MAX_VOLUME = 1 << 16;  // 64k cells (e.g. 40 x 40 x 40)
+    private static final int MAX_BUCKET = 8;         // Rooms with more free beds share the last bucket
+
+    /**
+     * A connected group of open cells and the beds in it
+     */
+    public static final class Room {
+        private final int id;
+        private final IntArrayList cells = new IntArrayList();
+        private final List<BlockPos> beds = new ArrayList<>();
+        private int wallCells;  // Cells on the area's side walls (room leaks out of the area)
+        private int reserved;
+
+        private Room(int id) {
+            this.id = id;
+        }
+
+        public int getVolume() {
+            return cells.size();
+        }
+
+        public boolean isEnclosed() {
+            return wallCells == 0;
+        }
+
+        public List<BlockPos> getBeds() {
+            return Collections.unmodifiableList(beds);
+        }
+
+        public int getBedCount() {
+            return beds.size();
+        }
+
+        public int getReservedBeds() {
+            return reserved;
+        }
+
+        public int getFreeBeds() {
+            return beds.size() - reserved;
+        }
+    }
+
+    private final TavernArea area;
+    private final BlockPos min;
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    private final boolean enabled;
+    private final BitSet open;
+    private final int[] roomOf;  // Cell -> room id, 0 = closed cell
+    private final Int2ObjectOpenHashMap<Room> rooms = new Int2ObjectOpenHashMap<>();
+    private final Map<BlockPos, Room> roomOfBed = new HashMap<>();
+    @SuppressWarnings("unchecked")
+    private final Set<Room>[] roomsByFreeBeds = new Set[MAX_BUCKET + 1];
+    private int nextId = 1;
+
+    RoomIndex(TavernArea area) {
+        BlockPos min = area.getMinPos();
+        BlockPos max = area.getMaxPos();
+        this.area = area;
+        this.min = min.immutable();
+        this.sizeX = max.getX() - min.getX() + 1;
+        this.sizeY = max.getY() - min.getY() + 1;
+        this.sizeZ = max.getZ() - min.getZ() + 1;
+        long volume = (long) sizeX * sizeY * sizeZ;
+        this.enabled = volume <= MAX_VOLUME;
+        this.open = new BitSet(enabled ? (int) volume : 0);
+        this.roomOf = new int[enabled ? (int) volume : 0];
+        for (int i = 0; i < roomsByFreeBeds.length; i++) {
+            roomsByFreeBeds[i] = new HashSet<>();
+        }
+    }
+
+    /**
+     * Whether a block lets people through for room detection
+     */
+    static boolean isOpen(BlockState state, BlockGetter level, BlockPos pos) {
+        Block block = state.getBlock();
+        if (block instanceof DoorBlock || block instanceof TrapDoorBlock || block instanceof FenceGateBlock) {
+            return false; // Room boundary, whatever its open state
+        }
+        if (block instanceof BedBlock) {
+            return true;  // Furniture inside the room
+        }
+        return state.getCollisionShape(level, pos).isEmpty();
+    }
+
+    /**
+     * Read every cell from the level and flood all rooms (initial scan)
+     */
+    void rebuild(Level level) {
+        if (!enabled) return;
+        open.clear();
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int i = 0; i < roomOf.length; i++) {
+            roomOf[i] = 0;
+            toPos(i, pos);
+            if (area.contains(pos) && isOpen(level.getBlockState(pos), level, pos)) {
+                open.set(i);
+            }
+        }
+        rooms.clear();
+        for (int i = open.nextSetBit(0); i >= 0; i = open.nextSetBit(i + 1)) {
+            if (roomOf[i] == 0) {
+                flood(i);
+            }
+        }
+    }
+
+    /**
+     * Apply a block change
+     * @return true if rooms changed (beds must be reassigned)
+     */
+    boolean update(BlockPos pos, boolean nowOpen) {
+        int cell = indexOf(pos);
+        if (cell < 0 || open.get(cell) == nowOpen) return false;
+
+        if (nowOpen) {
+            open.set(cell);
+            // Merge the rooms around the new opening into the largest of them
+            Room target = null;
+            List<Room> others = new ArrayList<>();
+            for (int neighbour : neighbours(cell)) {
+                Room room = rooms.get(roomOf[neighbour]);
+                if (room == null || room == target || others.contains(room)) continue;
+                if (target == null || room.getVolume() > target.getVolume()) {
+                    if (target != null) others.add(target);
+                    target = room;
+                } else {
+                    others.add(room);
+                }
+            }
+            if (target == null) {
+                flood(cell);
+                return true;
+            }
+            for (Room other : others) {
+                rooms.remove(other.id);
+                for (int i = 0; i < other.cells.size(); i++) {
+                    roomOf[other.cells.getInt(i)] = target.id;
+                }
+                target.cells.addAll(other.cells);
+                target.wallCells += other.wallCells;
+            }
+            roomOf[cell] = target.id;
+            target.cells.add(cell);
+            if (isOnWall(cell)) target.wallCells++;
+        } else {
+            // A wall went up: only the room it was in can split
+            open.clear(cell);
+            Room room = rooms.remove(roomOf[cell]);
+            if (room == null) return false;
+            for (int i = 0; i < room.cells.size(); i++) {
+                roomOf[room.cells.getInt(i)] = 0;
+            }
+            for (int i = 0; i < room.cells.size(); i++) {
+                int c = room.cells.getInt(i);
+                if (open.get(c) && roomOf[c] == 0) {
+                    flood(c);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Put beds (by HEAD position) in the rooms that contain them and recount reservations
+     */
+    void assignBeds(List<BlockPos> beds, Predicate<BlockPos> isReserved) {
+        for (Room room : rooms.values()) {
+            room.beds.clear();
+            room.reserved = 0;
+        }
+        roomOfBed.clear();
+        for (BlockPos bed : beds) {
+            int cell = indexOf(bed);
+            Room room = cell >= 0 ? rooms.get(roomOf[cell]) : null;
+            if (room == null) continue;
+            room.beds.add(bed);
+            roomOfBed.put(bed, room);
+            if (isReserved.test(bed)) room.reserved++;
+        }
+        for (Set<Room> bucket : roomsByFreeBeds) {
+            bucket.clear();
+        }
+        for (Room room : rooms.values()) {
+            if (isBookable(room)) {
+                roomsByFreeBeds[bucketOf(room)].add(room);
+            }
+        }
+    }
+
+    /**
+     * Keep a room's free-bed count in step with bed reservations
+     */
+    void onBedReservationChanged(BlockPos bed, boolean reserved) {
+        Room room = roomOfBed.get(bed);
+        if (room == null) return;
+        boolean bookable = isBookable(room);
+        if (bookable) roomsByFreeBeds[bucketOf(room)].remove(room);
+        room.reserved = Math.max(0, Math.min(room.reserved + (reserved ? 1 : -1), room.beds.size()));
+        if (bookable) roomsByFreeBeds[bucketOf(room)].add(room);
+    }
+
+    /**
+     * Smallest enclosed room with at least the given number of free beds, or null
+     */
+    Room findRoomForGuests(int guests) {
+        for (int free = Math.max(guests, 1); free <= MAX_BUCKET; free++) {
+            for (Room room : roomsByFreeBeds[free]) {
+                if (room.getFreeBeds() >= guests) {
+                    return room;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Enclosed rooms that contain at least one bed
+     */
+    List<Room> getRooms() {
+        List<Room> result = new ArrayList<>();
+        for (Room room : rooms.values()) {
+            if (isBookable(room)) {
+                result.add(room);
+            }
+        }
+        return result;
+    }
+
+    Room getRoomOf(BlockPos bed) {
+        return roomOfBed.get(bed);
+    }
+
+    // ========== Cells ==========
+
+    private void flood(int start) {
+        int id = nextId++;
+        Room room = new Room(id);
+        rooms.put(id, room);
+        IntArrayList stack = new IntArrayList();
+        roomOf[start] = id;
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            int cell = stack.popInt();
+            room.cells.add(cell);
+            if (isOnWall(cell)) room.wallCells++;
+            for (int neighbour : neighbours(cell)) {
+                if (open.get(neighbour) && roomOf[neighbour] == 0) {
+                    roomOf[neighbour] = id;
+                    stack.push(neighbour);
+                }
+            }
+        }
+    }
+
+    private static boolean isBookable(Room room) {
+        return room.isEnclosed() && !room.beds.isEmpty();
+    }
+
+    private static int bucketOf(Room room) {
+        return Math.min(room.getFreeBeds(), MAX_BUCKET);
+    }
+
+    private int indexOf(BlockPos pos) {
+        if (!enabled || !area.contains(pos)) return -1;
+        int x = pos.getX() - min.getX();
+        int y = pos.getY() - min.getY();
+        int z = pos.getZ() - min.getZ();
+        if (x < 0 || y < 0 || z < 0 || x >= sizeX || y >= sizeY || z >= sizeZ) return -1;
+        return (x * sizeY + y) * sizeZ + z;
+    }
+
+    private void toPos(int cell, BlockPos.MutableBlockPos pos) {
+        int z = cell % sizeZ;
+        int y = (cell / sizeZ) % sizeY;
+        int x = cell / (sizeZ * sizeY);
+        pos.set(min.getX() + x, min.getY() + y, min.getZ() + z);
+    }
+
+    /**
+     * Cell on a side wall: at the edge of the grid, or next to a block outside the shape
+     */
+    private boolean isOnWall(int cell) {
+        int z = cell % sizeZ;
+        int x = cell / (sizeZ * sizeY);
+        if (x == 0 || z == 0 || x == sizeX - 1 || z == sizeZ - 1) return true;
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        toPos(cell, pos);
+        for (Direction direction : Direction.Plane.HORIZONTAL) {
+            if (!area.contains(pos.relative(direction))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * In-bounds 6-connected neighbours of a cell
+     */
+    private int[] neighbours(int cell) {
+        int z = cell % sizeZ;
+        int y = (cell / sizeZ) % sizeY;
+        int x = cell / (sizeZ * sizeY);
+        int[] result = new int[6];
+        int n = 0;
+        if (x > 0) result[n++] = cell - sizeY * sizeZ;
+        if (x < sizeX - 1) result[n++] = cell + sizeY * sizeZ;
+        if (y > 0) result[n++] = cell - sizeZ;
+        if (y < sizeY - 1) result[n++] = cell + sizeZ;
+        if (z > 0) result[n++] = cell - 1;
+        if (z < sizeZ - 1) result[n++] = cell + 1;
+        return n == 6 ? result : Arrays.copyOf(result, n);
+    }
+}
@@ -8,11 +8,13 @@ import maxitoson.tavernkeeper.tavern.furniture.types.ServiceFurnitureType;
 import maxitoson.tavernkeeper.tavern.furniture.ServiceLectern;
 import maxitoson.tavernkeeper.tavern.furniture.ServiceReceptionDesk;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.BarrelBlock;
 import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.HorizontalDirectionalBlock;
 import net.minecraft.world.level.block.LecternBlock;
 import net.minecraft.world.level.block.state.BlockState;
 
@@ -20,17 +22,25 @@ import com.mojang.logging.LogUtils;
 import org.slf4j.Logger;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Represents a service area where customers order food or sleeping
  * Recognizes Lecterns (food orders), Reception Desks (sleeping), and Barrels (storage)
+ * Also lays out the queue slots in front of each lectern and reception desk
  */
 public class ServiceSpace extends BaseSpace {
     private static final Logger LOGGER = LogUtils.getLogger();
+    private static final int MAX_QUEUE_SLOTS = 6;
     private final List<ServiceLectern> lecterns;
     private final List<ServiceReceptionDesk> receptionDesks;
     private final List<ServiceBarrel> barrels;
+    private final Map<BlockPos, List<BlockPos>> queueSlots = new HashMap<>(); // Counter -> slots, closest first
+    private final Set<BlockPos> pendingQueueChanges = new HashSet<>(); // Changed blocks waiting for the queue refresh
     
     public ServiceSpace(ServiceManagerContext manager, TavernArea area) {
         super(manager, area);
@@ -78,25 +88,53 @@ public class ServiceSpace extends BaseSpace {
         Level level = area.getLevel();
         if (level == null) return new ScanResult(0, 0, 0, 0, 0);
         
-        BlockPos minPos = area.getMinPos();
-        BlockPos maxPos = area.getMaxPos();
-        
         int rejectedLecterns = 0;
         int rejectedReceptionDesks = 0;
         
-        for (BlockPos pos : BlockPos.betweenClosed(minPos, maxPos)) {
+        for (BlockPos pos : area.positions()) {
             BlockState state = level.getBlockState(pos);
             int[] rejections = recognizeBlock(pos, state);
             rejectedLecterns += rejections[0];
             rejectedReceptionDesks += rejections[1];
         }
         
+        rebuildQueueSlots();
+        
         LOGGER.info("Scanned ServiceSpace: Found {} lecterns ({} rejected), {} reception desks ({} rejected), {} barrels", 
             lecterns.size(), rejectedLecterns, receptionDesks.size(), rejectedReceptionDesks, barrels.size());
             
         return new ScanResult(lecterns.size(), rejectedLecterns, receptionDesks.size(), rejectedReceptionDesks, barrels.size());
     }
 
+    /**
+     * Keep furniture that is still inside, recognize furniture in the gained blocks only
+     */
+    @Override
+    public ScanResult onAreaReshaped(TavernArea previous) {
+        Level level = area.getLevel();
+        if (level == null) return new ScanResult(0, 0, 0, 0, 0);
+        
+        lecterns.removeIf(lectern -> !area.contains(lectern.getPosition()));
+        receptionDesks.removeIf(desk -> !area.contains(desk.getPosition()));
+        barrels.removeIf(barrel -> !area.contains(barrel.getPosition()));
+        
+        int rejectedLecterns = 0;
+        int rejectedReceptionDesks = 0;
+        for (BlockPos pos : area.positionsNotIn(previous)) {
+            int[] rejections = recognizeBlock(pos, level.getBlockState(pos));
+            rejectedLecterns += rejections[0];
+            rejectedReceptionDesks += rejections[1];
+        }
+        
+        // Slots stop at the area's edge, so kept counters may get longer or shorter lines
+        rebuildQueueSlots();
+        
+        LOGGER.info("Reshaped ServiceSpace {}: now {} lecterns ({} rejected), {} reception desks ({} rejected), {} barrels",
+            area.getName(), lecterns.size(), rejectedLecterns, receptionDesks.size(), rejectedReceptionDesks, barrels.size());
+        
+        return new ScanResult(lecterns.size(), rejectedLecterns, receptionDesks.size(), rejectedReceptionDesks, barrels.size());
+    }
+
     @Override
     public void onBlockUpdated(BlockPos pos, BlockState state) {
         LOGGER.debug("ServiceSpace {} updating block at {}. State: {}", area.getName(), pos, state);
@@ -118,6 +156,99 @@ public class ServiceSpace extends BaseSpace {
         
         // Recognize new block
         recognizeBlock(pos, state);
+        
+        // Blocks on a counter's queue lines can open or close a slot
+        scheduleQueueRefresh(pos);
+    }
+    
+    // ========== Queue Slots ==========
+    
+    /**
+     * Lay out a line of standing spots in front of every lectern and reception desk
+     * The line starts next to the counter and goes straight out from its front, or from
+     * another side if that gives a longer line. It stops at the first spot that is
+     * outside the area or where a customer can't stand
+     */
+    private void rebuildQueueSlots() {
+        queueSlots.clear();
+        Level level = area.getLevel();
+        if (level == null) return;
+        
+        for (ServiceLectern lectern : lecterns) {
+            queueSlots.put(lectern.getPosition(), layOutQueue(level, lectern.getPosition(), lectern.getBlockState()));
+        }
+        for (ServiceReceptionDesk desk : receptionDesks) {
+            queueSlots.put(desk.getPosition(), layOutQueue(level, desk.getPosition(), desk.getBlockState()));
+        }
+    }
+    
+    /**
+     * Lay out again the queues whose lines pass near changed blocks, once the changes are in
+     * the level; changes within a tick are collected and handled in one pass
+     */
+    private void scheduleQueueRefresh(BlockPos changedPos) {
+        boolean scheduled = !pendingQueueChanges.isEmpty();
+        pendingQueueChanges.add(changedPos.immutable());
+        if (scheduled) return;
+        afterBlockChange(() -> {
+            List<BlockPos> changes = List.copyOf(pendingQueueChanges);
+            pendingQueueChanges.clear();
+            Level level = area.getLevel();
+            if (level == null) return;
+            
+            Map<BlockPos, BlockState> counters = new HashMap<>();
+            lecterns.forEach(lectern -> counters.put(lectern.getPosition(), lectern.getBlockState()));
+            receptionDesks.forEach(desk -> counters.put(desk.getPosition(), desk.getBlockState()));
+            queueSlots.keySet().retainAll(counters.keySet());
+            counters.forEach((counter, counterState) -> {
+                if (!queueSlots.containsKey(counter)
+                        || changes.stream().anyMatch(changed -> affectsQueue(changed, counter))) {
+                    queueSlots.put(counter, layOutQueue(level, counter, counterState));
+                }
+            });
+        });
+    }
+    
+    /**
+     * Check if a block change can open or close one of a counter's queue slots: slots lie on
+     * straight lines out of the counter, and a slot depends on its floor, feet and head blocks
+     */
+    private static boolean affectsQueue(BlockPos changed, BlockPos counter) {
+        int dx = Math.abs(changed.getX() - counter.getX());
+        int dz = Math.abs(changed.getZ() - counter.getZ());
+        int dy = Math.abs(changed.getY() - counter.getY());
+        return (dx == 0 || dz == 0) && dx + dz <= MAX_QUEUE_SLOTS && dy <= 1;
+    }
+    
+    private List<BlockPos> layOutQueue(Level level, BlockPos counter, BlockState counterState) {
+        Direction front = counterState.getOptionalValue(HorizontalDirectionalBlock.FACING).orElse(Direction.NORTH);
+        List<BlockPos> best = queueLine(level, counter, front);
+        for (Direction direction : Direction.Plane.HORIZONTAL) {
+            if (direction == front || best.size() == MAX_QUEUE_SLOTS) continue;
+            List<BlockPos> line = queueLine(level, counter, direction);
+            if (line.size() > best.size()) {
+                best = line;
+            }
+        }
+        return List.copyOf(best);
+    }
+    
+    private List<BlockPos> queueLine(Level level, BlockPos counter, Direction direction) {
+        List<BlockPos> line = new ArrayList<>();
+        BlockPos pos = counter.relative(direction);
+        while (line.size() < MAX_QUEUE_SLOTS && area.contains(pos) && isStandable(level, pos)) {
+            line.add(pos);
+            pos = pos.relative(direction);
+        }
+        return line;
+    }
+    
+    /**
+     * Queue slots of a lectern or reception desk in this space, closest first
+     * Empty if the counter isn't here or has no free space in front of it
+     */
+    public List<BlockPos> getQueueSlots(BlockPos counter) {
+        return queueSlots.getOrDefault(counter, List.of());
     }
     
     /**
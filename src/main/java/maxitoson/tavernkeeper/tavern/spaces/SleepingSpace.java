@@ -9,6 +9,7 @@ import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.BedBlock;
 import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.properties.BedPart;
 import net.minecraft.core.Direction;
@@ -17,21 +18,27 @@ import com.mojang.logging.LogUtils;
 import org.slf4j.Logger;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents a single sleeping area with its beds
  * Currently recognizes vanilla beds
+ * Enclosed rooms inside the area and the beds in each are tracked by a RoomIndex
  * 
  * Pattern: Space owns Area (1:1) and Furniture
  */
 public class SleepingSpace extends BaseSpace {
     private static final Logger LOGGER = LogUtils.getLogger();
     private final List<BlockPos> beds;
+    private final Map<BlockPos, List<BlockPos>> bedApproaches = new HashMap<>(); // Bed HEAD -> standable spots next to the bed
+    private RoomIndex rooms;
     
     public SleepingSpace(SleepingManagerContext sleepingManager, TavernArea area) {
         super(sleepingManager, area);
         this.beds = new ArrayList<>();
+        this.rooms = new RoomIndex(area);
     }
     
     /**
@@ -56,7 +63,50 @@ public class SleepingSpace extends BaseSpace {
      */
     @Override
     public ScanResult scanForFurniture() {
-        return scanForFurnitureExcluding(null);
+        ScanResult result = scanForFurnitureExcluding(null);
+        
+        // Full room detection only on a full scan, block changes update rooms incrementally
+        Level level = area.getLevel();
+        if (level != null) {
+            rooms.rebuild(level);
+            assignBedsToRooms();
+        }
+        return result;
+    }
+    
+    /**
+     * Keep beds that are still inside, recognize beds in the gained blocks only
+     * The room grid covers the area's envelope, so rooms are detected again for the new shape
+     */
+    @Override
+    public ScanResult onAreaReshaped(TavernArea previous) {
+        Level level = area.getLevel();
+        if (level == null) return new ScanResult(0, 0);
+        
+        beds.removeIf(bed -> !area.contains(bed));
+        bedApproaches.keySet().removeIf(bed -> !area.contains(bed));
+        
+        SleepingManagerContext sleepingManager = (SleepingManagerContext) manager;
+        int rejectedBeds = 0;
+        for (BlockPos pos : area.positionsNotIn(previous)) {
+            BlockState state = level.getBlockState(pos);
+            if (state.getBlock() instanceof BedBlock && state.getValue(BedBlock.PART) == BedPart.HEAD) {
+                if (sleepingManager.canAddFurniture(SleepingFurnitureType.BED)) {
+                    BlockPos bed = pos.immutable();
+                    beds.add(bed);
+                    updateApproachPositions(level, bed);
+                } else {
+                    rejectedBeds++;
+                }
+            }
+        }
+        
+        rooms = new RoomIndex(area);
+        rooms.rebuild(level);
+        assignBedsToRooms();
+        
+        LOGGER.info("Reshaped SleepingSpace {}: now {} beds ({} rejected)", area.getName(), beds.size(), rejectedBeds);
+        return new ScanResult(beds.size(), rejectedBeds);
     }
     
     /**
@@ -70,13 +120,10 @@ public class SleepingSpace extends BaseSpace {
         if (level == null) return new ScanResult(0, 0);
         
         SleepingManagerContext sleepingManager = (SleepingManagerContext) manager;
-        BlockPos minPos = area.getMinPos();
-        BlockPos maxPos = area.getMaxPos();
-        
-        LOGGER.debug("Scanning SleepingSpace {} from {} to {}", area.getName(), minPos, maxPos);
+        LOGGER.debug("Scanning SleepingSpace {} ({} blocks)", area.getName(), area.getVolume());
         
         int rejectedBeds = 0;
-        for (BlockPos pos : BlockPos.betweenClosed(minPos, maxPos)) {
+        for (BlockPos pos : area.positions()) {
             // Skip the excluded position
             if (excludePos != null && pos.equals(excludePos)) {
                 continue;
@@ -100,6 +147,11 @@ public class SleepingSpace extends BaseSpace {
                 }
             }
         }
+        bedApproaches.clear();
+        for (BlockPos bed : beds) {
+            updateApproachPositions(level, bed);
+        }
+        
         LOGGER.info("Scanned SleepingSpace {}: Found {} beds ({} rejected)", 
             area.getName(), beds.size(), rejectedBeds);
             
@@ -111,6 +163,7 @@ public class SleepingSpace extends BaseSpace {
         LOGGER.debug("SleepingSpace {} updating block at {}. State: {}", area.getName(), pos, state);
         
         SleepingManagerContext sleepingManager = (SleepingManagerContext) manager;
+        scheduleApproachRefresh(pos);
         
         // Remove existing bed if any (might be either HEAD or FOOT position)
         // When a bed is placed/broken, we need to handle both parts
@@ -148,14 +201,16 @@ public class SleepingSpace extends BaseSpace {
             // We removed a bed and it's not being replaced with another bed
             // Rescan to pick up any previously rejected beds
             LOGGER.debug("Bed removed at {} - rescanning area", pos);
-            scanForFurniture();
-            return;
+            scanForFurnitureExcluding(null);
         }
+        updateRooms(pos, state);
         LOGGER.debug("SleepingSpace {} now has {} beds", area.getName(), beds.size());
     }
     
     @Override
     public void onBlockBroken(BlockPos pos, BlockState oldState) {
+        scheduleApproachRefresh(pos);
+        
         // When a bed is broken, we need to handle both HEAD and FOOT parts
         if (oldState.getBlock() instanceof BedBlock) {
             BedPart part = oldState.getValue(BedBlock.PART);
@@ -185,9 +240,113 @@ public class SleepingSpace extends BaseSpace {
             LOGGER.warn("SleepingSpace {} broken block at {} is not a bed", area.getName(), pos);
             beds.remove(pos);
         }
+        updateRooms(pos, Blocks.AIR.defaultBlockState());
         LOGGER.debug("SleepingSpace {} now has {} beds", area.getName(), beds.size());
     }
     
+    // ========== Rooms ==========
+    
+    /**
+     * Apply a block change to the rooms (uses the new state, the level may not have it yet)
+     * Beds are reassigned every time: the bed list may have changed too
+     */
+    private void updateRooms(BlockPos pos, BlockState newState) {
+        Level level = area.getLevel();
+        if (level == null) return;
+        rooms.update(pos, RoomIndex.isOpen(newState, level, pos));
+        assignBedsToRooms();
+    }
+    
+    private void assignBedsToRooms() {
+        SleepingManagerContext sleepingManager = (SleepingManagerContext) manager;
+        rooms.assignBeds(beds, sleepingManager::hasBedReservation);
+    }
+    
+    /**
+     * Recount reserved beds per room (after reservations are loaded)
+     */
+    public void recountReservedBeds() {
+        assignBedsToRooms();
+    }
+    
+    /**
+     * Update the free-bed count of the bed's room (no-op for beds of other spaces)
+     */
+    public void onBedReservationChanged(BlockPos bedPos, boolean reserved) {
+        rooms.onBedReservationChanged(bedPos, reserved);
+    }
+    
+    /**
+     * Smallest enclosed room with at least this many free beds, or null
+     */
+    public RoomIndex.Room findRoomForGuests(int guests) {
+        return rooms.findRoomForGuests(guests);
+    }
+    
+    /**
+     * Enclosed rooms with at least one bed
+     */
+    public List<RoomIndex.Room> getRooms() {
+        return rooms.getRooms();
+    }
+    
+    /**
+     * Room a bed is in, or null if the bed is not in an enclosed room
+     */
+    public RoomIndex.Room getRoomOf(BlockPos bedPos) {
+        return rooms.getRoomOf(bedPos);
+    }
+    
+    // ========== Approach Positions ==========
+    
+    /**
+     * Recompute approach positions of beds near a changed block, once the change is in the level
+     */
+    private void scheduleApproachRefresh(BlockPos changedPos) {
+        afterBlockChange(() -> {
+            Level level = area.getLevel();
+            if (level == null) return;
+            bedApproaches.keySet().retainAll(beds);
+            for (BlockPos bed : beds) {
+                if (affectsApproach(changedPos, bed) || !bedApproaches.containsKey(bed)) {
+                    updateApproachPositions(level, bed);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Find the standable blocks around both halves of a bed
+     * Foot-end spots come first: they are the natural way into the bed
+     */
+    private void updateApproachPositions(Level level, BlockPos headPos) {
+        BlockState state = level.getBlockState(headPos);
+        if (!(state.getBlock() instanceof BedBlock)) {
+            bedApproaches.put(headPos, List.of());
+            return;
+        }
+        BlockPos footPos = headPos.relative(BedBlock.getConnectedDirection(state));
+        List<BlockPos> approaches = new ArrayList<>();
+        for (BlockPos part : List.of(footPos, headPos)) {
+            for (Direction direction : Direction.Plane.HORIZONTAL) {
+                BlockPos pos = part.relative(direction);
+                if (!pos.equals(headPos) && !pos.equals(footPos) && !approaches.contains(pos)
+                        && isStandable(level, pos)) {
+                    approaches.add(pos.immutable());
+                }
+            }
+        }
+        bedApproaches.put(headPos, List.copyOf(approaches));
+    }
+    
+    /**
+     * Standable blocks next to a bed in this space (by HEAD position)
+     * Empty if the bed isn't here or is boxed in (customers then walk to the bed itself)
+     */
+    public List<BlockPos> getApproachPositions(BlockPos bedPos) {
+        return bedApproaches.getOrDefault(bedPos, List.of());
+    }
+    
     public List<BlockPos> getBeds() {
         return java.util.Collections.unmodifiableList(beds);
     }
@@ -3,6 +3,7 @@ package maxitoson.tavernkeeper.tavern.upgrades;
 import maxitoson.tavernkeeper.tavern.TavernContext;
 import maxitoson.tavernkeeper.tavern.managers.domain.CustomerManager;
 import maxitoson.tavernkeeper.tavern.managers.domain.DiningManager;
+import maxitoson.tavernkeeper.tavern.managers.domain.ServiceManager;
 import maxitoson.tavernkeeper.tavern.managers.domain.SleepingManager;
 import maxitoson.tavernkeeper.tavern.managers.system.EconomyManager;
 
@@ -23,6 +24,8 @@ public enum TavernUpgrade {
         2,      // Max tables
         8,      // Max chairs
         0,      // Max beds
+        1,      // Max lecterns
+        1,      // Max reception desks
         1.0f,   // Spawn rate multiplier
         1.0f    // Payment multiplier
     ),
@@ -36,6 +39,8 @@ public enum TavernUpgrade {
         4,      // Max tables
         16,     // Max chairs
         2,      // Max beds
+        2,      // Max lecterns
+        2,      // Max reception desks
         1.1f,   // Spawn rate multiplier (10% faster)
         1.1f    // Payment multiplier (+10%)
     ),
@@ -49,6 +54,8 @@ public enum TavernUpgrade {
         8,      // Max tables
         32,     // Max chairs
         4,      // Max beds
+        4,      // Max lecterns
+        3,      // Max reception desks
         1.3f,   // Spawn rate multiplier (30% faster)
         1.3f    // Payment multiplier (+30%)
     );
@@ -62,11 +69,14 @@ public enum TavernUpgrade {
     private final int maxTables;
     private final int maxChairs;
     private final int maxBeds;
+    private final int maxLecterns;
+    private final int maxReceptionDesks;
     private final float spawnRateMultiplier;
     private final float paymentMultiplier;
     
     TavernUpgrade(int reputationRequired, int moneyRequired, String displayName,
                   int maxTables, int maxChairs, int maxBeds,
+                  int maxLecterns, int maxReceptionDesks,
                   float spawnRateMultiplier, float paymentMultiplier) {
         this.reputationRequired = reputationRequired;
         this.moneyRequired = moneyRequired;
@@ -74,6 +84,8 @@ public enum TavernUpgrade {
         this.maxTables = maxTables;
         this.maxChairs = maxChairs;
         this.maxBeds = maxBeds;
+        this.maxLecterns = maxLecterns;
+        this.maxReceptionDesks = maxReceptionDesks;
         this.spawnRateMultiplier = spawnRateMultiplier;
         this.paymentMultiplier = paymentMultiplier;
     }
@@ -111,6 +123,15 @@ public enum TavernUpgrade {
         manager.setMaxBeds(maxBeds);
     }
     
+    /**
+     * Apply this upgrade to a ServiceManager
+     * Uses the stored benefit values
+     */
+    public void applyToServiceManager(ServiceManager manager) {
+        manager.setMaxLecterns(maxLecterns);
+        manager.setMaxReceptionDesks(maxReceptionDesks);
+    }
+    
     /**
      * Apply this upgrade to an EconomyManager
      * Uses the stored benefit values
@@ -145,6 +166,22 @@ public enum TavernUpgrade {
         return maxBeds;
     }
     
+    /**
+     * Get the max lecterns this upgrade level provides
+     * Used for display and comparison
+     */
+    public int getMaxLecterns() {
+        return maxLecterns;
+    }
+    
+    /**
+     * Get the max reception desks this upgrade level provides
+     * Used for display and comparison
+     */
+    public int getMaxReceptionDesks() {
+        return maxReceptionDesks;
+    }
+    
     /**
      * Get the spawn rate multiplier this upgrade level provides
      * Used for display and comparison
@@ -0,0 +1,215 @@
+package maxitoson.tavernkeeper.tavern.utils;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+
+import java.util.UUID;
+import java.util.function.LongConsumer;
+
+/**
+ * Time-bounded reservations of positions (chairs, beds...)
+ * - Keyed on primitive longs (BlockPos.asLong())
+ * - Every reservation is a lease: the owning behavior renews it while it still needs
+ *   the position, so a customer that vanishes (discarded, killed, unloaded) can never
+ *   hold a seat for longer than one lease
+ * - Expired leases are collected by a cheap sweep over a timing wheel: each lease sits
+ *   in the bucket of its expiry time, and only buckets that have fully passed are visited
+ * - Persisted with the tavern, so reservations survive save/load (game time keeps counting)
+ *
+ * Used by DiningManager (chairs) and SleepingManager (beds)
+ */
+public class ReservationPool {
+    public static final long DEFAULT_LEASE_TICKS = 600;  // 30 seconds without renewal
+    private static final int SLOT_TICKS = 20;             // Wheel resolution (leases expire up to 1 second late)
+    private static final int WHEEL_SLOTS = 64;            // Wheel span: 64 seconds, longer than any lease
+
+    private static final class Lease {
+        private final UUID owner;
+        private long expiresAt;
+
+        private Lease(UUID owner, long expiresAt) {
+            this.owner = owner;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final long leaseTicks;
+    private final Long2ObjectOpenHashMap<Lease> leases = new Long2ObjectOpenHashMap<>();
+    private final LongArrayList[] wheel = new LongArrayList[WHEEL_SLOTS];
+    private long lastSweptSlot = -1;
+
+    public ReservationPool() {
+        this(DEFAULT_LEASE_TICKS);
+    }
+
+    public ReservationPool(long leaseTicks) {
+        // A lease must fit in the wheel, otherwise its bucket would come round too early
+        this.leaseTicks = Math.min(leaseTicks, (long) SLOT_TICKS * (WHEEL_SLOTS - 1));
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel[i] = new LongArrayList();
+        }
+    }
+
+    /**
+     * Reserve a position
+     * @return true if reserved (or already held by the same owner), false if someone else holds it
+     */
+    public boolean tryAcquire(long key, UUID owner, long gameTime) {
+        Lease lease = leases.get(key);
+        if (lease != null && lease.expiresAt > gameTime && !lease.owner.equals(owner)) {
+            return false;
+        }
+        lease = new Lease(owner, gameTime + leaseTicks);
+        leases.put(key, lease);
+        schedule(key, lease.expiresAt);
+        return true;
+    }
+
+    /**
+     * Extend the owner's lease (called by the behavior using the position)
+     * An expired lease is taken again if nobody else grabbed the position meanwhile
+     * (e.g. after loading an older save). Cheap when called every tick: the wheel is
+     * only touched once half the lease has passed
+     *
+     * @return false if someone else holds the position now
+     */
+    public boolean renew(long key, UUID owner, long gameTime) {
+        Lease lease = leases.get(key);
+        if (lease == null || lease.expiresAt <= gameTime) {
+            return tryAcquire(key, owner, gameTime);
+        }
+        if (!lease.owner.equals(owner)) {
+            return false;
+        }
+        if (lease.expiresAt - gameTime < leaseTicks / 2) {
+            lease.expiresAt = gameTime + leaseTicks;
+            schedule(key, lease.expiresAt); // Old bucket entry becomes stale and is skipped by the sweep
+        }
+        return true;
+    }
+
+    /**
+     * Give a position back
+     */
+    public void release(long key) {
+        leases.remove(key);
+    }
+
+    /**
+     * Check if anyone holds a live lease on the position
+     */
+    public boolean isHeld(long key, long gameTime) {
+        Lease lease = leases.get(key);
+        return lease != null && lease.expiresAt > gameTime;
+    }
+
+    /**
+     * Check if the given owner holds a live lease on the position
+     */
+    public boolean isHeldBy(long key, UUID owner, long gameTime) {
+        Lease lease = leases.get(key);
+        return lease != null && lease.expiresAt > gameTime && lease.owner.equals(owner);
+    }
+
+    /**
+     * Get the owner of a live lease, or null if the position is free
+     */
+    public UUID getHolder(long key, long gameTime) {
+        Lease lease = leases.get(key);
+        return lease != null && lease.expiresAt > gameTime ? lease.owner : null;
+    }
+
+    /**
+     * Check if the position has a lease entry at all, live or expired but not swept yet
+     * (the set that changes only through acquire, release and sweep, so counts can follow it)
+     */
+    public boolean contains(long key) {
+        return leases.containsKey(key);
+    }
+
+    public int size() {
+        return leases.size();
+    }
+
+    /**
+     * Drop expired leases from every wheel bucket that has fully passed
+     * @return Number of leases that expired
+     */
+    public int sweep(long gameTime) {
+        return sweep(gameTime, key -> {});
+    }
+
+    /**
+     * Same as sweep(gameTime), reporting each expired position
+     */
+    public int sweep(long gameTime, LongConsumer onExpired) {
+        long currentSlot = gameTime / SLOT_TICKS;
+        if (lastSweptSlot < 0 || currentSlot - lastSweptSlot > WHEEL_SLOTS) {
+            lastSweptSlot = currentSlot - WHEEL_SLOTS; // First sweep or long pause: visit every bucket once
+        }
+
+        int expired = 0;
+        for (long slot = lastSweptSlot + 1; slot < currentSlot; slot++) {
+            int index = Math.floorMod(slot, WHEEL_SLOTS); // First sweep before tick 1280 starts at negative slots
+            LongArrayList bucket = wheel[index];
+            int kept = 0;
+            for (int i = 0; i < bucket.size(); i++) {
+                long key = bucket.getLong(i);
+                Lease lease = leases.get(key);
+                if (lease == null) continue;
+                long leaseSlot = lease.expiresAt / SLOT_TICKS;
+                if (lease.expiresAt <= gameTime) {
+                    leases.remove(key);
+                    expired++;
+                    onExpired.accept(key);
+                } else if (leaseSlot > slot && Math.floorMod(leaseSlot, WHEEL_SLOTS) == index) {
+                    bucket.set(kept++, key); // Due on a later turn of the wheel (first sweep visits every bucket)
+                }
+                // Otherwise stale: the lease was renewed into another bucket
+            }
+            bucket.size(kept);
+        }
+        lastSweptSlot = Math.max(lastSweptSlot, currentSlot - 1);
+        return expired;
+    }
+
+    private void schedule(long key, long expiresAt) {
+        wheel[(int) ((expiresAt / SLOT_TICKS) % WHEEL_SLOTS)].add(key);
+    }
+
+    // ========== Persistence ==========
+
+    public void save(CompoundTag tag, String key) {
+        ListTag list = new ListTag();
+        for (Long2ObjectMap.Entry<Lease> entry : leases.long2ObjectEntrySet()) {
+            CompoundTag leaseTag = new CompoundTag();
+            leaseTag.putLong("Pos", entry.getLongKey());
+            leaseTag.putUUID("Owner", entry.getValue().owner);
+            leaseTag.putLong("ExpiresAt", entry.getValue().expiresAt);
+            list.add(leaseTag);
+        }
+        tag.put(key, list);
+    }
+
+    public void load(CompoundTag tag, String key) {
+        leases.clear();
+        for (LongArrayList bucket : wheel) {
+            bucket.clear();
+        }
+        lastSweptSlot = -1;
+
+        ListTag list = tag.getList(key, Tag.TAG_COMPOUND);
+        for (int i = 0; i < list.size(); i++) {
+            CompoundTag leaseTag = list.getCompound(i);
+            if (!leaseTag.hasUUID("Owner")) continue;
+            long pos = leaseTag.getLong("Pos");
+            long expiresAt = leaseTag.getLong("ExpiresAt");
+            leases.put(pos, new Lease(leaseTag.getUUID("Owner"), expiresAt));
+            schedule(pos, expiresAt);
+        }
+    }
+}